@@ -0,0 +1,29 @@
+package pdftohtml.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Documents the benchmarks are run on.
+ *
+ * Documents are taken from the files-for-testing directory of
+ * the repository, another directory may be set with the
+ * pdftohtml.benchmark.documents system property.
+ */
+final class BenchmarkDocuments {
+
+    static final String DIRECTORY_PROPERTY = "pdftohtml.benchmark.documents";
+
+    static final String DEFAULT_DIRECTORY = "../files-for-testing";
+
+    private BenchmarkDocuments() {
+    }
+
+    static File getFile(String documentName) throws IOException {
+        File file = new File(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY), documentName);
+        if (!file.isFile()) {
+            throw new IOException("Benchmark document " + file.getAbsolutePath() + " is not found");
+        }
+        return file;
+    }
+}
@@ -0,0 +1,102 @@
+package pdftohtml.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pdftohtml.processors.pdf.objects.graphics.BlankImageDetector;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of blank image detection on an A4 page scanned at 300 dpi.
+ *
+ * A blank image is the worst case, all its pixels are checked.
+ * A scanned text image is white but a few lines at the bottom,
+ * so it is not blank but most of it has to be passed to find it.
+ * The per pixel benchmark is the column by column getRGB check
+ * the detector replaced, it is the baseline for the others.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class BlankImageDetectorBenchmark {
+
+    private static final int WIDTH = 2480;
+    private static final int HEIGHT = 3508;
+
+    @Param({"gray", "rgb", "argb"})
+    public String imageType;
+
+    @Param({"blank", "scannedText"})
+    public String content;
+
+    private final BlankImageDetector detector = new BlankImageDetector();
+
+    private BufferedImage image;
+
+    @Setup(Level.Trial)
+    public void createImage() {
+        int type;
+        switch (this.imageType) {
+            case "gray":
+                type = BufferedImage.TYPE_BYTE_GRAY;
+                break;
+            case "rgb":
+                type = BufferedImage.TYPE_INT_RGB;
+                break;
+            case "argb":
+                type = BufferedImage.TYPE_INT_ARGB;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown image type " + this.imageType);
+        }
+        this.image = new BufferedImage(WIDTH, HEIGHT, type);
+        Graphics2D graphics = this.image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        if ("scannedText".equals(this.content)) {
+            // a few short lines under the sampled rows
+            graphics.setColor(Color.BLACK);
+            for (int line = 0; line < 3; line++) {
+                graphics.fillRect(300, HEIGHT - 60 + line * 16, 40, 2);
+            }
+        }
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public boolean detector() {
+        return this.detector.isTransparentOrMonotoneColor(this.image);
+    }
+
+    @Benchmark
+    public boolean perPixelGetRgb() {
+        int color = 0;
+        for (int x = 0; x < this.image.getWidth(); x++) {
+            for (int y = 0; y < this.image.getHeight(); y++) {
+                int pixel = this.image.getRGB(x, y);
+                if (x == 0 && y == 0) {
+                    color = pixel;
+                }
+                if (pixel != color) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
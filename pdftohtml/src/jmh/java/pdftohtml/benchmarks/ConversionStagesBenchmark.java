@@ -0,0 +1,125 @@
+package pdftohtml.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pdftohtml.processors.MainProcessor;
+import pdftohtml.processors.html.HtmlPageWriter;
+import pdftohtml.processors.pdf.objects.composite.CompositeObjectsProcessor;
+import pdftohtml.processors.pdf.objects.dividers.PageObjectsDividersProcessor;
+import pdftohtml.processors.pdf.objects.graphics.GraphicsProcessor;
+import pdftohtml.processors.pdf.objects.paths.StrokePathCollector;
+import pdftohtml.processors.pdf.objects.stream.PageContentStreamEngine;
+import pdftohtml.processors.pdf.objects.text.PageTextObjectsProcessor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the conversion stages, one operation
+ * is a stage done for all the pages of a document.
+ *
+ * Stages which need results of earlier stages take
+ * them from {@link PageBlocksState}, they are computed
+ * once before the measurement.
+ *
+ * Allocation rate is measured with the gc profiler:
+ * java -jar target/benchmarks.jar -prof gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionStagesBenchmark {
+
+    /**
+     * Text, links, images and stroke paths
+     * gathered in one pass over the content stream
+     */
+    @Benchmark
+    public void textExtraction(DocumentState state, Blackhole blackhole) throws IOException {
+        PageTextObjectsProcessor processor = new PageTextObjectsProcessor();
+        for (int pageIndex = 1; pageIndex <= state.document.getNumberOfPages(); pageIndex++) {
+            PDPage page = state.document.getPage(pageIndex - 1);
+            blackhole.consume(processor.extractPage(state.document, page, pageIndex));
+        }
+    }
+
+    /**
+     * Images gathered in a pass over the content stream
+     * without other collectors
+     */
+    @Benchmark
+    public void graphics(DocumentState state, Blackhole blackhole) throws IOException {
+        PageContentStreamEngine engine = new PageContentStreamEngine();
+        GraphicsProcessor graphicsProcessor = new GraphicsProcessor();
+        engine.addCollector(graphicsProcessor);
+        for (int pageIndex = 1; pageIndex <= state.document.getNumberOfPages(); pageIndex++) {
+            graphicsProcessor.setPageIndex(pageIndex);
+            engine.processDocumentPage(state.document, state.document.getPage(pageIndex - 1));
+            blackhole.consume(graphicsProcessor.getGraphicsObjects());
+        }
+    }
+
+    /**
+     * Stroke paths gathered in a pass over the content
+     * stream without other collectors
+     */
+    @Benchmark
+    public void strokePaths(DocumentState state, Blackhole blackhole) throws IOException {
+        PageContentStreamEngine engine = new PageContentStreamEngine();
+        StrokePathCollector strokePathCollector = new StrokePathCollector();
+        engine.addCollector(strokePathCollector);
+        for (int pageIndex = 1; pageIndex <= state.document.getNumberOfPages(); pageIndex++) {
+            engine.processDocumentPage(state.document, state.document.getPage(pageIndex - 1));
+            blackhole.consume(strokePathCollector.getPaths());
+        }
+    }
+
+    @Benchmark
+    public void dividers(PageBlocksState state, Blackhole blackhole) {
+        PageObjectsDividersProcessor processor = new PageObjectsDividersProcessor(state.document);
+        for (int pageIndex = 1; pageIndex <= state.pagesBlocks.size(); pageIndex++) {
+            processor.findDividersOnPage(pageIndex, state.pagesBlocks.get(pageIndex - 1));
+            blackhole.consume(processor.getDividers());
+        }
+    }
+
+    @Benchmark
+    public void compositeObjects(PageBlocksState state) {
+        CompositeObjectsProcessor processor = new CompositeObjectsProcessor(state.document);
+        for (int pageIndex = 1; pageIndex <= state.pagesBlocks.size(); pageIndex++) {
+            processor.processCompositeObjects(
+                    pageIndex,
+                    state.pagesBlocks.get(pageIndex - 1),
+                    state.pagesDividers.get(pageIndex - 1),
+                    state.pagesStrokePaths.get(pageIndex - 1)
+            );
+        }
+    }
+
+    @Benchmark
+    public void htmlRendering(PageBlocksState state) throws IOException {
+        try (HtmlPageWriter writer = new HtmlPageWriter(Writer.nullWriter())) {
+            for (int pageIndex = 1; pageIndex <= state.pagesBlocks.size(); pageIndex++) {
+                writer.writePage(pageIndex, state.pagesBlocks.get(pageIndex - 1));
+            }
+        }
+    }
+
+    /**
+     * The whole conversion including loading of the document
+     */
+    @Benchmark
+    public void conversion(DocumentState state) throws IOException {
+        new MainProcessor().convert(state.file, Writer.nullWriter());
+    }
+}
@@ -0,0 +1,83 @@
+package pdftohtml.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.processors.pdf.objects.dividers.PageObjectsDividersProcessor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time of dividers detection on one page by the number of blocks.
+ *
+ * Blocks are cells of a table of random widths, the table has
+ * at most as many rows as fit the page and more columns
+ * for more blocks, so the time should grow near linearly.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DividersScalingBenchmark {
+
+    private static final int MAXIMUM_ROWS_COUNT = 100;
+
+    @Param({"100", "1000", "10000"})
+    public int blocksCount;
+
+    private PDDocument document;
+    private List<Block> blocks;
+
+    @Setup(Level.Trial)
+    public void createPage() {
+        this.document = new PDDocument();
+        this.document.addPage(new PDPage());
+
+        Random random = new Random(this.blocksCount);
+        int rowsCount = Math.max(1, Math.min(MAXIMUM_ROWS_COUNT, this.blocksCount / 10));
+        int columnsCount = (this.blocksCount + rowsCount - 1) / rowsCount;
+        this.blocks = new ArrayList<>();
+        for (int row = 0; row < rowsCount; row++) {
+            for (int column = 0; column < columnsCount && this.blocks.size() < this.blocksCount; column++) {
+                double width = 14 * (0.4 + 0.4 * random.nextDouble());
+                this.blocks.add(new Block(
+                        new ArrayList<>(),
+                        new FrameworkRectangle(6 + column * 14, 10 + row * 7.5, width, 6),
+                        null
+                ));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDocument() throws IOException {
+        this.document.close();
+    }
+
+    @Benchmark
+    public Object dividers() {
+        PageObjectsDividersProcessor processor = new PageObjectsDividersProcessor(this.document);
+        processor.findDividersOnPage(1, this.blocks);
+        return processor.getDividers();
+    }
+}
@@ -0,0 +1,38 @@
+package pdftohtml.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Loaded document, every benchmark thread has its own
+ * document because PDFBox documents are not thread-safe
+ */
+@State(Scope.Thread)
+public class DocumentState {
+
+    @Param({"table_test.pdf", "test.pdf", "test1.pdf", "test_text.pdf"})
+    public String documentName;
+
+    File file;
+
+    PDDocument document;
+
+    @Setup(Level.Trial)
+    public void loadDocument() throws IOException {
+        this.file = BenchmarkDocuments.getFile(this.documentName);
+        this.document = PDDocument.load(this.file);
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDocument() throws IOException {
+        this.document.close();
+    }
+}
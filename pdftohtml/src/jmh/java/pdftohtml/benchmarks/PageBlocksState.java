@@ -0,0 +1,67 @@
+package pdftohtml.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.template.Divider;
+import pdftohtml.processors.pdf.objects.composite.PageDataBlocksProcessor;
+import pdftohtml.processors.pdf.objects.dividers.PageObjectsDividersProcessor;
+import pdftohtml.processors.pdf.objects.paths.StrokePathCollector;
+import pdftohtml.processors.pdf.objects.stream.PageContentStreamEngine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loaded document with the results of the conversion stages
+ * of every page, they are the input of the later stages
+ */
+@State(Scope.Thread)
+public class PageBlocksState {
+
+    @Param({"table_test.pdf", "test.pdf", "test1.pdf", "test_text.pdf"})
+    public String documentName;
+
+    PDDocument document;
+
+    /**
+     * Data blocks, dividers and stroke paths of every page in page order
+     */
+    List<List<Block>> pagesBlocks;
+    List<List<Divider>> pagesDividers;
+    List<List<FrameworkRectangle>> pagesStrokePaths;
+
+    @Setup(Level.Trial)
+    public void processDocument() throws IOException {
+        this.document = PDDocument.load(BenchmarkDocuments.getFile(this.documentName));
+        this.pagesBlocks = new ArrayList<>();
+        this.pagesDividers = new ArrayList<>();
+        this.pagesStrokePaths = new ArrayList<>();
+
+        PageDataBlocksProcessor pageDataBlocksProcessor = new PageDataBlocksProcessor(this.document);
+        PageObjectsDividersProcessor dividersProcessor = new PageObjectsDividersProcessor(this.document);
+        PageContentStreamEngine strokePathsEngine = new PageContentStreamEngine();
+        StrokePathCollector strokePathCollector = new StrokePathCollector();
+        strokePathsEngine.addCollector(strokePathCollector);
+        for (int pageIndex = 1; pageIndex <= this.document.getNumberOfPages(); pageIndex++) {
+            List<Block> blocks = pageDataBlocksProcessor.processPage(pageIndex);
+            this.pagesBlocks.add(blocks);
+            dividersProcessor.findDividersOnPage(pageIndex, blocks);
+            this.pagesDividers.add(dividersProcessor.getDividers());
+            strokePathsEngine.processDocumentPage(this.document, this.document.getPage(pageIndex - 1));
+            this.pagesStrokePaths.add(strokePathCollector.getPaths());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void closeDocument() throws IOException {
+        this.document.close();
+    }
+}
@@ -0,0 +1,69 @@
+package pdftohtml.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import pdftohtml.domain.pdf.object.text.TextObject;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building text objects character by character like
+ * the text extraction does, one operation is building
+ * the words of a corpus of words of the same length.
+ *
+ * Time per character should not depend on the word length.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TextObjectBuildingBenchmark {
+
+    private static final int CORPUS_CHARACTERS_COUNT = 16384;
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    @Param({"8", "64", "512"})
+    public int wordLength;
+
+    /**
+     * Characters of every word as text positions pass them
+     */
+    private String[][] words;
+
+    @Setup(Level.Trial)
+    public void createCorpus() {
+        Random random = new Random(this.wordLength);
+        this.words = new String[CORPUS_CHARACTERS_COUNT / this.wordLength][this.wordLength];
+        for (String[] word : this.words) {
+            for (int i = 0; i < word.length; i++) {
+                word[i] = String.valueOf(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+        }
+    }
+
+    @Benchmark
+    public void buildWords(Blackhole blackhole) {
+        for (String[] word : this.words) {
+            TextObject textObject = new TextObject();
+            for (String character : word) {
+                textObject.addToTextContent(character);
+            }
+            blackhole.consume(textObject.getTextObjectType());
+        }
+    }
+}
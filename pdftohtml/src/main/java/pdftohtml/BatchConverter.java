@@ -0,0 +1,42 @@
+package pdftohtml;
+
+import pdftohtml.processors.batch.BatchDocumentResult;
+import pdftohtml.processors.batch.BatchProcessor;
+import pdftohtml.processors.batch.BatchSummary;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Converts all documents of a directory or a manifest file to html.
+ *
+ * Arguments: input directory or manifest, output directory,
+ * optionally number of documents converted at the same time
+ * and timeout of a document in seconds.
+ */
+public class BatchConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BatchConverter <input directory or manifest> <output directory>"
+                    + " [parallelism] [document timeout seconds]");
+            System.exit(2);
+        }
+        BatchProcessor batchProcessor = new BatchProcessor();
+        if (args.length > 2) {
+            batchProcessor.setParallelism(Integer.parseInt(args[2]));
+        }
+        if (args.length > 3) {
+            batchProcessor.setDocumentTimeoutMillis(Long.parseLong(args[3]) * 1000);
+        }
+
+        BatchSummary summary = batchProcessor.process(new File(args[0]), new File(args[1]));
+        for (BatchDocumentResult result : summary.getResults()) {
+            if (result.getStatus() != BatchDocumentResult.Status.CONVERTED) {
+                System.err.println(result.getStatus() + " " + result.getFile() + ": " + result.getError());
+            }
+        }
+        System.out.println(summary);
+    }
+
+}
@@ -0,0 +1,103 @@
+package pdftohtml.common;
+
+import lombok.Getter;
+import lombok.Setter;
+import pdftohtml.common.helpers.testing.DebugLayer;
+import pdftohtml.common.helpers.testing.DebugOverlay;
+import pdftohtml.processors.images.ImageSink;
+
+/**
+ * Tolerances, configuration and statistics of one conversion.
+ *
+ * Every conversion creates its own context and passes it to the
+ * processors of its pages, so conversions running in the same JVM
+ * do not share any state and results of a document do not depend
+ * on documents converted before it. Pages of one conversion may be
+ * processed on several threads, so statistics are updated under
+ * the lock of the context.
+ */
+public class ConversionContext {
+
+    public static final double DEFAULT_X_INACCURACY = 2.5;
+
+    public static final double DEFAULT_Y_INACCURACY = 2.5;
+
+    /**
+     * Inaccuracies of comparing coordinates of objects
+     */
+    @Getter
+    private final double xInaccuracy;
+    @Getter
+    private final double yInaccuracy;
+
+    /**
+     * Sink of images of the conversion, it may be shared
+     * by several conversions, images are not written
+     * if it is not set
+     */
+    @Getter
+    @Setter
+    private ImageSink imageSink;
+
+    /**
+     * Overlay of found objects for debugging,
+     * nothing is collected if it is not set
+     */
+    @Getter
+    @Setter
+    private DebugOverlay debugOverlay;
+
+    /**
+     * Distances between lines of all processed pages
+     */
+    private float minimumDistanceBetweenLines;
+    private float maximumDistanceBetweenLines;
+
+    public ConversionContext() {
+        this(DEFAULT_X_INACCURACY, DEFAULT_Y_INACCURACY);
+    }
+
+    public ConversionContext(double xInaccuracy, double yInaccuracy) {
+        if (xInaccuracy < 0 || yInaccuracy < 0) {
+            throw new IllegalArgumentException("Both x and y inaccuracy must be >= 0");
+        }
+        this.xInaccuracy = xInaccuracy;
+        this.yInaccuracy = yInaccuracy;
+    }
+
+    /**
+     * Add distances between lines of a page to the statistics
+     * of the conversion, zero distances are not known ones
+     *
+     * @param minimumDistance - minimum distance between lines of the page
+     * @param maximumDistance - maximum distance between lines of the page
+     */
+    public synchronized void addDistancesBetweenLines(float minimumDistance, float maximumDistance) {
+        if (minimumDistance > 0 &&
+                (minimumDistance < this.minimumDistanceBetweenLines ||
+                        this.minimumDistanceBetweenLines == 0f)) {
+            this.minimumDistanceBetweenLines = minimumDistance;
+        }
+        if (maximumDistance > 0 &&
+                (maximumDistance > this.maximumDistanceBetweenLines ||
+                        this.maximumDistanceBetweenLines == 0f)) {
+            this.maximumDistanceBetweenLines = maximumDistance;
+        }
+    }
+
+    public synchronized float getMinimumDistanceBetweenLines() {
+        return this.minimumDistanceBetweenLines;
+    }
+
+    public synchronized float getMaximumDistanceBetweenLines() {
+        return this.maximumDistanceBetweenLines;
+    }
+
+    /**
+     * @return debug overlay if the layer is enabled, null otherwise
+     */
+    public DebugOverlay getDebugOverlay(DebugLayer layer) {
+        DebugOverlay overlay = this.debugOverlay;
+        return overlay != null && overlay.isEnabled(layer) ? overlay : null;
+    }
+}
@@ -1,7 +0,0 @@
-package pdftohtml.common;
-
-public class Properties {
-
-    public static double xInaccuracy = 2.5f;
-    public static double yInaccuracy = 2.5f;
-}
@@ -0,0 +1,66 @@
+package pdftohtml.common.collections;
+
+/**
+ * Disjoint sets of elements numbered from 0, also known as union-find.
+ *
+ * Sets are kept as trees of parent indices, they are united by
+ * size and paths are halved on every search, so any sequence of
+ * operations takes nearly linear time.
+ */
+public final class DisjointSets {
+
+    private final int[] parents;
+
+    private final int[] sizes;
+
+    /**
+     * @param count - number of elements, each element is a set of its own
+     */
+    public DisjointSets(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must be >= 0");
+        }
+        this.parents = new int[count];
+        this.sizes = new int[count];
+        for (int element = 0; element < count; element++) {
+            this.parents[element] = element;
+            this.sizes[element] = 1;
+        }
+    }
+
+    /**
+     * @return representative element of the set of the element
+     */
+    public int find(int element) {
+        while (this.parents[element] != element) {
+            this.parents[element] = this.parents[this.parents[element]];
+            element = this.parents[element];
+        }
+        return element;
+    }
+
+    /**
+     * Unite sets of two elements
+     *
+     * @return true if the elements were in different sets
+     */
+    public boolean union(int element1, int element2) {
+        int root1 = find(element1);
+        int root2 = find(element2);
+        if (root1 == root2) {
+            return false;
+        }
+        if (this.sizes[root1] < this.sizes[root2]) {
+            int root = root1;
+            root1 = root2;
+            root2 = root;
+        }
+        this.parents[root2] = root1;
+        this.sizes[root1] += this.sizes[root2];
+        return true;
+    }
+
+    public int size() {
+        return this.parents.length;
+    }
+}
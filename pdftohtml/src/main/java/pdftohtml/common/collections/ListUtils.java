@@ -18,15 +18,13 @@ public class ListUtils<T, S> {
         Iterator<T> it1 = a.iterator();
         Iterator<S> it2 = b.iterator();
 
-        while (it1.hasNext()) {
-            if (it2.hasNext()) {
-                T el1 = it1.next();
-                S el2 = it2.next();
+        while (it1.hasNext() && it2.hasNext()) {
+            T el1 = it1.next();
+            S el2 = it2.next();
 
-                if (predicate.test(el1, el2)) {
-                    Pair<T, S> pair = new Pair<T, S>(el1, el2);
-                    pairs.add(pair);
-                }
+            if (predicate.test(el1, el2)) {
+                Pair<T, S> pair = new Pair<T, S>(el1, el2);
+                pairs.add(pair);
             }
         }
         return pairs;
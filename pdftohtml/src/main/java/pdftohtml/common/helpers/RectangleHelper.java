@@ -2,7 +2,6 @@ package pdftohtml.common.helpers;
 
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.text.TextPosition;
-import pdftohtml.common.Properties;
 import pdftohtml.domain.common.FrameworkRectangle;
 import pdftohtml.domain.pdf.object.PdfDocumentObject;
 import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
@@ -118,14 +117,16 @@ public class RectangleHelper {
      *
      * @param rectangle1 first rectangle
      * @param rectangle2 second rectangle
+     * @param xInaccuracy - inaccuracy of x coordinates
      * @return new rectangle, which is a space between these two rectangles
      */
     public static FrameworkRectangle createRectangleBetweenTwoRectangles(
             FrameworkRectangle rectangle1,
-            FrameworkRectangle rectangle2
+            FrameworkRectangle rectangle2,
+            double xInaccuracy
     ) {
         if (rectangle1 == null || rectangle2 == null) return null;
-        if (!rectangle1.isBeforeHorizontallyWithXInaccuracy(rectangle2, Properties.xInaccuracy)) {
+        if (!rectangle1.isBeforeHorizontallyWithXInaccuracy(rectangle2, xInaccuracy)) {
             return null;
         }
         float xMin = (float) rectangle1.getMaxX();
@@ -143,18 +144,44 @@ public class RectangleHelper {
      * @param rectangle1 first rectangle
      * @param rectangle2 second rectangle
      * @param space - given space value
+     * @param xInaccuracy - inaccuracy of x coordinates
      * @return true, if space between two rectangles is more or equal than given value
      */
     public static boolean checkXSpaceBetweenTwoRectangles(
             FrameworkRectangle rectangle1,
             FrameworkRectangle rectangle2,
-            float space
+            float space,
+            double xInaccuracy
     ) {
         if (rectangle1 == null || rectangle2 == null) return false;
-        if (rectangle1.isBeforeHorizontallyWithXInaccuracy(rectangle2, Properties.xInaccuracy)) {
-            return rectangle2.getMinX() - rectangle1.getMaxX() >= space;
+        return checkXSpaceBetweenTwoRectangles(
+                rectangle1, rectangle2.getMinX(), rectangle2.getMaxX(), space, xInaccuracy
+        );
+    }
+
+    /**
+     * Check if space between a rectangle and a rectangular area
+     * given by its x coordinates is more or equal than given value
+     *
+     * @param rectangle1 first rectangle
+     * @param minX2 - minimum x coordinate of the second area
+     * @param maxX2 - maximum x coordinate of the second area
+     * @param space - given space value
+     * @param xInaccuracy - inaccuracy of x coordinates
+     * @return true, if space between them is more or equal than given value
+     */
+    public static boolean checkXSpaceBetweenTwoRectangles(
+            FrameworkRectangle rectangle1,
+            double minX2,
+            double maxX2,
+            float space,
+            double xInaccuracy
+    ) {
+        if (rectangle1 == null) return false;
+        if (rectangle1.isBeforeHorizontallyWithXInaccuracy(minX2, xInaccuracy)) {
+            return minX2 - rectangle1.getMaxX() >= space;
         }
-        return rectangle1.getMinX() - rectangle2.getMaxX() >= space;
+        return rectangle1.getMinX() - maxX2 >= space;
     }
 
     /**
@@ -165,15 +192,17 @@ public class RectangleHelper {
      * @param rectangle1 first rectangle
      * @param rectangle2 second rectangle
      * @param space - given space value
+     * @param yInaccuracy - inaccuracy of y coordinates
      * @return true, if space between two rectangles is more or equal than given value
      */
     public static boolean spaceByYBetweenTwoRectanglesIsMore(
             FrameworkRectangle rectangle1,
             FrameworkRectangle rectangle2,
-            float space
+            float space,
+            double yInaccuracy
     ) {
         if (rectangle1 == null || rectangle2 == null) return false;
-        if (rectangle1.isBeforeVerticallyWithYInaccuracy(rectangle2, Properties.yInaccuracy)) {
+        if (rectangle1.isBeforeVerticallyWithYInaccuracy(rectangle2, yInaccuracy)) {
             return rectangle2.getMinY() - rectangle1.getMaxY() >= space;
         }
         return rectangle1.getMinY() - rectangle2.getMaxY() >= space;
@@ -185,14 +214,16 @@ public class RectangleHelper {
      *
      * @param rectangle1 first rectangle
      * @param rectangle2 second rectangle
+     * @param xInaccuracy - inaccuracy of x coordinates
      * @return true, if first rectangle has almost the same x coordinate start
      */
     public static boolean haveTheSameXMinCoordinates(
             FrameworkRectangle rectangle1,
-            FrameworkRectangle rectangle2
+            FrameworkRectangle rectangle2,
+            double xInaccuracy
     ) {
         if (rectangle1 == null || rectangle2 == null) return false;
-        return Math.abs(rectangle1.getMinX() - rectangle2.getMinX()) <= Properties.xInaccuracy;
+        return Math.abs(rectangle1.getMinX() - rectangle2.getMinX()) <= xInaccuracy;
     }
 
     /**
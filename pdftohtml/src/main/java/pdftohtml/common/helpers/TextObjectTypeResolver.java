@@ -2,25 +2,96 @@ package pdftohtml.common.helpers;
 
 import pdftohtml.domain.pdf.object.text.TextObjectType;
 
+/**
+ * Resolves pdf text object type:
+ *  - list bullet
+ *  - footnote
+ *  - simple text
+ *  - formula
+ *
+ * Text is a list bullet if without surrounding spaces it is
+ * a number followed by ")" or "." or the bullet character.
+ * The resolver is an automaton reading the text character
+ * by character, so the type of a text object is updated
+ * with every appended character without reading
+ * the whole text again.
+ */
 public class TextObjectTypeResolver {
 
+    private static final char BULLET_CHARACTER = '\uF0B7';
+
+    private enum State {
+        LEADING_SPACES,
+        NUMBER,
+        BULLET,
+        TRAILING_SPACES,
+        TEXT;
+
+        State next(char character) {
+            boolean space = character <= ' ';
+            switch (this) {
+                case LEADING_SPACES:
+                    if (space) {
+                        return LEADING_SPACES;
+                    }
+                    if (isDigit(character)) {
+                        return NUMBER;
+                    }
+                    return character == BULLET_CHARACTER ? BULLET : TEXT;
+                case NUMBER:
+                    if (isDigit(character)) {
+                        return NUMBER;
+                    }
+                    return character == ')' || character == '.' ? BULLET : TEXT;
+                case BULLET:
+                case TRAILING_SPACES:
+                    return space ? TRAILING_SPACES : TEXT;
+                default:
+                    return TEXT;
+            }
+        }
+
+        private static boolean isDigit(char character) {
+            return character >= '0' && character <= '9';
+        }
+    }
+
+    private State state = State.LEADING_SPACES;
+
     /**
-     * Resolves pdf text object type:
-     *  - list bullet
-     *  - footnote
-     *  - simple text
-     *  - formula
+     * Resolve type of the whole text
      *
      * @param text - content of pdf text object
      * @return TextObjectType enum
      */
     public TextObjectType resolveType(String text) {
-        if (text.trim().matches("[0-9]+\\)") ||
-                text.trim().matches("[0-9]+\\.") ||
-                text.trim().matches("\\uF0B7")) {
-            return TextObjectType.LIST_BULLET;
+        TextObjectTypeResolver resolver = new TextObjectTypeResolver();
+        resolver.append(text);
+        return resolver.getType();
+    }
+
+    /**
+     * Read the text appended to the content
+     */
+    public void append(CharSequence text) {
+        for (int i = 0; i < text.length() && this.state != State.TEXT; i++) {
+            this.state = this.state.next(text.charAt(i));
         }
-        return TextObjectType.TEXT;
     }
 
+    /**
+     * Start reading a new content
+     */
+    public void reset() {
+        this.state = State.LEADING_SPACES;
+    }
+
+    /**
+     * @return type of the content read so far
+     */
+    public TextObjectType getType() {
+        return this.state == State.BULLET || this.state == State.TRAILING_SPACES
+                ? TextObjectType.LIST_BULLET
+                : TextObjectType.TEXT;
+    }
 }
@@ -0,0 +1,61 @@
+package pdftohtml.common.helpers.testing;
+
+import lombok.extern.log4j.Log4j;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Kinds of objects which may be drawn on the debug overlay
+ */
+@Log4j
+public enum DebugLayer {
+
+    LINES,
+    BLOCKS,
+    GRAPHICS,
+    STROKE_PATHS,
+    SORTED_BLOCKS,
+    DIVIDERS,
+    SKELETONS,
+    TABLES;
+
+    /**
+     * System property with comma separated names
+     * of layers to draw, or "all"
+     */
+    public static final String LAYERS_PROPERTY = "pdftohtml.debug.layers";
+
+    /**
+     * @return layers set by the system property, empty if it is not set
+     */
+    public static Set<DebugLayer> fromSystemProperty() {
+        return parse(System.getProperty(LAYERS_PROPERTY, ""));
+    }
+
+    /**
+     * Unknown names are skipped with a warning,
+     * so a typo does not stop the conversion
+     *
+     * @param names - comma separated names of layers, or "all"
+     */
+    public static Set<DebugLayer> parse(String names) {
+        Set<DebugLayer> layers = EnumSet.noneOf(DebugLayer.class);
+        for (String name : names.split(",")) {
+            name = name.trim().toUpperCase(Locale.ROOT);
+            if (name.equals("ALL")) {
+                layers.addAll(EnumSet.allOf(DebugLayer.class));
+            } else if (!name.isEmpty()) {
+                try {
+                    layers.add(DebugLayer.valueOf(name));
+                } catch (IllegalArgumentException e) {
+                    log.warn("Unknown debug layer " + name + " is skipped, known layers are "
+                            + Arrays.toString(values()));
+                }
+            }
+        }
+        return layers;
+    }
+}
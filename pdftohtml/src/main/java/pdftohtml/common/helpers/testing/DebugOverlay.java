@@ -0,0 +1,135 @@
+package pdftohtml.common.helpers.testing;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import pdftohtml.domain.common.FrameworkRectangle;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rectangles of found objects drawn over the pages
+ * of a converted document for debugging.
+ *
+ * Rectangles are collected in memory while pages are converted,
+ * pages may be converted on several threads. At the end they
+ * are drawn on a copy of the document, with one content stream
+ * per page, and the copy is saved once. Processors ask for the
+ * overlay of a layer from the conversion context, when the layer
+ * is not enabled there is no overlay and nothing is collected.
+ */
+public class DebugOverlay {
+
+    private final Set<DebugLayer> layers;
+
+    private final Map<Integer, List<OverlayRectangle>> pagesRectangles = new ConcurrentHashMap<>();
+
+    public DebugOverlay(Set<DebugLayer> layers) {
+        this.layers = layers.isEmpty() ? EnumSet.noneOf(DebugLayer.class) : EnumSet.copyOf(layers);
+    }
+
+    public boolean isEnabled(DebugLayer layer) {
+        return this.layers.contains(layer);
+    }
+
+    /**
+     * @param pageIndex - index of the page, starting with 1
+     * @param rectangle - rectangle in page coordinates with the origin in the top left corner
+     * @param color     - color of the rectangle border
+     */
+    public void addRectangle(int pageIndex, FrameworkRectangle rectangle, Color color) {
+        addRectangle(pageIndex, rectangle, color, null);
+    }
+
+    /**
+     * @param label - text written over the rectangle, may be null
+     */
+    public void addRectangle(int pageIndex, FrameworkRectangle rectangle, Color color, String label) {
+        if (rectangle == null) {
+            return;
+        }
+        this.pagesRectangles
+                .computeIfAbsent(pageIndex, index -> Collections.synchronizedList(new ArrayList<>()))
+                .add(new OverlayRectangle(rectangle.copy(), color, label));
+    }
+
+    public int getRectanglesCount() {
+        return this.pagesRectangles.values().stream().mapToInt(List::size).sum();
+    }
+
+    /**
+     * Draw the collected rectangles on the pages
+     * of the document and save it to the file
+     *
+     * @param document - document which was converted, it is changed
+     * @param file     - file of the debug document
+     */
+    public void save(PDDocument document, File file) throws IOException {
+        for (Map.Entry<Integer, List<OverlayRectangle>> pageRectangles : this.pagesRectangles.entrySet()) {
+            PDPage page = document.getPage(pageRectangles.getKey() - 1);
+            try (PDPageContentStream contentStream = new PDPageContentStream(
+                    document,
+                    page,
+                    PDPageContentStream.AppendMode.APPEND,
+                    true,
+                    true
+            )) {
+                for (OverlayRectangle rectangle : pageRectangles.getValue()) {
+                    drawRectangle(contentStream, page, rectangle);
+                }
+            }
+        }
+        document.save(file);
+    }
+
+    private void drawRectangle(
+            PDPageContentStream contentStream,
+            PDPage page,
+            OverlayRectangle overlayRectangle
+    ) throws IOException {
+        FrameworkRectangle rectangle = overlayRectangle.rectangle;
+        contentStream.setNonStrokingColor(Color.RED);
+        contentStream.setStrokingColor(overlayRectangle.color);
+        float x = (float) rectangle.getMinX();
+        float y = page.getCropBox().getUpperRightY() - (float) rectangle.getMaxY();
+        //      -----------
+        //      |         |
+        //      -----------
+        //    x, y
+        contentStream.addRect(x, y, (float) rectangle.getWidth(), (float) rectangle.getHeight());
+        contentStream.stroke();
+        if (overlayRectangle.label != null) {
+            contentStream.beginText();
+            contentStream.newLineAtOffset(
+                    (float) rectangle.getMinX() + 2f,
+                    page.getCropBox().getHeight() - (float) rectangle.getMinY() + 2f
+            );
+            contentStream.setFont(PDType1Font.TIMES_ROMAN, 14);
+            contentStream.showText(overlayRectangle.label);
+            contentStream.endText();
+        }
+    }
+
+    private static class OverlayRectangle {
+
+        private final FrameworkRectangle rectangle;
+        private final Color color;
+        private final String label;
+
+        OverlayRectangle(FrameworkRectangle rectangle, Color color, String label) {
+            this.rectangle = rectangle;
+            this.color = color;
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package pdftohtml.common.metrics;
+
+import lombok.Getter;
+
+/**
+ * Timers of the page conversion stages and counters
+ * of objects found on pages, resolved once from a registry.
+ *
+ * Counters are totals over all converted pages,
+ * the pages counter gives averages per page.
+ */
+@Getter
+public class ConversionMetrics {
+
+    /**
+     * The single pass over the page content stream
+     * which extracts text, images and stroke paths,
+     * they are not timed separately
+     */
+    public static final String CONTENT_STREAM_STAGE = "stage.contentStream";
+    public static final String DIVIDERS_STAGE = "stage.dividers";
+    public static final String COMPOSITE_OBJECTS_STAGE = "stage.compositeObjects";
+    public static final String PAGE_STAGE = "stage.page";
+
+    public static final String PAGES = "pages";
+    public static final String GLYPHS = "page.glyphs";
+    public static final String LINES = "page.lines";
+    public static final String BLOCKS = "page.blocks";
+    public static final String DIVIDERS = "page.dividers";
+    public static final String STROKE_PATHS = "page.strokePaths";
+    public static final String IMAGES = "page.images";
+
+    private final StageTimer contentStreamStage;
+    private final StageTimer dividersStage;
+    private final StageTimer compositeObjectsStage;
+    private final StageTimer pageStage;
+
+    private final Counter pages;
+    private final Counter glyphs;
+    private final Counter lines;
+    private final Counter blocks;
+    private final Counter dividers;
+    private final Counter strokePaths;
+    private final Counter images;
+
+    public ConversionMetrics(MetricsRegistry registry) {
+        this.contentStreamStage = registry.timer(CONTENT_STREAM_STAGE);
+        this.dividersStage = registry.timer(DIVIDERS_STAGE);
+        this.compositeObjectsStage = registry.timer(COMPOSITE_OBJECTS_STAGE);
+        this.pageStage = registry.timer(PAGE_STAGE);
+
+        this.pages = registry.counter(PAGES);
+        this.glyphs = registry.counter(GLYPHS);
+        this.lines = registry.counter(LINES);
+        this.blocks = registry.counter(BLOCKS);
+        this.dividers = registry.counter(DIVIDERS);
+        this.strokePaths = registry.counter(STROKE_PATHS);
+        this.images = registry.counter(IMAGES);
+    }
+}
@@ -0,0 +1,28 @@
+package pdftohtml.common.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counter which may be incremented by many threads at once
+ * without contention, it is cheap enough to be always on
+ */
+public class Counter {
+
+    private final LongAdder value = new LongAdder();
+
+    public void increment() {
+        this.value.increment();
+    }
+
+    public void add(long amount) {
+        this.value.add(amount);
+    }
+
+    public long get() {
+        return this.value.sum();
+    }
+
+    void reset() {
+        this.value.reset();
+    }
+}
@@ -0,0 +1,65 @@
+package pdftohtml.common.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Named counters and stage timers.
+ *
+ * Counters and timers are created on the first request
+ * and live as long as the registry, so they may be
+ * resolved once and then updated without lookups.
+ * Values are read with {@link #snapshot()}, which
+ * may be called from any thread at any time.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, StageTimer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * @return registry used by the conversion if no other registry is set
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    public Counter counter(String name) {
+        return this.counters.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public StageTimer timer(String name) {
+        return this.timers.computeIfAbsent(name, key -> new StageTimer());
+    }
+
+    /**
+     * @return current values of all counters and timers
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, Long> counterValues = new TreeMap<>();
+        this.counters.forEach((name, counter) -> counterValues.put(name, counter.get()));
+        Map<String, MetricsSnapshot.TimerValue> timerValues = new TreeMap<>();
+        this.timers.forEach((name, timer) -> timerValues.put(
+                name,
+                new MetricsSnapshot.TimerValue(timer.getCount(), timer.getTotalNanos(), timer.getMaxNanos())
+        ));
+        return new MetricsSnapshot(
+                Collections.unmodifiableMap(counterValues),
+                Collections.unmodifiableMap(timerValues)
+        );
+    }
+
+    /**
+     * Set all counters and timers to zero, updates
+     * done at the same time may be partly lost
+     */
+    public void reset() {
+        this.counters.values().forEach(Counter::reset);
+        this.timers.values().forEach(StageTimer::reset);
+    }
+}
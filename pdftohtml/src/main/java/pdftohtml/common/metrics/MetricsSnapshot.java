@@ -0,0 +1,53 @@
+package pdftohtml.common.metrics;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Values of counters and timers of a registry at some moment
+ */
+@Getter
+public class MetricsSnapshot {
+
+    private final Map<String, Long> counters;
+
+    private final Map<String, TimerValue> timers;
+
+    MetricsSnapshot(Map<String, Long> counters, Map<String, TimerValue> timers) {
+        this.counters = counters;
+        this.timers = timers;
+    }
+
+    /**
+     * @return counter value, 0 if there is no such counter
+     */
+    public long getCounter(String name) {
+        return this.counters.getOrDefault(name, 0L);
+    }
+
+    /**
+     * @return timer value, null if there is no such timer
+     */
+    public TimerValue getTimer(String name) {
+        return this.timers.get(name);
+    }
+
+    @Getter
+    public static class TimerValue {
+
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        TimerValue(long count, long totalNanos, long maxNanos) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public double getAverageNanos() {
+            return this.count > 0 ? (double) this.totalNanos / this.count : 0;
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package pdftohtml.domain.common;
 
 import lombok.Getter;
-import pdftohtml.common.Properties;
 
 import java.awt.*;
 import java.util.Arrays;
@@ -92,6 +91,83 @@ public class FrameworkRectangle {
     this.height = maxY - minY;
   }
 
+  /**
+   * Copy coordinates of the specified rectangle to this {@link FrameworkRectangle}
+   *
+   * @param rectangle rectangle to copy
+   */
+  public void copyFrom(FrameworkRectangle rectangle) {
+    this.minX = rectangle.minX;
+    this.minY = rectangle.minY;
+    this.maxX = rectangle.maxX;
+    this.maxY = rectangle.maxY;
+    this.width = rectangle.width;
+    this.height = rectangle.height;
+  }
+
+  /**
+   * @return new rectangle with the same coordinates
+   */
+  public FrameworkRectangle copy() {
+    FrameworkRectangle rectangle = new FrameworkRectangle();
+    rectangle.copyFrom(this);
+    return rectangle;
+  }
+
+  /**
+   * Unite this {@link FrameworkRectangle} in place with the specified
+   * rectangular area. Coordinates are rounded to float like in
+   * {@link pdftohtml.common.helpers.RectangleHelper#combineTwoRectangles}.
+   *
+   * @param minX the x coordinate of the upper-left corner of the area
+   * @param minY the y coordinate of the upper-left corner of the area
+   * @param maxX the x coordinate of the lower-right corner of the area
+   * @param maxY the y coordinate of the lower-right corner of the area
+   */
+  public void unite(double minX, double minY, double maxX, double maxY) {
+    float xMin = (float) Math.min(this.minX, minX);
+    float yMin = (float) Math.min(this.minY, minY);
+    float xMax = (float) Math.max(this.maxX, maxX);
+    float yMax = (float) Math.max(this.maxY, maxY);
+    setBounds(xMin, yMin, xMax - xMin, yMax - yMin);
+  }
+
+  /**
+   * Unite this {@link FrameworkRectangle} in place with the specified rectangle
+   *
+   * @param rectangle The specified Rectangle
+   */
+  public void unite(FrameworkRectangle rectangle) {
+    unite(rectangle.minX, rectangle.minY, rectangle.maxX, rectangle.maxY);
+  }
+
+  /**
+   * Replace this {@link FrameworkRectangle} in place with its intersection
+   * with the specified rectangle, see {@link #getIntersection}
+   *
+   * @param rectangle The specified Rectangle
+   * @return true if the rectangles intersect, otherwise this
+   *         rectangle is not changed
+   */
+  public boolean intersect(FrameworkRectangle rectangle) {
+    if (!this.intersects(rectangle)) return false;
+    float xMin = (float) Math.max(this.getMinX(), rectangle.getMinX());
+    float xMax = (float) Math.min(this.getMaxX(), rectangle.getMaxX());
+    float yMin = (float) Math.max(this.getMinY(), rectangle.getMinY());
+    float yMax = (float) Math.min(this.getMaxY(), rectangle.getMaxY());
+    setBounds(xMin, yMin, xMax - xMin, yMax - yMin);
+    return true;
+  }
+
+  private void setBounds(double minX, double minY, double width, double height) {
+    this.minX = minX;
+    this.minY = minY;
+    this.width = width;
+    this.height = height;
+    this.maxX = minX + width;
+    this.maxY = minY + height;
+  }
+
   /**
    * Checks if the specified (x, y) coordinates are inside the boundary
    * of {@link FrameworkRectangle}.
@@ -147,10 +223,31 @@ public class FrameworkRectangle {
           double xInaccuracy,
           double yInaccuracy
   ) {
-    if (this.contains(rectangle))
+    return containsWithXYInaccuracies(
+            rectangle.getMinX(), rectangle.getMinY(),
+            rectangle.getMaxX(), rectangle.getMaxY(),
+            xInaccuracy, yInaccuracy
+    );
+  }
+
+  /**
+   * Check if this rectangle {@link FrameworkRectangle} contains the specified
+   * rectangular area given by its corners with current x and y inaccuracy
+   *
+   * @return true - if this rectangle contains the area, otherwise false
+   */
+  public boolean containsWithXYInaccuracies(
+          double minX,
+          double minY,
+          double maxX,
+          double maxY,
+          double xInaccuracy,
+          double yInaccuracy
+  ) {
+    if (minX >= this.minX && minY >= this.minY && maxX <= this.maxX && maxY <= this.maxY)
       return true;
-    return containsByXWithInaccuracy(rectangle.getMinX(), rectangle.getMaxX(), xInaccuracy) &&
-            containsByYWithInaccuracy(rectangle.getMinY(), rectangle.getMaxY(), yInaccuracy);
+    return containsByXWithInaccuracy(minX, maxX, xInaccuracy) &&
+            containsByYWithInaccuracy(minY, maxY, yInaccuracy);
   }
 
   /**
@@ -335,8 +432,10 @@ public class FrameworkRectangle {
   }
 
   public float getIntersectionArea(FrameworkRectangle rectangle) {
-    FrameworkRectangle intersectionRectangle = this.getIntersection(rectangle);
-    return intersectionRectangle != null ? (float) intersectionRectangle.getArea() : 0f;
+    if (!this.intersects(rectangle)) return 0f;
+    double intersectionWidth = this.intersectsHorizontally(rectangle);
+    double intersectionHeight = this.intersectsVertically(rectangle);
+    return (float) (intersectionWidth * intersectionHeight);
   }
 
   /**
@@ -349,9 +448,20 @@ public class FrameworkRectangle {
    */
   public boolean isBeforeHorizontallyWithXInaccuracy(FrameworkRectangle rectangle, double xInaccuracy) {
     if (rectangle == null) return false;
-    return this.getMinX() < rectangle.getMinX() &&
-            (this.getMaxX() <= rectangle.getMinX() + xInaccuracy ||
-                    this.getMaxX() <= rectangle.getMinX() - xInaccuracy);
+    return isBeforeHorizontallyWithXInaccuracy(rectangle.getMinX(), xInaccuracy);
+  }
+
+  /**
+   * Checks if the this rectangle {@link FrameworkRectangle} stands
+   * before the rectangular area starting at the specified x coordinate
+   *
+   * @param minX the x coordinate of the upper-left corner of the area
+   * @return true, if this rectangle stands before the area by x coordinate
+   */
+  public boolean isBeforeHorizontallyWithXInaccuracy(double minX, double xInaccuracy) {
+    return this.getMinX() < minX &&
+            (this.getMaxX() <= minX + xInaccuracy ||
+                    this.getMaxX() <= minX - xInaccuracy);
   }
 
   /**
@@ -409,13 +519,15 @@ public class FrameworkRectangle {
    * specified inaccuracy as the compared rectangle
 
    * @param rectangle rectangle to compare with
+   * @param yInaccuracy inaccuracy by y
    * @return true, if first rectangle has almost the same x coordinate start
    */
   public boolean hasTheSameYMinCoordinate(
-          FrameworkRectangle rectangle
+          FrameworkRectangle rectangle,
+          double yInaccuracy
   ) {
     if (rectangle == null) return false;
-    return Math.abs(this.getMinY() - rectangle.getMinY()) <= Properties.yInaccuracy;
+    return Math.abs(this.getMinY() - rectangle.getMinY()) <= yInaccuracy;
   }
 
   /**
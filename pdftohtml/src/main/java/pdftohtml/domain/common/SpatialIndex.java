@@ -0,0 +1,289 @@
+package pdftohtml.domain.common;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Packed R-tree of objects with rectangles {@link FrameworkRectangle}.
+ *
+ * The tree is built once from a list of objects with
+ * sort-tile-recursive packing and is not changed afterwards.
+ * Rectangles are copied when the tree is built, so later changes
+ * of the rectangles are not seen by the index.
+ *
+ * Queries find objects whose rectangles overlap the query area
+ * including touching borders, so the result is a superset of objects
+ * satisfying the strict checks of {@link FrameworkRectangle} like
+ * {@link FrameworkRectangle#intersects(FrameworkRectangle)} or
+ * {@link FrameworkRectangle#intersectsVertically(FrameworkRectangle)},
+ * callers apply their exact check to the found objects.
+ * A query costs O(log n + k), where k is the number of found objects.
+ *
+ * @param <T> type of indexed objects
+ */
+public final class SpatialIndex<T> {
+
+    /**
+     * Maximum number of children of a tree node
+     */
+    static final int NODE_SIZE = 16;
+
+    private final List<T> items;
+
+    /**
+     * Bounds of leaf entries followed by bounds of the nodes of
+     * every upper level, the last entry is the root
+     */
+    private final double[] minX;
+    private final double[] minY;
+    private final double[] maxX;
+    private final double[] maxY;
+
+    /**
+     * Index of the object of every leaf entry in the items list
+     */
+    private final int[] itemIndices;
+
+    /**
+     * Start of every level in the bounds arrays and the end of the last one
+     */
+    private final int[] levelStarts;
+
+    private SpatialIndex(List<T> items, Function<T, FrameworkRectangle> rectangleOf) {
+        this.items = items;
+        int size = items.size();
+
+        FrameworkRectangle[] rectangles = new FrameworkRectangle[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            rectangles[i] = rectangleOf.apply(items.get(i));
+            order[i] = i;
+        }
+        sortTileRecursive(order, rectangles);
+
+        List<Integer> starts = new ArrayList<>();
+        int entriesCount = size;
+        int levelSize = size;
+        while (levelSize > 1) {
+            levelSize = (levelSize + NODE_SIZE - 1) / NODE_SIZE;
+            entriesCount += levelSize;
+        }
+        this.minX = new double[entriesCount];
+        this.minY = new double[entriesCount];
+        this.maxX = new double[entriesCount];
+        this.maxY = new double[entriesCount];
+        this.itemIndices = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            FrameworkRectangle rectangle = rectangles[order[i]];
+            this.itemIndices[i] = order[i];
+            this.minX[i] = rectangle.getMinX();
+            this.minY[i] = rectangle.getMinY();
+            this.maxX[i] = rectangle.getMaxX();
+            this.maxY[i] = rectangle.getMaxY();
+        }
+
+        // every node bounds the next NODE_SIZE
+        // entries of the level below it
+        starts.add(0);
+        int levelStart = 0;
+        int levelEnd = size;
+        while (levelEnd - levelStart > 1) {
+            int node = levelEnd;
+            for (int child = levelStart; child < levelEnd; child += NODE_SIZE, node++) {
+                int childrenEnd = Math.min(child + NODE_SIZE, levelEnd);
+                double nodeMinX = Double.POSITIVE_INFINITY;
+                double nodeMinY = Double.POSITIVE_INFINITY;
+                double nodeMaxX = Double.NEGATIVE_INFINITY;
+                double nodeMaxY = Double.NEGATIVE_INFINITY;
+                for (int entry = child; entry < childrenEnd; entry++) {
+                    nodeMinX = Math.min(nodeMinX, this.minX[entry]);
+                    nodeMinY = Math.min(nodeMinY, this.minY[entry]);
+                    nodeMaxX = Math.max(nodeMaxX, this.maxX[entry]);
+                    nodeMaxY = Math.max(nodeMaxY, this.maxY[entry]);
+                }
+                this.minX[node] = nodeMinX;
+                this.minY[node] = nodeMinY;
+                this.maxX[node] = nodeMaxX;
+                this.maxY[node] = nodeMaxY;
+            }
+            levelStart = levelEnd;
+            levelEnd = node;
+            starts.add(levelStart);
+        }
+        starts.add(levelEnd);
+        this.levelStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Build an index of objects
+     *
+     * @param items       - objects to index, the list must not be changed
+     *                      while the index is used
+     * @param rectangleOf - rectangle of an object
+     */
+    public static <T> SpatialIndex<T> build(List<T> items, Function<T, FrameworkRectangle> rectangleOf) {
+        return new SpatialIndex<>(items, rectangleOf);
+    }
+
+    public int size() {
+        return this.items.size();
+    }
+
+    /**
+     * @param index - index of the object in the list the index is built of
+     */
+    public T get(int index) {
+        return this.items.get(index);
+    }
+
+    /**
+     * Visit indices of objects overlapping the area in no particular order
+     *
+     * @param visitor - gets the index of the object in the list
+     *                  the index is built of, returns false
+     *                  to stop the search
+     * @return false if the search was stopped by the visitor
+     */
+    public boolean search(double minX, double minY, double maxX, double maxY, IntPredicate visitor) {
+        if (this.items.isEmpty()) {
+            return true;
+        }
+        // pairs of entry and its level, every level
+        // keeps at most NODE_SIZE entries pending
+        int[] stack = new int[2 * NODE_SIZE * this.levelStarts.length];
+        int stackSize = 0;
+        int rootLevel = this.levelStarts.length - 2;
+        stack[stackSize++] = this.levelStarts[rootLevel];
+        stack[stackSize++] = rootLevel;
+        while (stackSize > 0) {
+            int level = stack[--stackSize];
+            int entry = stack[--stackSize];
+            if (!overlaps(entry, minX, minY, maxX, maxY)) {
+                continue;
+            }
+            if (level == 0) {
+                if (!visitor.test(this.itemIndices[entry])) {
+                    return false;
+                }
+                continue;
+            }
+            // children of a node are the NODE_SIZE entries of the
+            // level below with the same position of the node
+            int childrenStart = this.levelStarts[level - 1] + (entry - this.levelStarts[level]) * NODE_SIZE;
+            int childrenEnd = Math.min(childrenStart + NODE_SIZE, this.levelStarts[level]);
+            for (int child = childrenEnd - 1; child >= childrenStart; child--) {
+                stack[stackSize++] = child;
+                stack[stackSize++] = level - 1;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if any object overlapping the area matches the predicate,
+     * the search stops at the first matching object
+     */
+    public boolean anyMatch(double minX, double minY, double maxX, double maxY, Predicate<T> predicate) {
+        return !search(minX, minY, maxX, maxY, index -> !predicate.test(this.items.get(index)));
+    }
+
+    /**
+     * Indices of objects overlapping the area in ascending order,
+     * that is in the order of the list the index is built of
+     */
+    public int[] findIndices(double minX, double minY, double maxX, double maxY) {
+        int[][] found = {new int[8]};
+        int[] count = {0};
+        search(minX, minY, maxX, maxY, index -> {
+            if (count[0] == found[0].length) {
+                found[0] = Arrays.copyOf(found[0], count[0] * 2);
+            }
+            found[0][count[0]++] = index;
+            return true;
+        });
+        int[] indices = Arrays.copyOf(found[0], count[0]);
+        Arrays.sort(indices);
+        return indices;
+    }
+
+    /**
+     * Objects overlapping the rectangle in the order of the list
+     */
+    public List<T> findOverlapping(FrameworkRectangle rectangle) {
+        return toItems(findIndices(
+                rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY()
+        ));
+    }
+
+    /**
+     * Objects overlapping the horizontal band between
+     * the y coordinates in the order of the list
+     */
+    public List<T> findInHorizontalBand(double minY, double maxY) {
+        return toItems(findIndices(Double.NEGATIVE_INFINITY, minY, Double.POSITIVE_INFINITY, maxY));
+    }
+
+    /**
+     * Objects overlapping the vertical band between
+     * the x coordinates in the order of the list
+     */
+    public List<T> findInVerticalBand(double minX, double maxX) {
+        return toItems(findIndices(minX, Double.NEGATIVE_INFINITY, maxX, Double.POSITIVE_INFINITY));
+    }
+
+    private List<T> toItems(int[] indices) {
+        if (indices.length == 0) {
+            return Collections.emptyList();
+        }
+        List<T> found = new ArrayList<>(indices.length);
+        for (int index : indices) {
+            found.add(this.items.get(index));
+        }
+        return found;
+    }
+
+    private boolean overlaps(int entry, double minX, double minY, double maxX, double maxY) {
+        return this.minX[entry] <= maxX && this.maxX[entry] >= minX
+                && this.minY[entry] <= maxY && this.maxY[entry] >= minY;
+    }
+
+    /**
+     * Order objects so that consecutive groups of NODE_SIZE objects
+     * are close to each other: objects are sorted by x into vertical
+     * slices and objects of every slice are sorted by y
+     */
+    private static void sortTileRecursive(Integer[] order, FrameworkRectangle[] rectangles) {
+        int size = order.length;
+        if (size <= NODE_SIZE) {
+            return;
+        }
+        int nodesCount = (size + NODE_SIZE - 1) / NODE_SIZE;
+        int slicesCount = (int) Math.ceil(Math.sqrt(nodesCount));
+        int sliceSize = slicesCount * NODE_SIZE;
+
+        Arrays.sort(order, Comparator.comparingDouble(i -> centerX(rectangles[i])));
+        for (int sliceStart = 0; sliceStart < size; sliceStart += sliceSize) {
+            Arrays.sort(
+                    order,
+                    sliceStart,
+                    Math.min(sliceStart + sliceSize, size),
+                    Comparator.comparingDouble(i -> centerY(rectangles[i]))
+            );
+        }
+    }
+
+    private static double centerX(FrameworkRectangle rectangle) {
+        return (rectangle.getMinX() + rectangle.getMaxX()) / 2;
+    }
+
+    private static double centerY(FrameworkRectangle rectangle) {
+        return (rectangle.getMinY() + rectangle.getMaxY()) / 2;
+    }
+}
@@ -13,6 +13,42 @@ public class HtmlTag {
      *  <title></title>  <tr></tr>  <u></u>  <ul></ul>
      */
 
+    /**
+     * Document
+     */
+
+    public static String getDocumentOpen() {
+        return "<!DOCTYPE html><html><head><meta charset=\"utf-8\"></head><body>";
+    }
+
+    public static String getDocumentClose() {
+        return "</body></html>";
+    }
+
+    public static String getDivOpen(String cssClass) {
+        return "<div class=\"" + cssClass + "\">";
+    }
+
+    public static String getDivClose() {
+        return "</div>";
+    }
+
+    public static String getLineBreak() {
+        return "<br>";
+    }
+
+    public static String getLinkOpen(String href) {
+        return "<a href=\"" + href + "\">";
+    }
+
+    public static String getLinkClose() {
+        return "</a>";
+    }
+
+    /**
+     * Text
+     */
+
     public static String getParagraphOpen() {
         return "<p>";
     }
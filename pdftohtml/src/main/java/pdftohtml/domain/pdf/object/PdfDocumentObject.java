@@ -4,8 +4,6 @@ import lombok.Getter;
 import lombok.Setter;
 import pdftohtml.domain.common.FrameworkRectangle;
 
-import static pdftohtml.common.helpers.RectangleHelper.combineTwoRectangles;
-
 @Getter
 @Setter
 public abstract class PdfDocumentObject {
@@ -15,7 +13,18 @@ public abstract class PdfDocumentObject {
   protected PdfDocumentObjectType objectType = PdfDocumentObjectType.NOT_SET;
 
   public void addToRectangle(FrameworkRectangle rectangle) {
-    this.rectangle = combineTwoRectangles(this.rectangle, rectangle);
+    addToRectangle(rectangle.getMinX(), rectangle.getMinY(), rectangle.getMaxX(), rectangle.getMaxY());
+  }
+
+  /**
+   * Unite the rectangle of the object in place with a rectangular area,
+   * so the rectangle set to an object must not be shared with other objects
+   */
+  public void addToRectangle(double minX, double minY, double maxX, double maxY) {
+    if (this.rectangle == FrameworkRectangle.EMPTY) {
+      this.rectangle = new FrameworkRectangle();
+    }
+    this.rectangle.unite(minX, minY, maxX, maxY);
   }
 
   @Override
@@ -2,7 +2,6 @@ package pdftohtml.domain.pdf.object.composite.table;
 
 import lombok.Getter;
 import lombok.Setter;
-import pdftohtml.common.Properties;
 import pdftohtml.common.collections.ListUtils;
 import pdftohtml.common.collections.Pair;
 import pdftohtml.domain.common.FrameworkRectangle;
@@ -12,9 +11,7 @@ import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 
-import static pdftohtml.common.helpers.RectangleHelper.combineTwoRectangles;
 
 public class Table extends PdfDocumentObject {
 
@@ -32,21 +29,26 @@ public class Table extends PdfDocumentObject {
     }
 
     public void resolveRectangle() {
-        AtomicReference<FrameworkRectangle> resultRectangle = new AtomicReference<>();
-        rows.forEach(row -> {
-            if (resultRectangle.get() == null) {
-                resultRectangle.set(row.getRectangle());
+        FrameworkRectangle resultRectangle = null;
+        for (TableRow row : this.rows) {
+            if (row.getRectangle() == null) {
+                continue;
+            }
+            if (resultRectangle == null) {
+                resultRectangle = row.getRectangle().copy();
             } else {
-                resultRectangle.set(combineTwoRectangles(resultRectangle.get(), row.getRectangle()));
+                resultRectangle.unite(row.getRectangle());
             }
-        });
-        this.rectangle = resultRectangle.get();
+        }
+        this.rectangle = resultRectangle;
     }
 
     /**
+     * Merge cells of adjacent rows starting at the same y coordinate
      *
+     * @param yInaccuracy - inaccuracy of y coordinates
      */
-    public void mergeCellsFromAdjacentRows() {
+    public void mergeCellsFromAdjacentRows(double yInaccuracy) {
         ListUtils<TableCell, TableCell> utils = new ListUtils<>();
         Iterator<TableRow> rowIterator = this.rows.iterator();
         while (rowIterator.hasNext()) {
@@ -58,7 +60,8 @@ public class Table extends PdfDocumentObject {
                   nextRow.getCells(),
                         (a, b) -> a.getRectangle()
                                 .hasTheSameYMinCoordinate(
-                                        b.getRectangle()
+                                        b.getRectangle(),
+                                        yInaccuracy
                                 )
                 );
                 cellsPairs.forEach(cellsPair -> {
@@ -8,9 +8,7 @@ import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 
-import static pdftohtml.common.helpers.RectangleHelper.combineTwoRectangles;
 
 @Getter
 public class TableCell extends PdfDocumentObject {
@@ -53,14 +51,17 @@ public class TableCell extends PdfDocumentObject {
     }
 
     public void resolveRectangle() {
-        AtomicReference<FrameworkRectangle> resultRectangle = new AtomicReference<>();
-        objects.forEach(object -> {
-            if (resultRectangle.get() == null) {
-                resultRectangle.set(object.getRectangle());
+        FrameworkRectangle resultRectangle = null;
+        for (PdfDocumentObject object : this.objects) {
+            if (object.getRectangle() == null) {
+                continue;
+            }
+            if (resultRectangle == null) {
+                resultRectangle = object.getRectangle().copy();
             } else {
-                resultRectangle.set(combineTwoRectangles(resultRectangle.get(), object.getRectangle()));
+                resultRectangle.unite(object.getRectangle());
             }
-        });
-        this.rectangle = resultRectangle.get();
+        }
+        this.rectangle = resultRectangle;
     }
 }
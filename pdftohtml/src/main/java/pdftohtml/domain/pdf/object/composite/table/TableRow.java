@@ -8,9 +8,7 @@ import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicReference;
 
-import static pdftohtml.common.helpers.RectangleHelper.combineTwoRectangles;
 
 @Getter
 @Setter
@@ -37,14 +35,17 @@ public class TableRow extends PdfDocumentObject {
     }
 
     public void resolveRectangle() {
-        AtomicReference<FrameworkRectangle> resultRectangle = new AtomicReference<>();
-        cells.forEach(cell -> {
-            if (resultRectangle.get() == null) {
-                resultRectangle.set(cell.getRectangle());
+        FrameworkRectangle resultRectangle = null;
+        for (TableCell cell : this.cells) {
+            if (cell.getRectangle() == null) {
+                continue;
+            }
+            if (resultRectangle == null) {
+                resultRectangle = cell.getRectangle().copy();
             } else {
-                resultRectangle.set(combineTwoRectangles(resultRectangle.get(), cell.getRectangle()));
+                resultRectangle.unite(cell.getRectangle());
             }
-        });
-        this.rectangle = resultRectangle.get();
+        }
+        this.rectangle = resultRectangle;
     }
 }
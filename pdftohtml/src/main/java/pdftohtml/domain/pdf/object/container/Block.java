@@ -65,6 +65,20 @@ public class Block extends PdfDocumentObject {
         instantiateContentRectangle();
     }
 
+    /**
+     * Put lines of the beginning of the block on the previous page
+     * before lines of the block, the rectangle of the block stays
+     * on its own page
+     *
+     * @param previousPageLines - lines of the block on the previous page
+     */
+    public void addPreviousPageLines(List<PageLine> previousPageLines) {
+        List<PageLine> allLines = new ArrayList<>(previousPageLines.size() + this.lines.size());
+        allLines.addAll(previousPageLines);
+        allLines.addAll(this.lines);
+        this.lines = allLines;
+    }
+
     private void instantiateContentRectangle() {
         double minX =
                 lines.stream()
@@ -10,7 +10,6 @@ import pdftohtml.domain.pdf.object.text.TextObject;
 import java.util.ArrayList;
 import java.util.List;
 
-import static pdftohtml.common.helpers.RectangleHelper.combineTwoRectangles;
 import static pdftohtml.common.helpers.RectangleHelper.subtractRectangle;
 
 @Getter
@@ -59,11 +58,18 @@ public class PageLine extends PdfDocumentObject {
         subtractFromRectangle(object.getRectangle());
     }
 
+    /**
+     * Unite the line rectangle in place with the rectangle of an object,
+     * the line rectangle starts as a copy of its first object rectangle
+     */
+    @Override
     public void addToRectangle(FrameworkRectangle rectangle) {
+        if (this.rectangle == FrameworkRectangle.EMPTY)
+            this.rectangle = new FrameworkRectangle();
         if (this.rectangle.equals(FrameworkRectangle.EMPTY))
-            this.rectangle = rectangle;
+            this.rectangle.copyFrom(rectangle);
         else
-            this.rectangle = combineTwoRectangles(this.rectangle, rectangle);
+            this.rectangle.unite(rectangle);
     }
 
     public void addToText(PdfDocumentObject object) {
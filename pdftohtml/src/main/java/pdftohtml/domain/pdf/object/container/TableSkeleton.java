@@ -3,8 +3,8 @@ package pdftohtml.domain.pdf.object.container;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import pdftohtml.common.Properties;
 import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.common.SpatialIndex;
 import pdftohtml.domain.pdf.object.PdfDocumentObject;
 import pdftohtml.domain.pdf.object.composite.table.Table;
 import pdftohtml.domain.pdf.object.composite.table.TableCell;
@@ -63,20 +63,38 @@ public class TableSkeleton extends PdfDocumentObject {
         );
     }
 
-    public Table convertToTable() {
+    /**
+     * Create a table of blocks of the skeleton divided by its dividers
+     *
+     * @param xInaccuracy - inaccuracy of x coordinates
+     * @param yInaccuracy - inaccuracy of y coordinates
+     * @return table of the skeleton
+     */
+    public Table convertToTable(double xInaccuracy, double yInaccuracy) {
         Divider lastDivider = this.dividers.get(this.dividers.size() - 1);
         Table table = new Table();
         List<TableRow> rows = new ArrayList<>();
         AtomicInteger rowNumber = new AtomicInteger(0);
         AtomicInteger cellNumber = new AtomicInteger(0);
+        SpatialIndex<Block> blocksIndex = SpatialIndex.build(this.blocks, Block::getRectangle);
+        // blocks with the same y coordinates are in the band of the block
+        // enlarged by the inaccuracy, with a margin for rounding
+        double bandMargin = 2 * yInaccuracy;
         this.blocks.forEach(block -> {
             List<Block> sameYMinBlocks = new ArrayList<>();
             sameYMinBlocks.add(block);
-            for (Block sameYMinBlock: this.blocks) {
+            int[] bandBlocks = blocksIndex.findIndices(
+                    Double.NEGATIVE_INFINITY,
+                    block.getRectangle().getMinY() - bandMargin,
+                    Double.POSITIVE_INFINITY,
+                    block.getRectangle().getMaxY() + bandMargin
+            );
+            for (int bandBlockIndex : bandBlocks) {
+                Block sameYMinBlock = this.blocks.get(bandBlockIndex);
                 if (block.getRectangle()
                         .hasSameYCoordinatesWithYInaccuracy(
                                 sameYMinBlock.getRectangle(),
-                                Properties.yInaccuracy
+                                yInaccuracy
                         ) && !block.equals(sameYMinBlock)) {
                     sameYMinBlocks.add(sameYMinBlock);
                 }
@@ -88,7 +106,7 @@ public class TableSkeleton extends PdfDocumentObject {
                     if (b.getRectangle()
                             .isBeforeHorizontallyWithXInaccuracy(
                                     divider.getRectangle(),
-                                    Properties.xInaccuracy
+                                    xInaccuracy
                             )
                     ) {
                        cell.addObject(b);
@@ -106,7 +124,7 @@ public class TableSkeleton extends PdfDocumentObject {
                 if (b.getRectangle()
                         .isAfterHorizontallyWithXInaccuracy(
                                 lastDivider.getRectangle(),
-                                Properties.xInaccuracy
+                                xInaccuracy
                         )
                 ) {
                     cell.addObject(b);
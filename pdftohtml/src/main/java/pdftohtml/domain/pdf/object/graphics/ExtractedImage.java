@@ -0,0 +1,112 @@
+package pdftohtml.domain.pdf.object.graphics;
+
+import lombok.Getter;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Image of a document, it is extracted once
+ * however many times it is drawn.
+ *
+ * JPEG and JPEG 2000 images keep the bytes of their
+ * streams, the other images keep the decoded image
+ * which is converted to PNG when it is written.
+ * Blank images keep neither, they are not written.
+ * An image found again keeps neither too, it is
+ * written when it is found for the first time.
+ */
+@Getter
+public class ExtractedImage {
+
+  /**
+   * Hash of the image stream, the same for
+   * images with the same content
+   */
+  private final String key;
+
+  private final ImageFormat format;
+
+  private final int width;
+  private final int height;
+
+  /**
+   * The image is transparent or has only one color
+   */
+  private final boolean blank;
+
+  private final byte[] encodedData;
+  private final BufferedImage decodedImage;
+
+  private ExtractedImage(
+          String key,
+          ImageFormat format,
+          int width,
+          int height,
+          boolean blank,
+          byte[] encodedData,
+          BufferedImage decodedImage
+  ) {
+    this.key = key;
+    this.format = format;
+    this.width = width;
+    this.height = height;
+    this.blank = blank;
+    this.encodedData = encodedData;
+    this.decodedImage = decodedImage;
+  }
+
+  /**
+   * @param encodedData - bytes of the image in JPEG or JPEG 2000 format
+   */
+  public static ExtractedImage encoded(String key, ImageFormat format, int width, int height, byte[] encodedData) {
+    if (format == ImageFormat.PNG) {
+      throw new IllegalArgumentException("PNG images are kept decoded");
+    }
+    return new ExtractedImage(key, format, width, height, false, encodedData, null);
+  }
+
+  public static ExtractedImage decoded(String key, BufferedImage decodedImage) {
+    return new ExtractedImage(
+            key,
+            ImageFormat.PNG,
+            decodedImage.getWidth(),
+            decodedImage.getHeight(),
+            false,
+            null,
+            decodedImage
+    );
+  }
+
+  public static ExtractedImage blank(String key, int width, int height) {
+    return new ExtractedImage(key, ImageFormat.PNG, width, height, true, null, null);
+  }
+
+  /**
+   * @return the image without its bytes and pixels, it refers
+   * to the same file as the image which is written
+   */
+  public ExtractedImage withoutData() {
+    return new ExtractedImage(this.key, this.format, this.width, this.height, this.blank, null, null);
+  }
+
+  /**
+   * Write the image in its format
+   *
+   * @param output - stream to write the image to
+   */
+  public void writeTo(OutputStream output) throws IOException {
+    if (this.blank) {
+      throw new IllegalStateException("Blank image " + this.key + " is not kept");
+    }
+    if (this.encodedData != null) {
+      output.write(this.encodedData);
+    } else if (this.decodedImage == null) {
+      throw new IllegalStateException("Data of image " + this.key + " is not kept");
+    } else if (!ImageIO.write(this.decodedImage, this.format.name(), output)) {
+      throw new IOException("No writer of " + this.format + " images");
+    }
+  }
+}
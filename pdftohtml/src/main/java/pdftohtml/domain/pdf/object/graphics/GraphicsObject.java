@@ -5,19 +5,22 @@ import lombok.Setter;
 import pdftohtml.domain.pdf.object.PdfDocumentObject;
 import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
 
-import java.awt.image.BufferedImage;
-
 @Getter
 @Setter
 public class GraphicsObject extends PdfDocumentObject {
 
-  private BufferedImage image;
+  private ExtractedImage image;
+
+  /**
+   * Reference to the written image file
+   */
+  private String imageReference;
 
   public GraphicsObject() {
     this.objectType = PdfDocumentObjectType.GRAPHIC;
   }
 
-  public GraphicsObject(BufferedImage image) {
+  public GraphicsObject(ExtractedImage image) {
     this.image = image;
     this.objectType = PdfDocumentObjectType.GRAPHIC;
   }
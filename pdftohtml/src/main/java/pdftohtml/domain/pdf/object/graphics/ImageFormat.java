@@ -0,0 +1,31 @@
+package pdftohtml.domain.pdf.object.graphics;
+
+import lombok.Getter;
+
+/**
+ * Formats images of a document are extracted in
+ */
+@Getter
+public enum ImageFormat {
+
+  /**
+   * DCTDecode streams copied as they are
+   */
+  JPEG("jpg"),
+
+  /**
+   * JPXDecode streams copied as they are
+   */
+  JPEG2000("jp2"),
+
+  /**
+   * Images converted from the other formats
+   */
+  PNG("png");
+
+  private final String extension;
+
+  ImageFormat(String extension) {
+    this.extension = extension;
+  }
+}
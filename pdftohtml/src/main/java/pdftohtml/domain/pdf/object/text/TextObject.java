@@ -1,12 +1,12 @@
 package pdftohtml.domain.pdf.object.text;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import pdftohtml.domain.pdf.object.PdfDocumentObject;
 import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
 import pdftohtml.common.helpers.TextObjectTypeResolver;
 
-import java.util.Arrays;
 import java.util.Objects;
 
 @Getter
@@ -15,49 +15,38 @@ public class TextObject extends PdfDocumentObject {
 
     private StringBuffer textContent;
 
-    private String fontFamily;
-
-    private String fontName;
-
-    private float fontSize;
-
-    private int fontSizePt;
-
-    private float fontWeight;
-
-    private int[] color;
-
-    private boolean underlinedText;
-
-    private boolean strikeThroughText;
-
-    private boolean italicText;
-
-    private boolean boldText;
-
     /**
-     * -90, 0, 90, 180
-     * left, not_rotated, right, reverted
+     * Style shared with other text objects of the same style
      */
-    private int rotated = 0;
+    private TextStyle style;
 
     private TextObjectType textObjectType;
 
+    /**
+     * Type of the text content read so far,
+     * it reads every appended text once
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private final TextObjectTypeResolver textObjectTypeResolver = new TextObjectTypeResolver();
+
     public TextObject() {
         this.textContent = new StringBuffer();
-        this.color = new int[3];
+        this.style = TextStyle.DEFAULT;
         this.objectType = PdfDocumentObjectType.TEXT;
         this.textObjectType = TextObjectType.TEXT;
     }
 
     public void resolveTextObjectType() {
-        TextObjectTypeResolver resolver = new TextObjectTypeResolver();
-        this.textObjectType = resolver.resolveType(this.textContent.toString());
+        this.textObjectTypeResolver.reset();
+        this.textObjectTypeResolver.append(this.textContent);
+        this.textObjectType = this.textObjectTypeResolver.getType();
     }
 
     public void addToTextContent(String strToAdd) {
         this.textContent.append(strToAdd);
-        resolveTextObjectType();
+        this.textObjectTypeResolver.append(String.valueOf(strToAdd));
+        this.textObjectType = this.textObjectTypeResolver.getType();
     }
 
     public String getText() {
@@ -70,83 +59,85 @@ public class TextObject extends PdfDocumentObject {
     }
 
     public String getFontFamily() {
-        return fontFamily;
+        return style.getFontFamily();
     }
 
     public void setFontFamily(String fontFamily) {
-        this.fontFamily = fontFamily;
+        this.style = style.toBuilder().fontFamily(fontFamily).build();
     }
 
     public String getFontName() {
-        return fontName;
+        return style.getFontName();
     }
 
     public void setFontName(String fontName) {
-        this.fontName = fontName;
+        this.style = style.toBuilder().fontName(fontName).build();
     }
 
     public float getFontSize() {
-        return fontSize;
+        return style.getFontSize();
     }
 
     public void setFontSize(float fontSize) {
-        this.fontSize = fontSize;
+        this.style = style.toBuilder().fontSize(fontSize).build();
     }
 
     public int getFontSizePt() {
-        return fontSizePt;
+        return style.getFontSizePt();
     }
 
     public void setFontSizePt(int fontSizePt) {
-        this.fontSizePt = fontSizePt;
+        this.style = style.toBuilder().fontSizePt(fontSizePt).build();
     }
 
     public float getFontWeight() {
-        return fontWeight;
+        return style.getFontWeight();
     }
 
     public void setFontWeight(float fontWeight) {
-        this.fontWeight = fontWeight;
+        this.style = style.toBuilder().fontWeight(fontWeight).build();
     }
 
     public int[] getColor() {
-        return color;
+        return style.getColor();
     }
 
     public void setColor(int[] color) {
-        this.color = color;
+        this.style = style.toBuilder().color(color.clone()).build();
     }
 
     public void setColor(float[] color) {
         if (color.length == 3) {
-            this.color[0] = Math.round(color[0] * 255.0F);
-            this.color[1] = Math.round(color[1] * 255.0F);
-            this.color[2] = Math.round(color[2] * 255.0F);
+            setColor(new int[]{
+                    Math.round(color[0] * 255.0F),
+                    Math.round(color[1] * 255.0F),
+                    Math.round(color[2] * 255.0F)
+            });
         }
     }
 
     public boolean isUnderlinedText() {
-        return underlinedText;
+        return style.isUnderlinedText();
     }
 
     public void setUnderlinedText(boolean underlinedText) {
-        this.underlinedText = underlinedText;
+        this.style = style.toBuilder().underlinedText(underlinedText).build();
     }
 
     public boolean isStrikeThroughText() {
-        return strikeThroughText;
+        return style.isStrikeThroughText();
     }
 
     public void setStrikeThroughText(boolean strikeThroughText) {
-        this.strikeThroughText = strikeThroughText;
+        this.style = style.toBuilder().strikeThroughText(strikeThroughText).build();
     }
 
     public int getRotated() {
-        return rotated;
+        return style.getRotated();
     }
 
     public void setRotated(int rotated) {
-        this.rotated = rotated;
+        this.style = style.toBuilder().rotated(rotated).build();
     }
 
     public StringBuffer getTextContent() {
@@ -154,19 +145,19 @@ public class TextObject extends PdfDocumentObject {
     }
 
     public boolean isItalicText() {
-        return italicText;
+        return style.isItalicText();
     }
 
     public void setItalicText(boolean italicText) {
-        this.italicText = italicText;
+        this.style = style.toBuilder().italicText(italicText).build();
     }
 
     public boolean isBoldText() {
-        return boldText;
+        return style.isBoldText();
     }
 
     public void setBoldText(boolean boldText) {
-        this.boldText = boldText;
+        this.style = style.toBuilder().boldText(boldText).build();
     }
 
     public TextObjectType getTextObjectType() {
@@ -183,29 +174,19 @@ public class TextObject extends PdfDocumentObject {
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         TextObject that = (TextObject) o;
-        return Float.compare(that.fontSize, fontSize) == 0 &&
-                fontSizePt == that.fontSizePt &&
-                Float.compare(that.fontWeight, fontWeight) == 0 &&
-                underlinedText == that.underlinedText &&
-                strikeThroughText == that.strikeThroughText &&
-                italicText == that.italicText &&
-                boldText == that.boldText &&
-                rotated == that.rotated &&
-                textContent.toString().equals(that.textContent.toString()) &&
-                Objects.equals(fontFamily, that.fontFamily) &&
-                Objects.equals(fontName, that.fontName) &&
-                Arrays.equals(color, that.color) &&
+        return textContent.toString().equals(that.textContent.toString()) &&
+                Objects.equals(style, that.style) &&
                 textObjectType == that.textObjectType;
     }
 
     @Override
     public int hashCode() {
         return (textContent != null ? textContent.toString().hashCode() : 0) +
-                (fontFamily != null ? fontFamily.hashCode() : 0) +
-                (fontName != null ? fontName.hashCode() : 0) +
-                (int) fontSize +
-                fontSizePt +
-                (int) fontWeight +
+                (getFontFamily() != null ? getFontFamily().hashCode() : 0) +
+                (getFontName() != null ? getFontName().hashCode() : 0) +
+                (int) getFontSize() +
+                getFontSizePt() +
+                (int) getFontWeight() +
                 textObjectType.ordinal();
     }
 
@@ -0,0 +1,60 @@
+package pdftohtml.domain.pdf.object.text;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Style of a text object: font, size, color and decorations.
+ *
+ * Styles are immutable, so text objects of the same style share
+ * one instance and equal styles are resolved to the same instance
+ * while a document is processed, then characters of the same style
+ * are found by comparing references.
+ */
+@Getter
+@Builder(toBuilder = true)
+@EqualsAndHashCode
+@ToString
+public final class TextStyle {
+
+    public static final TextStyle DEFAULT = TextStyle.builder().build();
+
+    private final String fontFamily;
+
+    private final String fontName;
+
+    private final float fontSize;
+
+    private final int fontSizePt;
+
+    private final float fontWeight;
+
+    /**
+     * RGB color components
+     */
+    @Builder.Default
+    private final int[] color = new int[3];
+
+    private final boolean underlinedText;
+
+    private final boolean strikeThroughText;
+
+    private final boolean italicText;
+
+    private final boolean boldText;
+
+    /**
+     * -90, 0, 90, 180
+     * left, not_rotated, right, reverted
+     */
+    private final int rotated;
+
+    /**
+     * @return copy of the color components
+     */
+    public int[] getColor() {
+        return this.color.clone();
+    }
+}
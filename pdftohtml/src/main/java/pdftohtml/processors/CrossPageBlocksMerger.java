@@ -0,0 +1,185 @@
+package pdftohtml.processors;
+
+import lombok.Getter;
+import pdftohtml.domain.pdf.object.PdfDocumentObject;
+import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.container.PageLine;
+import pdftohtml.domain.pdf.object.text.TextObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unites paragraphs continued on the next page and passes
+ * data blocks of pages to the next consumer in page order.
+ *
+ * Blocks of a page are kept only until blocks of the next page
+ * come, then the last text block of the page is compared with
+ * the first text block of the next page. If the paragraph is not
+ * finished and the next page continues it with text of the same
+ * style, lines of the last block are moved to the beginning of
+ * the first block of the next page, so the paragraph is passed
+ * as one block. A paragraph continued on several pages moves
+ * from page to page, and no more than one page is kept waiting.
+ * {@link #finish()} passes the last page.
+ */
+public class CrossPageBlocksMerger implements PageBlocksConsumer {
+
+    /**
+     * Characters ending a finished paragraph
+     */
+    private static final String PARAGRAPH_END_CHARACTERS = ".!?:";
+
+    /**
+     * Maximum difference of font sizes of text of the same paragraph
+     */
+    private static final float FONT_SIZE_INACCURACY = 0.5f;
+
+    private final PageBlocksConsumer consumer;
+
+    private int previousPageIndex;
+
+    private List<Block> previousPageBlocks;
+
+    @Getter
+    private int mergedBlocksCount;
+
+    /**
+     * @param consumer - consumer of blocks of pages after merging
+     */
+    public CrossPageBlocksMerger(PageBlocksConsumer consumer) {
+        this.consumer = consumer;
+    }
+
+    @Override
+    public void accept(int pageIndex, List<Block> blocks) throws IOException {
+        List<Block> pageBlocks = new ArrayList<>(blocks);
+        if (this.previousPageBlocks != null) {
+            Block lastBlock = findLastTextBlock(this.previousPageBlocks);
+            Block firstBlock = findFirstTextBlock(pageBlocks);
+            if (lastBlock != null && firstBlock != null && isContinuedBy(lastBlock, firstBlock)) {
+                firstBlock.addPreviousPageLines(lastBlock.getLines());
+                this.previousPageBlocks.removeIf(block -> block == lastBlock);
+                this.mergedBlocksCount++;
+            }
+            passPreviousPage();
+        }
+        this.previousPageIndex = pageIndex;
+        this.previousPageBlocks = pageBlocks;
+    }
+
+    /**
+     * Pass the last page to the next consumer
+     */
+    public void finish() throws IOException {
+        if (this.previousPageBlocks != null) {
+            passPreviousPage();
+        }
+    }
+
+    private void passPreviousPage() throws IOException {
+        List<Block> blocks = this.previousPageBlocks;
+        this.previousPageBlocks = null;
+        this.consumer.accept(this.previousPageIndex, blocks);
+    }
+
+    /**
+     * The paragraph of the first block is not finished and
+     * the second block goes on with text of the same style
+     * starting with a lowercase letter
+     */
+    private static boolean isContinuedBy(Block block, Block nextBlock) {
+        // strip removes the same characters as isBlank of the
+        // line lookup, so the texts of the found lines are not empty
+        String lastLineText = getLastLine(block).getText().strip();
+        if (PARAGRAPH_END_CHARACTERS.indexOf(lastLineText.charAt(lastLineText.length() - 1)) >= 0) {
+            return false;
+        }
+        String firstLineText = getFirstLine(nextBlock).getText().strip();
+        if (!Character.isLowerCase(firstLineText.charAt(0))) {
+            return false;
+        }
+        TextObject lastText = getLastTextObject(getLastLine(block));
+        TextObject firstText = getFirstTextObject(getFirstLine(nextBlock));
+        return lastText != null && firstText != null &&
+                Math.abs(lastText.getFontSize() - firstText.getFontSize()) <= FONT_SIZE_INACCURACY &&
+                lastText.isBoldText() == firstText.isBoldText() &&
+                lastText.isItalicText() == firstText.isItalicText();
+    }
+
+    /**
+     * @return text block ending lowest on the page, null if there is no text
+     */
+    private static Block findLastTextBlock(List<Block> blocks) {
+        Block lastBlock = null;
+        for (Block block : blocks) {
+            if (hasText(block) &&
+                    (lastBlock == null || block.getRectangle().getMaxY() > lastBlock.getRectangle().getMaxY())) {
+                lastBlock = block;
+            }
+        }
+        return lastBlock;
+    }
+
+    /**
+     * @return text block starting highest on the page, null if there is no text
+     */
+    private static Block findFirstTextBlock(List<Block> blocks) {
+        Block firstBlock = null;
+        for (Block block : blocks) {
+            if (hasText(block) &&
+                    (firstBlock == null || block.getRectangle().getMinY() < firstBlock.getRectangle().getMinY())) {
+                firstBlock = block;
+            }
+        }
+        return firstBlock;
+    }
+
+    /**
+     * Blocks without letters, such as page numbers
+     * in headers and footers, are not paragraphs
+     */
+    private static boolean hasText(Block block) {
+        return !PdfDocumentObjectType.GRAPHIC.equals(block.getObjectType()) &&
+                block.getLines().stream().anyMatch(line -> line.getText().chars().anyMatch(Character::isLetter));
+    }
+
+    private static PageLine getFirstLine(Block block) {
+        return block.getLines().stream()
+                .filter(line -> !line.getText().isBlank())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static PageLine getLastLine(Block block) {
+        List<PageLine> lines = block.getLines();
+        for (int lineIndex = lines.size() - 1; lineIndex >= 0; lineIndex--) {
+            if (!lines.get(lineIndex).getText().isBlank()) {
+                return lines.get(lineIndex);
+            }
+        }
+        throw new IllegalArgumentException("Block has no text");
+    }
+
+    private static TextObject getFirstTextObject(PageLine line) {
+        for (PdfDocumentObject object : line.getObjects()) {
+            if (object instanceof TextObject && !((TextObject) object).getText().isBlank()) {
+                return (TextObject) object;
+            }
+        }
+        return null;
+    }
+
+    private static TextObject getLastTextObject(PageLine line) {
+        List<PdfDocumentObject> objects = line.getObjects();
+        for (int objectIndex = objects.size() - 1; objectIndex >= 0; objectIndex--) {
+            PdfDocumentObject object = objects.get(objectIndex);
+            if (object instanceof TextObject && !((TextObject) object).getText().isBlank()) {
+                return (TextObject) object;
+            }
+        }
+        return null;
+    }
+}
@@ -1,38 +1,214 @@
 package pdftohtml.processors;
 
+import lombok.Getter;
+import lombok.Setter;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.common.helpers.testing.DebugLayer;
+import pdftohtml.common.helpers.testing.DebugOverlay;
+import pdftohtml.common.metrics.MetricsRegistry;
+import pdftohtml.domain.pdf.object.container.Block;
 import pdftohtml.domain.pdf.object.deprecated.MediateObject;
+import pdftohtml.processors.images.ImageSink;
+import pdftohtml.processors.pdf.document.DocumentLoader;
 import pdftohtml.processors.pdf.objects.composite.PageDataBlocksProcessor;
+import pdftohtml.processors.html.HtmlPageWriter;
 import pdftohtml.processors.html.HtmlProcessor;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 public class MainProcessor {
 
     private List<MediateObject> mediateObjects = new ArrayList<>();
 
+    /**
+     * Number of threads converting document pages,
+     * if it is 1, pages are converted one by one
+     * in the calling thread
+     */
+    @Getter
+    private int parallelism;
+
+    /**
+     * Loader of documents, it defines how much
+     * main memory a loaded document may use
+     */
+    @Getter
+    @Setter
+    private DocumentLoader documentLoader = new DocumentLoader();
+
+    /**
+     * Registry of stage timers and page counters of the conversion
+     */
+    @Getter
+    @Setter
+    private MetricsRegistry metricsRegistry = MetricsRegistry.getDefault();
+
+    /**
+     * Sink of images of converted documents,
+     * images are not written if it is not set
+     */
+    @Getter
+    @Setter
+    private ImageSink imageSink;
+
+    /**
+     * Layers of the debug overlay of converted documents, no overlay
+     * is collected if it is empty. It is set by the
+     * {@value DebugLayer#LAYERS_PROPERTY} system property by default.
+     */
+    @Getter
+    @Setter
+    private Set<DebugLayer> debugLayers = DebugLayer.fromSystemProperty();
+
+    /**
+     * Directory of debug overlay documents, an overlay
+     * document is named after the converted document
+     */
+    @Getter
+    @Setter
+    private File debugDirectory = new File(System.getProperty("java.io.tmpdir"));
+
+    /**
+     * Whether a paragraph continued on the next page
+     * is passed to consumers as one block of that page
+     */
+    @Getter
+    @Setter
+    private boolean crossPageMerging = true;
+
     public MainProcessor() {
+        this(1);
     }
 
-    public void process(String path) throws IOException {
-        File file = new File(path);
-        PDDocument document = PDDocument.load(file);
-        PageDataBlocksProcessor pageDataBlocksProcessor = new PageDataBlocksProcessor(document);
-        for (int pageIndex = 1; pageIndex <= document.getPages().getCount(); pageIndex++) {
-            pageDataBlocksProcessor.processPage(pageIndex);
-            //this.processor.processMiddlewareObjects(pageLinesProcessor.getSkeletons());
-
-            // TODO
-            // here must be union of objects of current page with objects of previous page
+    public MainProcessor(int parallelism) {
+        setParallelism(parallelism);
+    }
 
-            //middlewareObjects.addAll(this.processor.getPageMiddlewareObjects());
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1");
         }
+        this.parallelism = parallelism;
+    }
+
+    public void process(String path) throws IOException {
+        // blocks of a page are dropped as soon as the page is done
+        processPages(new File(path), (pageIndex, blocks) -> {
+        });
+        //this.processor.processMiddlewareObjects(pageLinesProcessor.getSkeletons());
+
+        //middlewareObjects.addAll(this.processor.getPageMiddlewareObjects());
         HtmlProcessor htmlProcessor = new HtmlProcessor();
         String result = htmlProcessor.process(mediateObjects);
         //System.out.println(result);
     }
 
+    /**
+     * Extract data blocks of all document pages
+     *
+     * @param file - pdf document file
+     * @return list of data blocks of every page in page order
+     */
+    public List<List<Block>> processPages(File file) throws IOException {
+        List<List<Block>> pagesBlocks = new ArrayList<>();
+        processPages(file, (pageIndex, blocks) -> pagesBlocks.add(blocks));
+        return pagesBlocks;
+    }
+
+    /**
+     * Extract data blocks of document pages and pass
+     * them to the consumer page by page in page order
+     *
+     * @param file     - pdf document file
+     * @param consumer - consumer of data blocks of every page
+     */
+    public void processPages(File file, PageBlocksConsumer consumer) throws IOException {
+        ConversionContext context = new ConversionContext();
+        context.setImageSink(this.imageSink);
+        if (!this.debugLayers.isEmpty()) {
+            context.setDebugOverlay(new DebugOverlay(this.debugLayers));
+        }
+        processPages(file, context, consumer);
+    }
+
+    /**
+     * Extract data blocks of document pages with the given
+     * tolerances and pass them to the consumer page by page
+     * in page order, statistics of the document are gathered
+     * to the context. Paragraphs continued on the next page
+     * are merged if cross-page merging is on, then a page is
+     * passed to the consumer when the next page is extracted.
+     *
+     * @param file     - pdf document file
+     * @param context  - context of this conversion only
+     * @param consumer - consumer of data blocks of every page
+     */
+    public void processPages(File file, ConversionContext context, PageBlocksConsumer consumer) throws IOException {
+        CrossPageBlocksMerger merger = this.crossPageMerging ? new CrossPageBlocksMerger(consumer) : null;
+        PageBlocksConsumer pagesConsumer = merger != null ? merger : consumer;
+        if (this.parallelism > 1) {
+            new ParallelPagesProcessor(
+                    file, this.parallelism, this.documentLoader, this.metricsRegistry, context
+            ).process(pagesConsumer);
+        } else {
+            try (PDDocument document = this.documentLoader.load(file)) {
+                PageDataBlocksProcessor pageDataBlocksProcessor =
+                        new PageDataBlocksProcessor(document, this.metricsRegistry, context);
+                for (int pageIndex = 1; pageIndex <= document.getPages().getCount(); pageIndex++) {
+                    pagesConsumer.accept(pageIndex, pageDataBlocksProcessor.processPage(pageIndex));
+                }
+            }
+        }
+        if (merger != null) {
+            merger.finish();
+        }
+        if (context.getDebugOverlay() != null) {
+            saveDebugOverlay(file, context.getDebugOverlay());
+        }
+    }
+
+    /**
+     * Draw the debug overlay on a new copy of the document,
+     * so the converted document is not changed
+     */
+    private void saveDebugOverlay(File file, DebugOverlay overlay) throws IOException {
+        File debugFile = new File(this.debugDirectory, file.getName() + ".debug.pdf");
+        try (PDDocument document = this.documentLoader.load(file)) {
+            overlay.save(document, debugFile);
+        }
+    }
+
+    /**
+     * Convert a document to html, every page is written
+     * as soon as its data blocks are extracted
+     *
+     * @param file   - pdf document file
+     * @param writer - writer for the html, it is closed at the end
+     */
+    public void convert(File file, Writer writer) throws IOException {
+        try (HtmlPageWriter htmlPageWriter = new HtmlPageWriter(writer)) {
+            processPages(file, htmlPageWriter::writePage);
+        }
+    }
+
+    /**
+     * Convert a document to html in UTF-8, every page is written
+     * as soon as its data blocks are extracted
+     *
+     * @param file         - pdf document file
+     * @param outputStream - stream for the html, it is closed at the end
+     */
+    public void convert(File file, OutputStream outputStream) throws IOException {
+        try (HtmlPageWriter htmlPageWriter = new HtmlPageWriter(outputStream)) {
+            processPages(file, htmlPageWriter::writePage);
+        }
+    }
+
 }
@@ -0,0 +1,20 @@
+package pdftohtml.processors;
+
+import pdftohtml.domain.pdf.object.container.Block;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Receives final data blocks of document pages in page order
+ */
+@FunctionalInterface
+public interface PageBlocksConsumer {
+
+    /**
+     * @param pageIndex - index of the page, starting with 1
+     * @param blocks    - data blocks of the page
+     */
+    void accept(int pageIndex, List<Block> blocks) throws IOException;
+
+}
@@ -0,0 +1,208 @@
+package pdftohtml.processors;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.common.metrics.MetricsRegistry;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.processors.pdf.document.DocumentLoader;
+import pdftohtml.processors.pdf.objects.composite.PageDataBlocksProcessor;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Extracts data blocks of document pages on a pool of worker threads.
+ *
+ * PDFBox document objects are not thread-safe, so every worker
+ * loads its own {@link PDDocument} and creates its own
+ * {@link PageDataBlocksProcessor}. Workers take the next page
+ * to process from a shared counter and put the result
+ * to the slot of this page, so results stay in page order.
+ * Workers may get only a few pages ahead of the page
+ * passed to the consumer, so results of all the pages
+ * are never kept in memory at the same time.
+ */
+public class ParallelPagesProcessor {
+
+    private final File file;
+
+    private final int parallelism;
+
+    private final DocumentLoader documentLoader;
+
+    private final MetricsRegistry metricsRegistry;
+
+    /**
+     * Context of the conversion shared by all the workers
+     */
+    private final ConversionContext context;
+
+    public ParallelPagesProcessor(File file, int parallelism) {
+        this(file, parallelism, new DocumentLoader());
+    }
+
+    public ParallelPagesProcessor(File file, int parallelism, DocumentLoader documentLoader) {
+        this(file, parallelism, documentLoader, MetricsRegistry.getDefault());
+    }
+
+    public ParallelPagesProcessor(
+            File file,
+            int parallelism,
+            DocumentLoader documentLoader,
+            MetricsRegistry metricsRegistry
+    ) {
+        this(file, parallelism, documentLoader, metricsRegistry, new ConversionContext());
+    }
+
+    public ParallelPagesProcessor(
+            File file,
+            int parallelism,
+            DocumentLoader documentLoader,
+            MetricsRegistry metricsRegistry,
+            ConversionContext context
+    ) {
+        this.file = file;
+        this.parallelism = parallelism;
+        this.documentLoader = documentLoader;
+        this.metricsRegistry = metricsRegistry;
+        this.context = context;
+    }
+
+    /**
+     * Extract data blocks of all document pages
+     *
+     * @return list of data blocks of every page in page order
+     */
+    public List<List<Block>> process() throws IOException {
+        List<List<Block>> pagesBlocks = new ArrayList<>();
+        process((pageIndex, blocks) -> pagesBlocks.add(blocks));
+        return pagesBlocks;
+    }
+
+    /**
+     * Extract data blocks of all document pages and pass
+     * them to the consumer in page order on the calling thread
+     *
+     * @param consumer - consumer of data blocks of every page
+     */
+    public void process(PageBlocksConsumer consumer) throws IOException {
+        PDDocument document = this.documentLoader.load(this.file);
+        int pagesCount = document.getNumberOfPages();
+        int workersCount = Math.max(1, Math.min(this.parallelism, pagesCount));
+
+        AtomicInteger nextPageIndex = new AtomicInteger(1);
+        AtomicReferenceArray<CompletableFuture<List<Block>>> pagesBlocks = new AtomicReferenceArray<>(pagesCount);
+        for (int pageIndex = 0; pageIndex < pagesCount; pageIndex++) {
+            pagesBlocks.set(pageIndex, new CompletableFuture<>());
+        }
+        // number of pages which are processed or wait
+        // for the consumer, it bounds pages kept in memory
+        Semaphore window = new Semaphore(2 * workersCount);
+
+        ExecutorService executor = Executors.newFixedThreadPool(workersCount);
+        try {
+            // the first worker reuses the document loaded
+            // to count pages, the others load their own copies
+            executor.submit(() -> processPages(document, nextPageIndex, pagesBlocks, window));
+            for (int worker = 1; worker < workersCount; worker++) {
+                executor.submit(() -> processPages(null, nextPageIndex, pagesBlocks, window));
+            }
+            for (int pageIndex = 1; pageIndex <= pagesCount; pageIndex++) {
+                List<Block> blocks = waitForPage(pagesBlocks.get(pageIndex - 1));
+                pagesBlocks.set(pageIndex - 1, null);
+                window.release();
+                consumer.accept(pageIndex, blocks);
+            }
+        } finally {
+            executor.shutdownNow();
+            // a worker stopped in the middle of a page may
+            // still use the image sink of the conversion
+            awaitTermination(executor);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Void processPages(
+            PDDocument loadedDocument,
+            AtomicInteger nextPageIndex,
+            AtomicReferenceArray<CompletableFuture<List<Block>>> pagesBlocks,
+            Semaphore window
+    ) throws IOException {
+        try (PDDocument document = loadedDocument != null ? loadedDocument : this.documentLoader.load(this.file)) {
+            PageDataBlocksProcessor pageDataBlocksProcessor = new PageDataBlocksProcessor(
+                    document, this.metricsRegistry, this.context
+            );
+            while (true) {
+                window.acquire();
+                int pageIndex = nextPageIndex.getAndIncrement();
+                if (pageIndex > pagesBlocks.length()) {
+                    window.release();
+                    break;
+                }
+                pagesBlocks.get(pageIndex - 1).complete(pageDataBlocksProcessor.processPage(pageIndex));
+            }
+        } catch (InterruptedException e) {
+            // the consumer has stopped
+            Thread.currentThread().interrupt();
+        } catch (Throwable e) {
+            // stop the other workers from taking new pages and
+            // fail all the pages which are not ready yet, errors
+            // too, otherwise the consumer waits for them forever
+            nextPageIndex.set(pagesBlocks.length() + 1);
+            for (int pageIndex = 0; pageIndex < pagesBlocks.length(); pageIndex++) {
+                CompletableFuture<List<Block>> page = pagesBlocks.get(pageIndex);
+                if (page != null) {
+                    page.completeExceptionally(e);
+                }
+            }
+            throw e;
+        }
+        return null;
+    }
+
+    private List<Block> waitForPage(CompletableFuture<List<Block>> page) throws IOException {
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Pages processing was interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package pdftohtml.processors.batch;
+
+import lombok.Getter;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import pdftohtml.processors.pdf.document.DocumentLoader;
+
+import java.io.File;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Document of a batch with the estimated cost of its conversion
+ */
+@Getter
+class BatchDocument {
+
+    /**
+     * Cost of a page in bytes of content stream,
+     * it accounts the work done for every page
+     * whatever its content is
+     */
+    static final long PAGE_COST = 16 * 1024;
+
+    private final File file;
+
+    private final File outputFile;
+
+    private int pagesCount;
+
+    private long contentStreamBytes;
+
+    BatchDocument(File file, File outputFile) {
+        this.file = file;
+        this.outputFile = outputFile;
+    }
+
+    /**
+     * Read page count and encoded length of page content streams,
+     * streams are not decoded. If the document can not be loaded,
+     * the file length is used as the content length,
+     * the error is reported when the document is converted.
+     */
+    void estimate(DocumentLoader documentLoader) {
+        try (PDDocument document = documentLoader.load(this.file)) {
+            this.pagesCount = document.getNumberOfPages();
+            long bytes = 0;
+            for (PDPage page : document.getPages()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("Estimation was interrupted");
+                }
+                bytes += getContentLength(page.getCOSObject().getDictionaryObject(COSName.CONTENTS));
+            }
+            this.contentStreamBytes = bytes;
+        } catch (Throwable e) {
+            estimateByFileLength();
+        }
+    }
+
+    /**
+     * Use the file length as the content length
+     * of a document which can not be loaded
+     */
+    void estimateByFileLength() {
+        this.pagesCount = 0;
+        this.contentStreamBytes = this.file.length();
+    }
+
+    long getCost() {
+        return this.pagesCount * PAGE_COST + this.contentStreamBytes;
+    }
+
+    private static long getContentLength(COSBase contents) {
+        if (contents instanceof COSStream) {
+            return ((COSStream) contents).getLength();
+        }
+        long length = 0;
+        if (contents instanceof COSArray) {
+            for (COSBase item : (COSArray) contents) {
+                COSBase object = item != null ? item.getCOSObject() : null;
+                if (object instanceof COSStream) {
+                    length += ((COSStream) object).getLength();
+                }
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,45 @@
+package pdftohtml.processors.batch;
+
+import lombok.Getter;
+
+import java.io.File;
+
+/**
+ * Result of conversion of one document of a batch
+ */
+@Getter
+public class BatchDocumentResult {
+
+    public enum Status {
+        CONVERTED,
+        FAILED,
+        TIMED_OUT
+    }
+
+    private final File file;
+
+    private final File outputFile;
+
+    private final Status status;
+
+    /**
+     * Number of pages written to the output
+     */
+    private final int pagesCount;
+
+    private final long elapsedNanos;
+
+    /**
+     * Cause of the failure, null if the document is converted
+     */
+    private final Throwable error;
+
+    BatchDocumentResult(File file, File outputFile, Status status, int pagesCount, long elapsedNanos, Throwable error) {
+        this.file = file;
+        this.outputFile = outputFile;
+        this.status = status;
+        this.pagesCount = pagesCount;
+        this.elapsedNanos = elapsedNanos;
+        this.error = error;
+    }
+}
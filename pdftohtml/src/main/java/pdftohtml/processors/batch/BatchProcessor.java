@@ -0,0 +1,380 @@
+package pdftohtml.processors.batch;
+
+import lombok.Getter;
+import lombok.Setter;
+import pdftohtml.processors.MainProcessor;
+import pdftohtml.processors.html.HtmlPageWriter;
+import pdftohtml.processors.images.ImageSink;
+import pdftohtml.processors.pdf.document.DocumentLoader;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Converts many documents to html concurrently.
+ *
+ * Documents are converted on a work-stealing pool, one document
+ * per task, so a worker which finished its document takes the
+ * next one while others are still busy. Before the conversion
+ * the cost of every document is estimated by its page count
+ * and size of page content streams, and the most expensive
+ * documents are scheduled first, so the run does not end
+ * with a single big document converted by one worker.
+ *
+ * With a timeout every document is loaded, estimated and converted
+ * on a document thread while a worker of the pool waits for it,
+ * there is one document thread per worker. When the timeout
+ * expires the document thread is interrupted, the conversion stops
+ * at the next page or stage of a page, and the worker waits for it
+ * to stop before it goes on with the next document.
+ * Any failure of a document, errors too, fails only this document.
+ * Output of a failed or timed out document is deleted.
+ *
+ * Images of all the documents are written to the images
+ * directory of the output directory while the documents
+ * are converted, an image of several documents is written once.
+ */
+@Getter
+public class BatchProcessor {
+
+    private static final String PDF_EXTENSION = ".pdf";
+
+    private static final String HTML_EXTENSION = ".html";
+
+    static final String IMAGES_DIRECTORY = "images";
+
+    /**
+     * Number of documents converted at the same time
+     */
+    private int parallelism;
+
+    /**
+     * Maximum conversion time of a document in milliseconds,
+     * 0 means no limit
+     */
+    private long documentTimeoutMillis = 0;
+
+    /**
+     * Number of threads converting pages of one document
+     */
+    private int pageParallelism = 1;
+
+    @Setter
+    private DocumentLoader documentLoader = new DocumentLoader();
+
+    public BatchProcessor() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchProcessor(int parallelism) {
+        setParallelism(parallelism);
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be >= 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public void setDocumentTimeoutMillis(long documentTimeoutMillis) {
+        if (documentTimeoutMillis < 0) {
+            throw new IllegalArgumentException("documentTimeoutMillis must be >= 0");
+        }
+        this.documentTimeoutMillis = documentTimeoutMillis;
+    }
+
+    public void setPageParallelism(int pageParallelism) {
+        if (pageParallelism < 1) {
+            throw new IllegalArgumentException("pageParallelism must be >= 1");
+        }
+        this.pageParallelism = pageParallelism;
+    }
+
+    /**
+     * Find pdf documents of a directory and its subdirectories
+     * or read paths of documents from a manifest file.
+     * The manifest has one path per line, relative paths
+     * are resolved against the directory of the manifest,
+     * empty lines and lines starting with # are skipped.
+     *
+     * @param input - directory or manifest file
+     * @return document files
+     */
+    public static List<File> findDocuments(File input) throws IOException {
+        if (input.isDirectory()) {
+            try (Stream<Path> paths = Files.walk(input.toPath())) {
+                return paths
+                        .filter(Files::isRegularFile)
+                        .filter(path -> path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(PDF_EXTENSION))
+                        .sorted()
+                        .map(Path::toFile)
+                        .collect(Collectors.toList());
+            }
+        }
+        Path manifestDirectory = input.getAbsoluteFile().toPath().getParent();
+        List<File> documents = new ArrayList<>();
+        for (String line : Files.readAllLines(input.toPath(), StandardCharsets.UTF_8)) {
+            String path = line.trim();
+            if (!path.isEmpty() && !path.startsWith("#")) {
+                documents.add(manifestDirectory.resolve(path).toFile());
+            }
+        }
+        return documents;
+    }
+
+    /**
+     * Convert documents of a directory or a manifest file
+     *
+     * @param input           - directory or manifest file
+     * @param outputDirectory - directory for html files
+     */
+    public BatchSummary process(File input, File outputDirectory) throws IOException {
+        return process(findDocuments(input), outputDirectory);
+    }
+
+    /**
+     * Convert documents to html files of the output directory,
+     * a html file is named after its document
+     *
+     * @param files           - pdf document files
+     * @param outputDirectory - directory for html files
+     * @return results of all the documents in the order of the files
+     */
+    public BatchSummary process(List<File> files, File outputDirectory) throws IOException {
+        Files.createDirectories(outputDirectory.toPath());
+        List<BatchDocument> documents = createDocuments(files, outputDirectory);
+
+        long start = System.nanoTime();
+        // FIFO mode, so tasks are taken in the order they are submitted
+        ForkJoinPool pool = new ForkJoinPool(
+                this.parallelism, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true
+        );
+        ExecutorService documentThreads = this.documentTimeoutMillis > 0 ? createDocumentThreads() : null;
+        try (ImageSink imageSink = new ImageSink(
+                new File(outputDirectory, IMAGES_DIRECTORY), IMAGES_DIRECTORY + "/"
+        )) {
+            try {
+                List<ForkJoinTask<?>> estimations = new ArrayList<>();
+                for (BatchDocument document : documents) {
+                    estimations.add(pool.submit(() -> estimate(document, documentThreads)));
+                }
+                estimations.forEach(ForkJoinTask::join);
+
+                List<Integer> schedule = IntStream.range(0, documents.size())
+                        .boxed()
+                        .sorted(Comparator.comparingLong((Integer index) -> documents.get(index).getCost()).reversed())
+                        .collect(Collectors.toList());
+                List<ForkJoinTask<BatchDocumentResult>> conversions = new ArrayList<>(Collections.nCopies(documents.size(), null));
+                for (int index : schedule) {
+                    BatchDocument document = documents.get(index);
+                    conversions.set(index, pool.submit(() -> convert(document, imageSink, documentThreads)));
+                }
+
+                List<BatchDocumentResult> results = new ArrayList<>();
+                for (ForkJoinTask<BatchDocumentResult> conversion : conversions) {
+                    results.add(conversion.join());
+                }
+                return new BatchSummary(results, System.nanoTime() - start);
+            } finally {
+                // conversions which are being stopped still
+                // store images, the sink is closed after them
+                pool.shutdownNow();
+                awaitTermination(pool);
+                if (documentThreads != null) {
+                    documentThreads.shutdownNow();
+                    awaitTermination(documentThreads);
+                }
+            }
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A worker waits for its document thread until it stops,
+     * so there are no more busy document threads than workers
+     */
+    private ExecutorService createDocumentThreads() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "batch-document-" + threadNumber.incrementAndGet());
+            // a thread stuck in a document does not keep the JVM running
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void estimate(BatchDocument document, ExecutorService documentThreads) {
+        if (documentThreads == null) {
+            document.estimate(this.documentLoader);
+            return;
+        }
+        DocumentTask<Void> estimation = new DocumentTask<>(() -> {
+            document.estimate(this.documentLoader);
+            return null;
+        });
+        documentThreads.execute(estimation);
+        try {
+            if (!estimation.await(this.documentTimeoutMillis)) {
+                // the conversion of the document reports the problem
+                document.estimateByFileLength();
+            }
+        } catch (InterruptedException e) {
+            document.estimateByFileLength();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private BatchDocumentResult convert(BatchDocument document, ImageSink imageSink, ExecutorService documentThreads) {
+        long start = System.nanoTime();
+        AtomicInteger pagesWritten = new AtomicInteger();
+        if (documentThreads == null) {
+            return convert(document, imageSink, start, pagesWritten);
+        }
+        DocumentTask<BatchDocumentResult> conversion = new DocumentTask<>(
+                () -> convert(document, imageSink, start, pagesWritten)
+        );
+        documentThreads.execute(conversion);
+        boolean finished;
+        InterruptedException interruption = null;
+        try {
+            finished = conversion.await(this.documentTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finished = false;
+            interruption = e;
+        }
+        // a stopped conversion has deleted its output
+        // when it failed, it returns its failures as results
+        BatchDocumentResult result = conversion.getResult();
+        if (finished || result != null && result.getStatus() == BatchDocumentResult.Status.CONVERTED) {
+            return result;
+        }
+        if (interruption != null) {
+            return createResult(document, BatchDocumentResult.Status.FAILED, pagesWritten.get(), start, interruption);
+        }
+        return createResult(
+                document, BatchDocumentResult.Status.TIMED_OUT, pagesWritten.get(), start, createTimeoutException(document)
+        );
+    }
+
+    private BatchDocumentResult convert(
+            BatchDocument document,
+            ImageSink imageSink,
+            long start,
+            AtomicInteger pagesWritten
+    ) {
+        try {
+            MainProcessor mainProcessor = new MainProcessor(this.pageParallelism);
+            mainProcessor.setDocumentLoader(this.documentLoader);
+            mainProcessor.setImageSink(imageSink);
+            try (HtmlPageWriter htmlPageWriter = new HtmlPageWriter(new FileOutputStream(document.getOutputFile()))) {
+                mainProcessor.processPages(document.getFile(), (pageIndex, blocks) -> {
+                    checkTimeout(document, start);
+                    htmlPageWriter.writePage(pageIndex, blocks);
+                    pagesWritten.incrementAndGet();
+                });
+            }
+            return createResult(document, BatchDocumentResult.Status.CONVERTED, pagesWritten.get(), start, null);
+        } catch (DocumentTimeoutException e) {
+            document.getOutputFile().delete();
+            return createResult(document, BatchDocumentResult.Status.TIMED_OUT, pagesWritten.get(), start, e);
+        } catch (Throwable e) {
+            // an error of a broken document, e.g. a stack overflow,
+            // fails only this document
+            document.getOutputFile().delete();
+            return createResult(document, BatchDocumentResult.Status.FAILED, pagesWritten.get(), start, e);
+        }
+    }
+
+    /**
+     * The document thread is interrupted when the timeout
+     * expires, then it stops before the next page is written
+     */
+    private void checkTimeout(BatchDocument document, long start) throws DocumentTimeoutException {
+        if (Thread.currentThread().isInterrupted() || this.documentTimeoutMillis > 0
+                && System.nanoTime() - start > TimeUnit.MILLISECONDS.toNanos(this.documentTimeoutMillis)) {
+            throw createTimeoutException(document);
+        }
+    }
+
+    private DocumentTimeoutException createTimeoutException(BatchDocument document) {
+        return new DocumentTimeoutException(
+                document.getFile() + " is not converted in " + this.documentTimeoutMillis + " ms"
+        );
+    }
+
+    private BatchDocumentResult createResult(
+            BatchDocument document,
+            BatchDocumentResult.Status status,
+            int pagesCount,
+            long start,
+            Throwable error
+    ) {
+        return new BatchDocumentResult(
+                document.getFile(),
+                document.getOutputFile(),
+                status,
+                pagesCount,
+                System.nanoTime() - start,
+                error
+        );
+    }
+
+    /**
+     * Output files are named after documents, if documents
+     * of different directories have the same name,
+     * a number is added to the name
+     */
+    private List<BatchDocument> createDocuments(List<File> files, File outputDirectory) {
+        List<BatchDocument> documents = new ArrayList<>();
+        Set<String> usedNames = new HashSet<>();
+        for (File file : files) {
+            String name = file.getName();
+            if (name.toLowerCase(Locale.ROOT).endsWith(PDF_EXTENSION)) {
+                name = name.substring(0, name.length() - PDF_EXTENSION.length());
+            }
+            String outputName = name;
+            for (int number = 1; !usedNames.add(outputName.toLowerCase(Locale.ROOT)); number++) {
+                outputName = name + "_" + number;
+            }
+            documents.add(new BatchDocument(file, new File(outputDirectory, outputName + HTML_EXTENSION)));
+        }
+        return documents;
+    }
+}
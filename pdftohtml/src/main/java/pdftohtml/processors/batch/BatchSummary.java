@@ -0,0 +1,91 @@
+package pdftohtml.processors.batch;
+
+import lombok.Getter;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Results of a batch run and its throughput
+ */
+@Getter
+public class BatchSummary {
+
+    private final List<BatchDocumentResult> results;
+
+    private final long elapsedNanos;
+
+    private final int convertedCount;
+
+    private final int failedCount;
+
+    private final int timedOutCount;
+
+    private final long pagesCount;
+
+    BatchSummary(List<BatchDocumentResult> results, long elapsedNanos) {
+        this.results = Collections.unmodifiableList(results);
+        this.elapsedNanos = elapsedNanos;
+        int converted = 0;
+        int failed = 0;
+        int timedOut = 0;
+        long pages = 0;
+        for (BatchDocumentResult result : results) {
+            switch (result.getStatus()) {
+                case CONVERTED:
+                    converted++;
+                    break;
+                case FAILED:
+                    failed++;
+                    break;
+                case TIMED_OUT:
+                    timedOut++;
+                    break;
+            }
+            pages += result.getPagesCount();
+        }
+        this.convertedCount = converted;
+        this.failedCount = failed;
+        this.timedOutCount = timedOut;
+        this.pagesCount = pages;
+    }
+
+    public int getDocumentsCount() {
+        return this.results.size();
+    }
+
+    /**
+     * Pages written per second, pages of failed
+     * documents written before the failure are counted too
+     */
+    public double getPagesPerSecond() {
+        return perSecond(this.pagesCount);
+    }
+
+    /**
+     * Converted documents per second
+     */
+    public double getDocumentsPerSecond() {
+        return perSecond(this.convertedCount);
+    }
+
+    private double perSecond(long count) {
+        return this.elapsedNanos > 0 ? count * 1e9 / this.elapsedNanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                Locale.ROOT,
+                "Documents: %d (converted %d, failed %d, timed out %d)%n" +
+                        "Pages: %d%n" +
+                        "Time: %.1f s%n" +
+                        "Throughput: %.1f pages/s, %.2f docs/s",
+                getDocumentsCount(), this.convertedCount, this.failedCount, this.timedOutCount,
+                this.pagesCount,
+                this.elapsedNanos / 1e9,
+                getPagesPerSecond(), getDocumentsPerSecond()
+        );
+    }
+}
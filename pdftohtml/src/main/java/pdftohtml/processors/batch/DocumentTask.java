@@ -0,0 +1,106 @@
+package pdftohtml.processors.batch;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Work on a document run on a document thread. It may be
+ * interrupted when it takes too long, then it is waited for
+ * until it really stops, so it does not use the output
+ * or the image sink of the batch afterwards.
+ *
+ * @param <T> - type of the result of the work
+ */
+class DocumentTask<T> implements Runnable {
+
+    private final Supplier<T> work;
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    /**
+     * Thread running the work, null before and after it
+     */
+    private Thread thread;
+
+    private boolean cancelled;
+
+    private T result;
+
+    DocumentTask(Supplier<T> work) {
+        this.work = work;
+    }
+
+    @Override
+    public void run() {
+        synchronized (this) {
+            if (this.cancelled) {
+                this.stopped.countDown();
+                return;
+            }
+            this.thread = Thread.currentThread();
+        }
+        try {
+            this.result = this.work.get();
+        } finally {
+            synchronized (this) {
+                this.thread = null;
+                // the thread is reused for the next document
+                Thread.interrupted();
+            }
+            this.stopped.countDown();
+        }
+    }
+
+    /**
+     * Wait for the work to finish in the given time,
+     * otherwise interrupt it and wait until it stops
+     *
+     * @return true if the work finished in time
+     * @throws InterruptedException if the waiting thread is interrupted,
+     *                              the work is stopped too
+     */
+    boolean await(long timeoutMillis) throws InterruptedException {
+        try {
+            if (this.stopped.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            cancel();
+            awaitStopped();
+            throw e;
+        }
+        cancel();
+        awaitStopped();
+        return false;
+    }
+
+    /**
+     * @return result of the work, null if it has not run
+     */
+    T getResult() {
+        return this.result;
+    }
+
+    private synchronized void cancel() {
+        this.cancelled = true;
+        if (this.thread != null) {
+            this.thread.interrupt();
+        }
+    }
+
+    private void awaitStopped() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                this.stopped.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
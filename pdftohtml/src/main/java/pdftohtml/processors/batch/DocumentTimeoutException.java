@@ -0,0 +1,13 @@
+package pdftohtml.processors.batch;
+
+import java.io.IOException;
+
+/**
+ * Thrown when conversion of a document takes longer than allowed
+ */
+public class DocumentTimeoutException extends IOException {
+
+    public DocumentTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,225 @@
+package pdftohtml.processors.html;
+
+import pdftohtml.domain.htmltags.HtmlTag;
+import pdftohtml.domain.pdf.object.PdfDocumentObject;
+import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.container.PageLine;
+import pdftohtml.domain.pdf.object.graphics.GraphicsObject;
+import pdftohtml.domain.pdf.object.text.LinkObject;
+import pdftohtml.domain.pdf.object.text.TextObject;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Writes html of document pages to a writer page by page.
+ *
+ * Nothing is kept after a page is written, so the memory
+ * needed for the output does not depend on the number of pages.
+ * Every page is written as a div of paragraphs, one paragraph
+ * per text block, with lines of a block separated by line breaks.
+ */
+public class HtmlPageWriter implements Closeable {
+
+    private final Writer writer;
+
+    private boolean documentStarted = false;
+
+    public HtmlPageWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * @param outputStream - stream to write html to in UTF-8
+     */
+    public HtmlPageWriter(OutputStream outputStream) {
+        this(new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Write html of a page, the document beginning
+     * is written before the first page
+     *
+     * @param pageIndex - index of the page, starting with 1
+     * @param blocks    - final data blocks of the page
+     */
+    public void writePage(int pageIndex, List<Block> blocks) throws IOException {
+        startDocument();
+        this.writer.write(HtmlTag.getDivOpen("page"));
+        for (Block block : blocks) {
+            writeBlock(block);
+        }
+        this.writer.write(HtmlTag.getDivClose());
+        this.writer.write('\n');
+        this.writer.flush();
+    }
+
+    /**
+     * Write the document end and close the writer
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            startDocument();
+            this.writer.write(HtmlTag.getDocumentClose());
+            this.writer.flush();
+        } finally {
+            this.writer.close();
+        }
+    }
+
+    private void startDocument() throws IOException {
+        if (!this.documentStarted) {
+            this.writer.write(HtmlTag.getDocumentOpen());
+            this.writer.write('\n');
+            this.documentStarted = true;
+        }
+    }
+
+    private void writeBlock(Block block) throws IOException {
+        if (PdfDocumentObjectType.GRAPHIC.equals(block.getObjectType())) {
+            writeGraphic(block);
+            return;
+        }
+        boolean hasText = false;
+        for (PageLine line : block.getLines()) {
+            if (!line.getText().isBlank()) {
+                if (!hasText) {
+                    this.writer.write(HtmlTag.getParagraphOpen());
+                } else {
+                    this.writer.write(HtmlTag.getLineBreak());
+                }
+                writeLine(line);
+                hasText = true;
+            }
+        }
+        if (hasText) {
+            this.writer.write(HtmlTag.getParagraphClose());
+        }
+    }
+
+    private void writeLine(PageLine line) throws IOException {
+        for (PdfDocumentObject object : line.getObjects()) {
+            if (object.getObjectType().equals(PdfDocumentObjectType.LINK)) {
+                String href = ((LinkObject) object).getLinkSource();
+                if (href != null) {
+                    this.writer.write(HtmlTag.getLinkOpen(escape(href)));
+                    writeText((TextObject) object);
+                    this.writer.write(HtmlTag.getLinkClose());
+                } else {
+                    writeText((TextObject) object);
+                }
+            } else if (object.getObjectType().equals(PdfDocumentObjectType.TEXT)) {
+                writeText((TextObject) object);
+            }
+        }
+    }
+
+    private void writeText(TextObject textObject) throws IOException {
+        if (textObject.isItalicText()) {
+            this.writer.write(HtmlTag.getItalicOpen());
+        }
+        if (textObject.isBoldText()) {
+            this.writer.write(HtmlTag.getBoldOpen());
+        }
+        if (textObject.isUnderlinedText()) {
+            this.writer.write(HtmlTag.getUnderlinedOpen());
+        }
+        if (textObject.isStrikeThroughText()) {
+            this.writer.write(HtmlTag.getStrikeThroughOpen());
+        }
+        this.writer.write(escape(textObject.getText()));
+        // closing tags go in the reverse order
+        if (textObject.isStrikeThroughText()) {
+            this.writer.write(HtmlTag.getStrikeThroughClose());
+        }
+        if (textObject.isUnderlinedText()) {
+            this.writer.write(HtmlTag.getUnderlinedClose());
+        }
+        if (textObject.isBoldText()) {
+            this.writer.write(HtmlTag.getBoldClose());
+        }
+        if (textObject.isItalicText()) {
+            this.writer.write(HtmlTag.getItalicClose());
+        }
+    }
+
+    /**
+     * Graphics is written as an image of its size, graphics
+     * without a written image as a placeholder of the image size
+     */
+    private void writeGraphic(Block block) throws IOException {
+        String imageReference = getImageReference(block);
+        if (imageReference != null) {
+            this.writer.write(String.format(
+                    Locale.ROOT,
+                    "<img class=\"graphic\" src=\"%s\" style=\"width:%.0fpx;height:%.0fpx\">",
+                    escape(imageReference),
+                    block.getRectangle().getWidth(),
+                    block.getRectangle().getHeight()
+            ));
+        } else {
+            this.writer.write(String.format(
+                    Locale.ROOT,
+                    "<div class=\"graphic\" style=\"width:%.0fpx;height:%.0fpx\"></div>",
+                    block.getRectangle().getWidth(),
+                    block.getRectangle().getHeight()
+            ));
+        }
+    }
+
+    private static String getImageReference(Block block) {
+        for (PageLine line : block.getLines()) {
+            for (PdfDocumentObject object : line.getObjects()) {
+                if (object instanceof GraphicsObject && ((GraphicsObject) object).getImageReference() != null) {
+                    return ((GraphicsObject) object).getImageReference();
+                }
+            }
+        }
+        return null;
+    }
+
+    static String escape(String text) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char character = text.charAt(i);
+            String replacement;
+            switch (character) {
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                default:
+                    replacement = null;
+            }
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16);
+                escaped.append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(character);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : text;
+    }
+}
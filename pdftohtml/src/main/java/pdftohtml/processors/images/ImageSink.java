@@ -0,0 +1,182 @@
+package pdftohtml.processors.images;
+
+import lombok.extern.log4j.Log4j;
+import pdftohtml.domain.pdf.object.graphics.ExtractedImage;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Writes images of converted documents to a directory
+ * on a pool of background threads.
+ *
+ * An image file is named after the hash of the image content,
+ * so an image is written once however many times and by however
+ * many conversions it is stored, and its reference is known as
+ * soon as it is stored, before it is written. Images wait to be
+ * written in a bounded queue, when the queue is full an image
+ * is written by the thread storing it, so pages are not
+ * extracted far ahead of writing their images.
+ */
+@Log4j
+public class ImageSink implements Closeable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+
+    private final Path directory;
+
+    /**
+     * Path of the directory relative to the html files,
+     * it is added to the names of image files
+     */
+    private final String referencePrefix;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Names of image files which are stored
+     */
+    private final Set<String> storedImages = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger writtenImagesCount = new AtomicInteger();
+
+    /**
+     * The first error of writing images, the others are suppressed by it
+     */
+    private final AtomicReference<IOException> error = new AtomicReference<>();
+
+    /**
+     * @param directory       - directory for image files, it is created if it does not exist
+     * @param referencePrefix - path of the directory in references to images, e.g. "images/"
+     */
+    public ImageSink(File directory, String referencePrefix) throws IOException {
+        this(directory, referencePrefix, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param parallelism   - number of threads writing images
+     * @param queueCapacity - maximum number of images waiting to be written
+     */
+    public ImageSink(File directory, String referencePrefix, int parallelism, int queueCapacity) throws IOException {
+        if (parallelism < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("parallelism and queue capacity must be >= 1");
+        }
+        this.directory = Files.createDirectories(directory.toPath());
+        this.referencePrefix = referencePrefix;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                parallelism,
+                parallelism,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-sink-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * Store an image, it is written later
+     * if it has not been stored yet
+     *
+     * @param image - image which is not blank
+     * @return reference to the image file for html
+     */
+    public String store(ExtractedImage image) {
+        if (this.executor.isShutdown()) {
+            throw new IllegalStateException("Image sink is closed");
+        }
+        String fileName = image.getKey() + "." + image.getFormat().getExtension();
+        if (this.storedImages.add(fileName)) {
+            this.executor.execute(() -> write(image, fileName));
+        }
+        return this.referencePrefix + fileName;
+    }
+
+    /**
+     * @return number of image files written by the sink
+     */
+    public int getWrittenImagesCount() {
+        return this.writtenImagesCount.get();
+    }
+
+    /**
+     * Wait until all the stored images are written
+     *
+     * @throws IOException - the first error of writing images
+     */
+    @Override
+    public void close() throws IOException {
+        this.executor.shutdown();
+        try {
+            while (!this.executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // images are still written
+            }
+        } catch (InterruptedException e) {
+            this.executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IOException("Writing images was interrupted", e);
+        }
+        IOException writeError = this.error.get();
+        if (writeError != null) {
+            throw writeError;
+        }
+    }
+
+    private void write(ExtractedImage image, String fileName) {
+        Path file = this.directory.resolve(fileName);
+        if (Files.exists(file)) {
+            // written by an earlier conversion
+            return;
+        }
+        Path temporaryFile = null;
+        try {
+            // the file appears only when it is written fully
+            temporaryFile = this.directory.resolve(
+                    fileName + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp"
+            );
+            try (OutputStream output = new BufferedOutputStream(
+                    Files.newOutputStream(temporaryFile, StandardOpenOption.CREATE_NEW)
+            )) {
+                image.writeTo(output);
+            }
+            Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+            this.writtenImagesCount.incrementAndGet();
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(temporaryFile);
+            IOException writeError = new IOException("Image " + file + " is not written", e);
+            if (!this.error.compareAndSet(null, writeError)) {
+                this.error.get().addSuppressed(writeError);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Temporary image file " + file + " is not deleted", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package pdftohtml.processors.pdf.document;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.io.RandomAccessBufferedFileInputStream;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.ScratchFile;
+import org.apache.pdfbox.pdfparser.PDFParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.ResourceCache;
+import pdftohtml.common.metrics.MetricsRegistry;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Supplier;
+
+/**
+ * Loads pdf documents for conversion.
+ *
+ * By default a document is loaded the same way as by
+ * {@link PDDocument#load(File)}: the file is read on demand
+ * and decoded streams are kept in main memory without limit.
+ *
+ * Main memory used for decoded streams may be bounded, then the
+ * streams beyond the limit are spilled to temporary files.
+ * The file may also be mapped into memory, then its bytes
+ * are not copied to the java heap at all and only
+ * the parts of the file touched by the conversion are read.
+ *
+ * The limit is applied to every loaded document separately,
+ * so with parallel conversion every worker has its own limit.
+ *
+ * Parsed resources of a document, e.g. fonts, are kept in
+ * a bounded LRU cache by default, every loaded document
+ * has its own cache as resources are objects of the document.
+ */
+@Getter
+public class DocumentLoader {
+
+    /**
+     * Maximum main memory in bytes for decoded streams
+     * of a document, -1 means no limit
+     */
+    private long maxMainMemoryBytes = -1;
+
+    /**
+     * Directory for temporary files, system temporary
+     * directory is used if it is not set
+     */
+    @Setter
+    private File tempDirectory;
+
+    /**
+     * Map the document file into memory
+     * instead of reading it with a buffered stream
+     */
+    @Setter
+    private boolean memoryMapped = false;
+
+    /**
+     * Creates the cache of parsed resources of every loaded
+     * document, if it is not set, the PDFBox default cache is used
+     */
+    @Setter
+    private Supplier<ResourceCache> resourceCacheFactory = () -> new LruResourceCache(
+            LruResourceCache.DEFAULT_MAX_ENTRIES, MetricsRegistry.getDefault()
+    );
+
+    public void setMaxMainMemoryBytes(long maxMainMemoryBytes) {
+        if (maxMainMemoryBytes < -1) {
+            throw new IllegalArgumentException("maxMainMemoryBytes must be >= -1");
+        }
+        this.maxMainMemoryBytes = maxMainMemoryBytes;
+    }
+
+    /**
+     * @param file - pdf document file
+     * @return loaded document, the caller must close it
+     */
+    public PDDocument load(File file) throws IOException {
+        RandomAccessRead source = this.memoryMapped
+                ? new MappedRandomAccessRead(file)
+                : new RandomAccessBufferedFileInputStream(file);
+        try {
+            ScratchFile scratchFile = new ScratchFile(createMemoryUsageSetting());
+            try {
+                PDFParser parser = new PDFParser(source, "", scratchFile);
+                parser.parse();
+                // the document closes both the source and the scratch file
+                PDDocument document = parser.getPDDocument();
+                if (this.resourceCacheFactory != null) {
+                    document.setResourceCache(this.resourceCacheFactory.get());
+                }
+                return document;
+            } catch (IOException | RuntimeException e) {
+                IOUtils.closeQuietly(scratchFile);
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            IOUtils.closeQuietly(source);
+            throw e;
+        }
+    }
+
+    private MemoryUsageSetting createMemoryUsageSetting() {
+        MemoryUsageSetting setting = this.maxMainMemoryBytes < 0
+                ? MemoryUsageSetting.setupMainMemoryOnly()
+                : MemoryUsageSetting.setupMixed(this.maxMainMemoryBytes);
+        if (this.tempDirectory != null) {
+            setting.setTempDir(this.tempDirectory);
+        }
+        return setting;
+    }
+}
@@ -0,0 +1,183 @@
+package pdftohtml.processors.pdf.document;
+
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.ResourceCache;
+import org.apache.pdfbox.pdmodel.documentinterchange.markedcontent.PDPropertyList;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
+import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import pdftohtml.common.metrics.Counter;
+import pdftohtml.common.metrics.MetricsRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of parsed resources of a document with a bound
+ * on the number of resources and LRU eviction.
+ *
+ * Resources shared by pages, e.g. fonts, color spaces and
+ * form XObjects, are parsed once and kept while the document
+ * is converted, unlike the soft references of the PDFBox
+ * default cache which the garbage collector may clear
+ * between pages. Images are not cached, they are large and
+ * their content is extracted once anyway.
+ *
+ * PDFBox caches only resources which are indirect objects,
+ * an indirect object is always the same resource,
+ * so all the resources are kept in one map.
+ */
+public class LruResourceCache implements ResourceCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    public static final String HITS = "resourceCache.hits";
+    public static final String MISSES = "resourceCache.misses";
+    public static final String EVICTIONS = "resourceCache.evictions";
+
+    private final int maxEntries;
+
+    private final Map<COSObject, Object> resources;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public LruResourceCache(int maxEntries) {
+        this(maxEntries, new Counter(), new Counter(), new Counter());
+    }
+
+    /**
+     * @param registry - registry to count hits, misses and evictions in,
+     *                   counters are shared by caches of the same registry
+     */
+    public LruResourceCache(int maxEntries, MetricsRegistry registry) {
+        this(maxEntries, registry.counter(HITS), registry.counter(MISSES), registry.counter(EVICTIONS));
+    }
+
+    private LruResourceCache(int maxEntries, Counter hits, Counter misses, Counter evictions) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be >= 1");
+        }
+        this.maxEntries = maxEntries;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.resources = new LinkedHashMap<COSObject, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<COSObject, Object> eldest) {
+                if (size() > LruResourceCache.this.maxEntries) {
+                    LruResourceCache.this.evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public long getHits() {
+        return this.hits.get();
+    }
+
+    public long getMisses() {
+        return this.misses.get();
+    }
+
+    public long getEvictions() {
+        return this.evictions.get();
+    }
+
+    public synchronized int size() {
+        return this.resources.size();
+    }
+
+    @Override
+    public PDFont getFont(COSObject indirect) {
+        return get(indirect, PDFont.class);
+    }
+
+    @Override
+    public PDColorSpace getColorSpace(COSObject indirect) {
+        return get(indirect, PDColorSpace.class);
+    }
+
+    @Override
+    public PDExtendedGraphicsState getExtGState(COSObject indirect) {
+        return get(indirect, PDExtendedGraphicsState.class);
+    }
+
+    @Override
+    public PDShading getShading(COSObject indirect) {
+        return get(indirect, PDShading.class);
+    }
+
+    @Override
+    public PDAbstractPattern getPattern(COSObject indirect) {
+        return get(indirect, PDAbstractPattern.class);
+    }
+
+    @Override
+    public PDPropertyList getProperties(COSObject indirect) {
+        return get(indirect, PDPropertyList.class);
+    }
+
+    @Override
+    public PDXObject getXObject(COSObject indirect) {
+        return get(indirect, PDXObject.class);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDFont font) {
+        put(indirect, (Object) font);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDColorSpace colorSpace) {
+        put(indirect, (Object) colorSpace);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDExtendedGraphicsState extGState) {
+        put(indirect, (Object) extGState);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDShading shading) {
+        put(indirect, (Object) shading);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDAbstractPattern pattern) {
+        put(indirect, (Object) pattern);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDPropertyList propertyList) {
+        put(indirect, (Object) propertyList);
+    }
+
+    @Override
+    public void put(COSObject indirect, PDXObject xObject) {
+        if (!(xObject instanceof PDImageXObject)) {
+            put(indirect, (Object) xObject);
+        }
+    }
+
+    private synchronized <T> T get(COSObject indirect, Class<T> resourceClass) {
+        Object resource = this.resources.get(indirect);
+        if (resourceClass.isInstance(resource)) {
+            this.hits.increment();
+            return resourceClass.cast(resource);
+        }
+        this.misses.increment();
+        return null;
+    }
+
+    private synchronized void put(COSObject indirect, Object resource) {
+        this.resources.put(indirect, resource);
+    }
+}
@@ -0,0 +1,188 @@
+package pdftohtml.processors.pdf.document;
+
+import org.apache.pdfbox.io.RandomAccessRead;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only access to a file mapped into memory.
+ *
+ * The file is mapped in chunks, so files bigger than 2 GB
+ * are supported. Mapped bytes are not on the java heap and
+ * are read from disk by the operating system only when they
+ * are accessed, and several documents loaded from the same
+ * file share the same pages of the operating system cache.
+ */
+public class MappedRandomAccessRead implements RandomAccessRead {
+
+    /**
+     * Maximum size of one mapped chunk of the file
+     */
+    static final int CHUNK_SIZE = 1 << 30;
+
+    private final int chunkSize;
+
+    private MappedByteBuffer[] chunks;
+
+    private final long length;
+
+    private long position = 0;
+
+    public MappedRandomAccessRead(File file) throws IOException {
+        this(file, CHUNK_SIZE);
+    }
+
+    MappedRandomAccessRead(File file, int chunkSize) throws IOException {
+        this.chunkSize = chunkSize;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            this.length = channel.size();
+            int chunksCount = (int) ((this.length + chunkSize - 1) / chunkSize);
+            this.chunks = new MappedByteBuffer[chunksCount];
+            for (int chunk = 0; chunk < chunksCount; chunk++) {
+                long chunkStart = (long) chunk * chunkSize;
+                this.chunks[chunk] = channel.map(
+                        FileChannel.MapMode.READ_ONLY,
+                        chunkStart,
+                        Math.min(chunkSize, this.length - chunkStart)
+                );
+            }
+        }
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkClosed();
+        if (this.position >= this.length) {
+            return -1;
+        }
+        int value = chunk(this.position).get(offset(this.position)) & 0xff;
+        this.position++;
+        return value;
+    }
+
+    @Override
+    public int read(byte[] bytes) throws IOException {
+        return read(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        checkClosed();
+        if (length == 0) {
+            return 0;
+        }
+        if (this.position >= this.length) {
+            return -1;
+        }
+        int totalRead = 0;
+        int toRead = (int) Math.min(length, this.length - this.position);
+        while (totalRead < toRead) {
+            MappedByteBuffer chunk = chunk(this.position);
+            int chunkOffset = offset(this.position);
+            int chunkRead = Math.min(toRead - totalRead, chunk.limit() - chunkOffset);
+            // reads through a duplicate keep
+            // the chunk position untouched
+            ByteBuffer view = chunk.duplicate();
+            view.position(chunkOffset);
+            view.get(bytes, offset + totalRead, chunkRead);
+            totalRead += chunkRead;
+            this.position += chunkRead;
+        }
+        return totalRead;
+    }
+
+    @Override
+    public long getPosition() throws IOException {
+        checkClosed();
+        return this.position;
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+        checkClosed();
+        if (position < 0) {
+            throw new IOException("Invalid position " + position);
+        }
+        this.position = position;
+    }
+
+    @Override
+    public long length() throws IOException {
+        checkClosed();
+        return this.length;
+    }
+
+    @Override
+    public boolean isClosed() {
+        return this.chunks == null;
+    }
+
+    @Override
+    public int peek() throws IOException {
+        int value = read();
+        if (value != -1) {
+            rewind(1);
+        }
+        return value;
+    }
+
+    @Override
+    public void rewind(int bytes) throws IOException {
+        seek(getPosition() - bytes);
+    }
+
+    @Override
+    public byte[] readFully(int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int totalRead = 0;
+        while (totalRead < length) {
+            int read = read(bytes, totalRead, length - totalRead);
+            if (read == -1) {
+                throw new EOFException("Premature end of file");
+            }
+            totalRead += read;
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean isEOF() throws IOException {
+        checkClosed();
+        return this.position >= this.length;
+    }
+
+    @Override
+    public int available() throws IOException {
+        checkClosed();
+        return (int) Math.min(Math.max(this.length - this.position, 0), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Mapped chunks are released by the garbage collector,
+     * java has no public way to unmap them earlier
+     */
+    @Override
+    public void close() {
+        this.chunks = null;
+    }
+
+    private MappedByteBuffer chunk(long position) {
+        return this.chunks[(int) (position / this.chunkSize)];
+    }
+
+    private int offset(long position) {
+        return (int) (position % this.chunkSize);
+    }
+
+    private void checkClosed() throws IOException {
+        if (isClosed()) {
+            throw new IOException("Mapped file is already closed");
+        }
+    }
+}
@@ -2,7 +2,10 @@ package pdftohtml.processors.pdf.objects.composite;
 
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
-import pdftohtml.common.Properties;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.common.collections.DisjointSets;
+import pdftohtml.common.helpers.testing.DebugLayer;
+import pdftohtml.common.helpers.testing.DebugOverlay;
 import pdftohtml.domain.common.FrameworkRectangle;
 import pdftohtml.domain.pdf.object.composite.table.Table;
 import pdftohtml.domain.pdf.object.container.TableSkeleton;
@@ -11,13 +14,12 @@ import pdftohtml.domain.pdf.object.template.Divider;
 
 import java.awt.*;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
-import static pdftohtml.common.helpers.testing.PdfPageDrawer.drawRectangle;
-
 public class CompositeObjectsProcessor {
 
     /**
@@ -29,13 +31,17 @@ public class CompositeObjectsProcessor {
     private List<Divider> horizontalDividers;
 
     /**
-     * Test mode flags
+     * Tolerances of the conversion
      */
-    private boolean skeletonTestMode = false;
-    private boolean tableTestMode = true;
+    private final ConversionContext context;
 
     public CompositeObjectsProcessor(PDDocument document) {
+        this(document, new ConversionContext());
+    }
+
+    public CompositeObjectsProcessor(PDDocument document, ConversionContext context) {
         this.document = document;
+        this.context = context;
     }
 
     public void processCompositeObjects(
@@ -53,9 +59,12 @@ public class CompositeObjectsProcessor {
 
         // 2. define tables from created skeleton objects
         List<Table> tables = skeletons.stream()
-                .map(TableSkeleton::convertToTable)
+                .map(skeleton -> skeleton.convertToTable(
+                        this.context.getXInaccuracy(),
+                        this.context.getYInaccuracy()
+                ))
                 .collect(Collectors.toList());
-        tables.forEach(Table::mergeCellsFromAdjacentRows);
+        tables.forEach(table -> table.mergeCellsFromAdjacentRows(this.context.getYInaccuracy()));
         drawTableForTest(pageIndex, tables);
     }
 
@@ -79,58 +88,131 @@ public class CompositeObjectsProcessor {
         }));
     }
 
+    /**
+     * Group dividers with the same y coordinates into skeletons,
+     * a skeleton gets blocks lying within the y coordinates
+     * of its dividers.
+     *
+     * Dividers are sorted by y, so dividers with the same y
+     * coordinates are neighbours and are united by a sweep over
+     * the sorted list. Every divider belongs to one skeleton only.
+     * Skeletons come in order of their minimum y, so blocks
+     * sorted by y are assigned to them in a single sweep too.
+     */
     private List<TableSkeleton> createTableSkeletons(
             List<Block> blocks,
             List<Divider> dividers
     ) {
-        List<TableSkeleton> skeletons = new ArrayList<>();
         List<Divider> dividersSortedByY = dividers.stream().sorted(
                 Comparator.comparing(d -> d.getRectangle().getMinY())
         ).collect(Collectors.toList());
-        dividersSortedByY.forEach(divider -> {
-            List<Divider> sameYMinDividers = new ArrayList<>();
-            double minimumY = divider.getRectangle().getMinY();
-            double maximumY = divider.getRectangle().getMaxY();
-            sameYMinDividers.add(divider);
-            for (Divider sameYMinDivider: dividersSortedByY) {
-                if (divider.getRectangle()
-                        .hasSameYCoordinatesWithYInaccuracy(
-                                sameYMinDivider.getRectangle(),
-                                Properties.yInaccuracy
-                        ) && !divider.equals(sameYMinDivider)) {
-                    sameYMinDividers.add(sameYMinDivider);
-                    minimumY = Math.min(minimumY, sameYMinDivider.getRectangle().getMinY());
-                    maximumY = Math.max(maximumY, sameYMinDivider.getRectangle().getMaxY());
+        double yInaccuracy = this.context.getYInaccuracy();
+
+        DisjointSets dividersSets = new DisjointSets(dividersSortedByY.size());
+        for (int dividerIndex = 0; dividerIndex < dividersSortedByY.size(); dividerIndex++) {
+            FrameworkRectangle rectangle = dividersSortedByY.get(dividerIndex).getRectangle();
+            for (int nextIndex = dividerIndex + 1; nextIndex < dividersSortedByY.size(); nextIndex++) {
+                FrameworkRectangle nextRectangle = dividersSortedByY.get(nextIndex).getRectangle();
+                if (nextRectangle.getMinY() - rectangle.getMinY() > yInaccuracy) {
+                    break;
+                }
+                if (rectangle.hasSameYCoordinatesWithYInaccuracy(nextRectangle, yInaccuracy)) {
+                    dividersSets.union(dividerIndex, nextIndex);
                 }
             }
-            double finalMinimumY = minimumY;
-            double finalMaximumY = maximumY;
-            List<Block> tableBlocks = blocks.stream().filter(b ->
-                    b.getRectangle().getMinY() >= finalMinimumY &&
-                            b.getRectangle().getMaxY() <= finalMaximumY
-            ).collect(Collectors.toList());
+        }
+
+        // skeletons in order of their first dividers
+        List<List<Divider>> skeletonsDividers = new ArrayList<>();
+        int[] skeletonOfSet = new int[dividersSortedByY.size()];
+        Arrays.fill(skeletonOfSet, -1);
+        for (int dividerIndex = 0; dividerIndex < dividersSortedByY.size(); dividerIndex++) {
+            int set = dividersSets.find(dividerIndex);
+            if (skeletonOfSet[set] < 0) {
+                skeletonOfSet[set] = skeletonsDividers.size();
+                skeletonsDividers.add(new ArrayList<>());
+            }
+            skeletonsDividers.get(skeletonOfSet[set]).add(dividersSortedByY.get(dividerIndex));
+        }
+        double[] minimumsY = new double[skeletonsDividers.size()];
+        double[] maximumsY = new double[skeletonsDividers.size()];
+        for (int skeletonIndex = 0; skeletonIndex < skeletonsDividers.size(); skeletonIndex++) {
+            minimumsY[skeletonIndex] = Double.POSITIVE_INFINITY;
+            maximumsY[skeletonIndex] = Double.NEGATIVE_INFINITY;
+            for (Divider divider : skeletonsDividers.get(skeletonIndex)) {
+                minimumsY[skeletonIndex] = Math.min(minimumsY[skeletonIndex], divider.getRectangle().getMinY());
+                maximumsY[skeletonIndex] = Math.max(maximumsY[skeletonIndex], divider.getRectangle().getMaxY());
+            }
+        }
+
+        List<List<Integer>> skeletonsBlocks = assignBlocksToSkeletons(blocks, minimumsY, maximumsY);
+        List<TableSkeleton> skeletons = new ArrayList<>();
+        for (int skeletonIndex = 0; skeletonIndex < skeletonsDividers.size(); skeletonIndex++) {
+            // blocks of a skeleton stay in the order of the page
+            List<Block> tableBlocks = skeletonsBlocks.get(skeletonIndex).stream()
+                    .sorted()
+                    .map(blocks::get)
+                    .collect(Collectors.toList());
             TableSkeleton tableSkeleton = new TableSkeleton();
-            tableSkeleton.setDividers(sameYMinDividers);
+            tableSkeleton.setDividers(skeletonsDividers.get(skeletonIndex));
             tableSkeleton.setBlocks(tableBlocks);
             tableSkeleton.resolveRectangle();
             skeletons.add(tableSkeleton);
-        });
+        }
         return skeletons;
     }
 
+    /**
+     * Find blocks lying within the y coordinates of every skeleton
+     *
+     * @param minimumsY - minimum y of skeletons in ascending order
+     * @param maximumsY - maximum y of skeletons
+     * @return indices of blocks of every skeleton
+     */
+    private static List<List<Integer>> assignBlocksToSkeletons(
+            List<Block> blocks,
+            double[] minimumsY,
+            double[] maximumsY
+    ) {
+        List<List<Integer>> skeletonsBlocks = new ArrayList<>();
+        for (int skeletonIndex = 0; skeletonIndex < minimumsY.length; skeletonIndex++) {
+            skeletonsBlocks.add(new ArrayList<>());
+        }
+        Integer[] blocksSortedByY = new Integer[blocks.size()];
+        for (int blockIndex = 0; blockIndex < blocks.size(); blockIndex++) {
+            blocksSortedByY[blockIndex] = blockIndex;
+        }
+        Arrays.sort(blocksSortedByY, Comparator.comparingDouble(
+                blockIndex -> blocks.get(blockIndex).getRectangle().getMinY()
+        ));
+
+        // skeletons starting above the current block
+        // and not ending above it
+        List<Integer> openSkeletons = new ArrayList<>();
+        int nextSkeletonIndex = 0;
+        for (int blockIndex : blocksSortedByY) {
+            FrameworkRectangle rectangle = blocks.get(blockIndex).getRectangle();
+            while (nextSkeletonIndex < minimumsY.length && minimumsY[nextSkeletonIndex] <= rectangle.getMinY()) {
+                openSkeletons.add(nextSkeletonIndex++);
+            }
+            openSkeletons.removeIf(skeletonIndex -> maximumsY[skeletonIndex] < rectangle.getMinY());
+            for (int skeletonIndex : openSkeletons) {
+                if (rectangle.getMaxY() <= maximumsY[skeletonIndex]) {
+                    skeletonsBlocks.get(skeletonIndex).add(blockIndex);
+                }
+            }
+        }
+        return skeletonsBlocks;
+    }
+
     private void drawSkeletonsForTest(
             int pageIndex,
             List<TableSkeleton> skeletons
     ) {
-        if (skeletonTestMode) {
+        DebugOverlay overlay = this.context.getDebugOverlay(DebugLayer.SKELETONS);
+        if (overlay != null) {
             skeletons.forEach(skeleton -> {
-                drawRectangle(
-                        this.document,
-                        this.document.getPages().get(pageIndex - 1),
-                        skeleton.getRectangle(),
-                        Color.GREEN,
-                        null
-                );
+                overlay.addRectangle(pageIndex, skeleton.getRectangle(), Color.GREEN);
             });
         }
     }
@@ -139,31 +221,14 @@ public class CompositeObjectsProcessor {
             int pageIndex,
             List<Table> tables
     ) {
-        if (tableTestMode) {
+        DebugOverlay overlay = this.context.getDebugOverlay(DebugLayer.TABLES);
+        if (overlay != null) {
             tables.forEach(table -> {
-                drawRectangle(
-                        this.document,
-                        this.document.getPages().get(pageIndex - 1),
-                        table.getRectangle().getEnlargedRectangle(5f),
-                        Color.GREEN,
-                        null
-                );
+                overlay.addRectangle(pageIndex, table.getRectangle().getEnlargedRectangle(5f), Color.GREEN);
                 table.getRows().forEach(row -> {
-                    drawRectangle(
-                            this.document,
-                            this.document.getPages().get(pageIndex - 1),
-                            row.getRectangle().getEnlargedRectangle(2.5f),
-                            Color.BLUE,
-                            null
-                    );
+                    overlay.addRectangle(pageIndex, row.getRectangle().getEnlargedRectangle(2.5f), Color.BLUE);
                     row.getCells().forEach(cell -> {
-                        drawRectangle(
-                                this.document,
-                                this.document.getPages().get(pageIndex - 1),
-                                cell.getRectangle(),
-                                Color.MAGENTA,
-                                null
-                        );
+                        overlay.addRectangle(pageIndex, cell.getRectangle(), Color.MAGENTA);
                     });
                 });
             });
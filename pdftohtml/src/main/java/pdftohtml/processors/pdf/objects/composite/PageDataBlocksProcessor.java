@@ -7,22 +7,27 @@ import pdftohtml.domain.common.FrameworkRectangle;
 import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
 import pdftohtml.domain.pdf.object.container.Block;
 import pdftohtml.domain.pdf.object.container.PageLine;
+import pdftohtml.domain.pdf.object.graphics.ExtractedImage;
 import pdftohtml.domain.pdf.object.graphics.GraphicsObject;
 import pdftohtml.domain.pdf.object.template.Divider;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.common.helpers.testing.DebugLayer;
+import pdftohtml.common.helpers.testing.DebugOverlay;
 import pdftohtml.common.helpers.testing.LineObjectsPrinter;
-import pdftohtml.common.helpers.testing.PdfPageDrawer;
+import pdftohtml.common.metrics.ConversionMetrics;
+import pdftohtml.common.metrics.MetricsRegistry;
+import pdftohtml.processors.images.ImageSink;
 import pdftohtml.processors.pdf.objects.dividers.PageObjectsDividersProcessor;
 import pdftohtml.processors.pdf.objects.graphics.GraphicsProcessor;
-import pdftohtml.processors.pdf.objects.paths.StrokePathRenderer;
+import pdftohtml.processors.pdf.objects.paths.StrokePathCollector;
+import pdftohtml.processors.pdf.objects.text.PageTextData;
 import pdftohtml.processors.pdf.objects.text.PageTextObjectsProcessor;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
-import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 import java.util.stream.Collectors;
 
 /**
@@ -42,7 +47,7 @@ public class PageDataBlocksProcessor {
    */
   private PageTextObjectsProcessor pageTextObjectsProcessor;
   private GraphicsProcessor graphicsProcessor;
-  private StrokePathRenderer strokePathRenderer;
+  private StrokePathCollector strokePathCollector;
   private PageObjectsDividersProcessor pageObjectsDividersProcessor;
   private CompositeObjectsProcessor compositeObjectsProcessor;
 
@@ -53,23 +58,50 @@ public class PageDataBlocksProcessor {
   private List<Block> currentPageBlocks;
 
   /**
-   * Test mode flags
+   * Context of the conversion of the document
    */
-  private boolean linesTestMode = false;
-  private boolean blocksTestMode = false;
-  private boolean graphicsTestMode = false;
-  private boolean strokePathsTestMode = false;
-  private boolean dividersTestMode = false;
+  private ConversionContext context;
+
+  /**
+   * Stage timers and page counters
+   */
+  private ConversionMetrics metrics;
 
   public PageDataBlocksProcessor(PDDocument document) {
+    this(document, MetricsRegistry.getDefault());
+  }
+
+  public PageDataBlocksProcessor(PDDocument document, MetricsRegistry metricsRegistry) {
+    this(document, metricsRegistry, new ConversionContext());
+  }
+
+  /**
+   * @param document        - document to process
+   * @param metricsRegistry - registry of stage timers and page counters
+   * @param context         - context of the conversion of the document,
+   *                          it may be shared by processors of the same
+   *                          document running on different threads
+   */
+  public PageDataBlocksProcessor(
+          PDDocument document,
+          MetricsRegistry metricsRegistry,
+          ConversionContext context
+  ) {
     init();
     this.document = document;
+    this.context = context;
+    this.metrics = new ConversionMetrics(metricsRegistry);
     try {
-      this.pageTextObjectsProcessor = new PageTextObjectsProcessor();
+      this.pageTextObjectsProcessor = new PageTextObjectsProcessor(context);
       this.graphicsProcessor = new GraphicsProcessor();
-      this.strokePathRenderer = new StrokePathRenderer(document);
-      this.pageObjectsDividersProcessor = new PageObjectsDividersProcessor(document);
-      this.compositeObjectsProcessor = new CompositeObjectsProcessor(document);
+      this.strokePathCollector = new StrokePathCollector();
+      // images and stroke paths are gathered
+      // during the same pass over the page
+      // content stream as text
+      this.pageTextObjectsProcessor.addCollector(this.graphicsProcessor);
+      this.pageTextObjectsProcessor.addCollector(this.strokePathCollector);
+      this.pageObjectsDividersProcessor = new PageObjectsDividersProcessor(document, context);
+      this.compositeObjectsProcessor = new CompositeObjectsProcessor(document, context);
     } catch (IOException e) {
       e.printStackTrace();
     }
@@ -83,24 +115,34 @@ public class PageDataBlocksProcessor {
     this.currentPageBlocks = new ArrayList<>();
   }
 
-  public void processPage(int pageIndex) {
+  /**
+   * Extract data blocks of a page
+   *
+   * @param pageIndex - index of the page, starting with 1
+   * @return data blocks of the page
+   * @throws CancellationException if the thread is interrupted,
+   *                               it is checked between stages
+   */
+  public List<Block> processPage(int pageIndex) {
+    checkInterrupted();
     init();
+    long pageStart = System.nanoTime();
 
     PDPage page = this.document.getPage(pageIndex - 1);
+    graphicsProcessor.setPageIndex(pageIndex);
     processPageText(pageIndex, page);
-
-    // get text data blocks
-    this.currentPageBlocks.addAll(pageTextObjectsProcessor.getBlocks());
-
-    // extract all page graphics
-    processPageGraphics(pageIndex, page);
+    // gather all page graphics and stroke paths (table borders),
+    // they are collected by the same pass as text
+    processPageGraphics(pageIndex);
+    processPageStrokePaths(pageIndex);
+    long stageStart = metrics.getContentStreamStage().recordSince(pageStart);
+    checkInterrupted();
 
     this.blocks.addAll(this.currentPageBlocks);
     pageObjectsDividersProcessor.findDividersOnPage(pageIndex, this.currentPageBlocks);
     List<Divider> dividers = pageObjectsDividersProcessor.getDividers();
-
-    // stroke paths (table borders) extractor
-    processPageStrokePaths(pageIndex);
+    stageStart = metrics.getDividersStage().recordSince(stageStart);
+    checkInterrupted();
 
     compositeObjectsProcessor.processCompositeObjects(
             pageIndex,
@@ -108,42 +150,52 @@ public class PageDataBlocksProcessor {
             dividers,
             strokePaths
     );
+    metrics.getCompositeObjectsStage().recordSince(stageStart);
 
     drawObjects(pageIndex);
+
+    metrics.getPages().increment();
+    metrics.getBlocks().add(this.currentPageBlocks.size());
+    metrics.getDividers().add(dividers.size());
+    metrics.getStrokePaths().add(strokePathCollector.getPaths().size());
+    metrics.getImages().add(graphicsProcessor.getGraphicsObjects().size());
+    metrics.getPageStage().recordSince(pageStart);
+    return this.currentPageBlocks;
   }
 
-  private void processPageText(int pageIndex, PDPage page) {
-    pageTextObjectsProcessor.setStartPage(pageIndex);
-    pageTextObjectsProcessor.setEndPage(pageIndex);
-    try {
-      pageTextObjectsProcessor.setPage(page);
-      pageTextObjectsProcessor.setPageIndex(pageIndex);
-      pageTextObjectsProcessor.processPage(page);
-      pageTextObjectsProcessor.getText(document);
-    } catch (IOException e) {
-      e.printStackTrace();
+  /**
+   * A conversion which is cancelled, e.g. after its timeout,
+   * stops before the next stage instead of finishing the page
+   */
+  private static void checkInterrupted() {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Page processing was interrupted");
     }
   }
 
-  private void processPageGraphics(int pageIndex, PDPage page) {
+  private void processPageText(int pageIndex, PDPage page) {
     try {
-      graphicsProcessor.setPageIndex(pageIndex);
-      graphicsProcessor.processPage(page);
+      PageTextData pageText = pageTextObjectsProcessor.extractPage(document, page, pageIndex);
+
+      // get text data blocks
+      this.currentPageBlocks.addAll(pageText.getBlocks());
+      this.pageLines.addAll(pageText.getLines());
+
+      metrics.getGlyphs().add(pageText.getGlyphsCount());
+      metrics.getLines().add(pageText.getLines().size());
     } catch (IOException e) {
       e.printStackTrace();
     }
+  }
+
+  private void processPageGraphics(int pageIndex) {
     List<GraphicsObject> graphics = graphicsProcessor.getGraphicsObjects();
     currentPageBlocks.addAll(gatherGraphicsToBlocksAndLines(graphics, pageIndex));
 
-    if (this.graphicsTestMode) {
+    DebugOverlay overlay = this.context.getDebugOverlay(DebugLayer.GRAPHICS);
+    if (overlay != null) {
       for (GraphicsObject graphicsObject : graphics) {
-        PdfPageDrawer.drawRectangle(
-                this.document,
-                this.document.getPages().get(pageIndex - 1),
-                graphicsObject.getRectangle(),
-                Color.green,
-                null
-        );
+        overlay.addRectangle(pageIndex, graphicsObject.getRectangle(), Color.green);
       }
     }
   }
@@ -156,14 +208,13 @@ public class PageDataBlocksProcessor {
           int pageIndex
   ) {
     return graphics.stream().map(graphicsObject -> {
-      if (!isTransparentOrMonotoneColor(graphicsObject.getImage())) {
-
-        File outputfile =
-                new File("D:\\Dashas stuff\\projects\\pdf-to-html\\pdftohtml\\src\\main\\resources\\image.jpg");
-        try {
-          ImageIO.write(graphicsObject.getImage(), "jpg", outputfile);
-        } catch (IOException e) {
-          e.printStackTrace();
+      ExtractedImage image = graphicsObject.getImage();
+      if (!image.isBlank()) {
+        // the image is written in background,
+        // its reference is known at once
+        ImageSink imageSink = this.context.getImageSink();
+        if (imageSink != null) {
+          graphicsObject.setImageReference(imageSink.store(image));
         }
 
         Block imageBlock = new Block();
@@ -185,38 +236,12 @@ public class PageDataBlocksProcessor {
     }).filter(Objects::nonNull).collect(Collectors.toList());
   }
 
-  private boolean isTransparentOrMonotoneColor(BufferedImage image) {
-    int color = 0;
-    for (int x = 0; x < image.getWidth(); x++) {
-      for (int y = 0; y < image.getHeight(); y++) {
-        int pixel = image.getRGB(x, y);
-        if (x == 0 && y == 0) {
-          color = pixel;
-        }
-        if (pixel != color) {
-          return false;
-        }
-      }
-    }
-    return true;
-  }
-
   private void processPageStrokePaths(int pageIndex) {
-    try {
-      strokePathRenderer.extractPaths(pageIndex - 1);
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
-    if (this.strokePathsTestMode) {
-      this.strokePaths = strokePathRenderer.getPaths();
+    DebugOverlay overlay = this.context.getDebugOverlay(DebugLayer.STROKE_PATHS);
+    if (overlay != null) {
+      this.strokePaths = strokePathCollector.getPaths();
       this.strokePaths.forEach(path -> {
-        PdfPageDrawer.drawRectangle(
-                this.document,
-                this.document.getPages().get(pageIndex - 1),
-                path,
-                Color.BLUE,
-                null
-        );
+        overlay.addRectangle(pageIndex, path, Color.BLUE);
       });
     }
   }
@@ -254,51 +279,23 @@ public class PageDataBlocksProcessor {
   }
 
   private void drawObjects(int pageIndex) {
-    if (this.linesTestMode) {
+    DebugOverlay linesOverlay = this.context.getDebugOverlay(DebugLayer.LINES);
+    if (linesOverlay != null) {
       LineObjectsPrinter.printLinesObjects(this.pageLines);
       for (PageLine line : this.pageLines) {
-        PdfPageDrawer.drawRectangle(
-                this.document,
-                this.document.getPages().get(pageIndex - 1),
-                line.getRectangle(),
-                Color.BLACK,
-                null
-        );
+        linesOverlay.addRectangle(pageIndex, line.getRectangle(), Color.BLACK);
       }
     }
 
-    if (this.blocksTestMode) {
+    DebugOverlay blocksOverlay = this.context.getDebugOverlay(DebugLayer.BLOCKS);
+    if (blocksOverlay != null) {
       for (Block block : blocks) {
         if (block.getLines().size() == 1 && block.getLines().get(0).getText().isEmpty()) {
-          PdfPageDrawer.drawRectangle(
-                  this.document,
-                  this.document.getPages().get(pageIndex - 1),
-                  block.getRectangle(),
-                  Color.CYAN,
-                  null
-          );
+          blocksOverlay.addRectangle(pageIndex, block.getRectangle(), Color.CYAN);
         } else {
-          PdfPageDrawer.drawRectangle(
-                  this.document,
-                  this.document.getPages().get(pageIndex - 1),
-                  block.getRectangle(),
-                  Color.MAGENTA,
-                  null
-          );
+          blocksOverlay.addRectangle(pageIndex, block.getRectangle(), Color.MAGENTA);
         }
       }
     }
-
-    if (this.dividersTestMode) {
-      for (Divider div : this.dividers) {
-        PdfPageDrawer.drawRectangle(
-                this.document,
-                this.document.getPages().get(pageIndex - 1),
-                div.getRectangle(),
-                Color.RED,
-                null
-        );
-      }
-    }
   }
 }
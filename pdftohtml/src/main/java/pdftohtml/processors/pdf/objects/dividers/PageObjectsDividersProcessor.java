@@ -4,20 +4,23 @@ import lombok.Getter;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import pdftohtml.common.Globals;
-import pdftohtml.common.Properties;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.common.helpers.testing.DebugLayer;
+import pdftohtml.common.helpers.testing.DebugOverlay;
 import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.common.SpatialIndex;
 import pdftohtml.domain.pdf.object.container.Block;
 import pdftohtml.domain.pdf.object.template.Divider;
 
 import java.awt.*;
 import java.util.*;
 import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static pdftohtml.common.helpers.RectangleHelper.*;
-import static pdftohtml.common.helpers.testing.PdfPageDrawer.drawRectangle;
-
 /**
  * Class for identifying empty spaces
  * between blocks of page data,
@@ -27,6 +30,12 @@ import static pdftohtml.common.helpers.testing.PdfPageDrawer.drawRectangle;
  */
 public class PageObjectsDividersProcessor {
 
+    /**
+     * Margin of searches of rectangles whose coordinates
+     * may change by rounding to float
+     */
+    private static final double ROUNDING_MARGIN = 1;
+
     /**
      * Main document for processing
      */
@@ -38,13 +47,17 @@ public class PageObjectsDividersProcessor {
     private List<FrameworkRectangle> dividersRectangles;
 
     /**
-     * Test mode flags
+     * Tolerances of the conversion
      */
-    private boolean testSortedMode = false;
-    private boolean testDividersMode = false;
+    private final ConversionContext context;
 
     public PageObjectsDividersProcessor(PDDocument document) {
+        this(document, new ConversionContext());
+    }
+
+    public PageObjectsDividersProcessor(PDDocument document, ConversionContext context) {
         this.document = document;
+        this.context = context;
         this.dividers = new ArrayList<>();
         this.dividersRectangles = new ArrayList<>();
     }
@@ -54,9 +67,10 @@ public class PageObjectsDividersProcessor {
         this.page = this.document.getPage(pageIndex - 1);
 
         // 1. sort all blocks by x that do not cross by y
+        SpatialIndex<Block> blocksIndex = SpatialIndex.build(blocks, Block::getRectangle);
         List<Block> sorted = sortBlocks(
                 blocks.stream().filter(block ->
-                        doesBlockCrossByYWithAnyInList(block, blocks)
+                        doesBlockCrossByYWithAnyInList(block, blocksIndex)
                 )
         ).collect(Collectors.toList());
 
@@ -84,15 +98,22 @@ public class PageObjectsDividersProcessor {
         drawDividersForTest(pageIndex);
     }
 
-    private boolean doesBlockCrossByYWithAnyInList(Block block, List<Block> blocks) {
-        return blocks.stream().anyMatch(listBlock -> {
-            if (!listBlock.equals(block)) {
-                return listBlock.getRectangle()
-                        .intersectsVertically(block.getRectangle()) > 0;
-            } else {
-                return false;
-            }
-        });
+    private boolean doesBlockCrossByYWithAnyInList(Block block, SpatialIndex<Block> blocksIndex) {
+        FrameworkRectangle rectangle = block.getRectangle();
+        return blocksIndex.anyMatch(
+                Double.NEGATIVE_INFINITY,
+                rectangle.getMinY(),
+                Double.POSITIVE_INFINITY,
+                rectangle.getMaxY(),
+                listBlock -> {
+                    if (!listBlock.equals(block)) {
+                        return listBlock.getRectangle()
+                                .intersectsVertically(rectangle) > 0;
+                    } else {
+                        return false;
+                    }
+                }
+        );
     }
 
     private Stream<Block> sortBlocks(Stream<Block> blocks) {
@@ -115,95 +136,296 @@ public class PageObjectsDividersProcessor {
      * @param sortedBlocksByX - block of page data sorted by x coordinate
      */
     private void findDividers(List<Block> sortedBlocksByX) {
-        sortedBlocksByX.forEach(block -> {
-                boolean hasBlocksOnTheLeft = false;
-                boolean hasBlocksOnTheRight = false;
-                for (Block comparingBlock : sortedBlocksByX) {
-                    if (block.getRectangle()
-                            .isBeforeHorizontallyWithXInaccuracy(comparingBlock.getRectangle(), 0) &&
-                            block.getRectangle().intersectsVertically(comparingBlock.getRectangle()) > 0 &&
-                            !hasBlocksOnTheRight
-                    ) {
-                        if (checkXSpaceBetweenTwoRectangles(
-                                block.getRectangle(),
-                                comparingBlock.getRectangle(),
-                                Globals.MINIMUM_DIVIDER_WIDTH
-                        )) {
-                            FrameworkRectangle dividerRectangle =
-                                    createRectangleBetweenTwoRectangles(
-                                            block.getRectangle(),
-                                            comparingBlock.getRectangle()
-                                    );
-
-                            if (dividerRectangle != null) {
-                                this.dividersRectangles.add(dividerRectangle);
-                            }
-                        }
-                        hasBlocksOnTheRight = true;
-                    }
-                    if (block.getRectangle()
-                            .isAfterHorizontallyWithXInaccuracy(comparingBlock.getRectangle(), 0) &&
-                            block.getRectangle().intersectsVertically(comparingBlock.getRectangle()) > 0 &&
-                            !hasBlocksOnTheLeft) {
-                        hasBlocksOnTheLeft = true;
+        List<FrameworkRectangle> rectangles = sortedBlocksByX.stream()
+                .map(Block::getRectangle)
+                .collect(Collectors.toList());
+        int[] rightBlocks = findFirstBlocksOnTheRight(rectangles);
+        boolean[] hasBlocksOnTheLeft = findBlocksOnTheLeft(rectangles);
+        for (int blockIndex = 0; blockIndex < rectangles.size(); blockIndex++) {
+            FrameworkRectangle rectangle = rectangles.get(blockIndex);
+            if (rightBlocks[blockIndex] >= 0) {
+                FrameworkRectangle rightRectangle = rectangles.get(rightBlocks[blockIndex]);
+                if (checkXSpaceBetweenTwoRectangles(
+                        rectangle,
+                        rightRectangle,
+                        Globals.MINIMUM_DIVIDER_WIDTH,
+                        this.context.getXInaccuracy()
+                )) {
+                    FrameworkRectangle dividerRectangle = createRectangleBetweenTwoRectangles(
+                            rectangle, rightRectangle, this.context.getXInaccuracy()
+                    );
+
+                    if (dividerRectangle != null) {
+                        this.dividersRectangles.add(dividerRectangle);
                     }
                 }
-                if (!hasBlocksOnTheLeft) {
-                    FrameworkRectangle rectangle = block.getRectangle();
-                    FrameworkRectangle leftSidePageRectangle =
-                            new FrameworkRectangle(
-                                    this.page.getCropBox().getLowerLeftX(),
-                                    rectangle.getMinY(),
-                                    rectangle.getMinX() - this.page.getCropBox().getLowerLeftX(),
-                                    rectangle.getHeight()
-                            );
-                    this.dividersRectangles.add(leftSidePageRectangle);
-                }
-                if (!hasBlocksOnTheRight) {
-                    FrameworkRectangle rectangle = block.getRectangle();
-                    FrameworkRectangle rightSidePageRectangle =
-                            new FrameworkRectangle(
-                                    rectangle.getMaxX(),
-                                    rectangle.getMinY(),
-                                    this.page.getCropBox().getUpperRightX(),
-                                    rectangle.getHeight()
-                            );
-                    this.dividersRectangles.add(rightSidePageRectangle);
-                }
             }
+            if (!hasBlocksOnTheLeft[blockIndex]) {
+                FrameworkRectangle leftSidePageRectangle =
+                        new FrameworkRectangle(
+                                this.page.getCropBox().getLowerLeftX(),
+                                rectangle.getMinY(),
+                                rectangle.getMinX() - this.page.getCropBox().getLowerLeftX(),
+                                rectangle.getHeight()
+                        );
+                this.dividersRectangles.add(leftSidePageRectangle);
+            }
+            if (rightBlocks[blockIndex] < 0) {
+                FrameworkRectangle rightSidePageRectangle =
+                        new FrameworkRectangle(
+                                rectangle.getMaxX(),
+                                rectangle.getMinY(),
+                                this.page.getCropBox().getUpperRightX(),
+                                rectangle.getHeight()
+                        );
+                this.dividersRectangles.add(rightSidePageRectangle);
+            }
+        }
+    }
+
+    /**
+     * Find the first block on the right side of every block,
+     * that is the first block in the list order which crosses the block
+     * by y and stands after it (see {@link FrameworkRectangle#isBeforeHorizontallyWithXInaccuracy}).
+     *
+     * Blocks sorted by x standing after a block are a suffix of the list.
+     * Blocks are swept from the end of the list and added to the tree
+     * of y intervals, when all blocks of the suffix of a block are added,
+     * the tree finds the first of them crossing the block.
+     *
+     * @param sortedByX - rectangles of blocks sorted by x coordinate
+     * @return index of the block on the right side of every block
+     *         or -1 if the block has no blocks on the right side
+     */
+    private int[] findFirstBlocksOnTheRight(List<FrameworkRectangle> sortedByX) {
+        int blocksCount = sortedByX.size();
+        int[] suffixStarts = new int[blocksCount];
+        for (int i = 0; i < blocksCount; i++) {
+            FrameworkRectangle rectangle = sortedByX.get(i);
+            suffixStarts[i] = countWhile(blocksCount, position -> !rectangle.isBeforeHorizontallyWithXInaccuracy(
+                    sortedByX.get(position), 0
+            ));
+        }
+
+        VerticalIntervalsTree tree = new VerticalIntervalsTree(sortedByX);
+        int[] rightBlocks = new int[blocksCount];
+        int added = blocksCount;
+        for (int blockIndex : sortIndices(suffixStarts, true)) {
+            while (added > suffixStarts[blockIndex]) {
+                tree.add(--added);
+            }
+            rightBlocks[blockIndex] = tree.findFirstCrossing(blockIndex);
+        }
+        return rightBlocks;
+    }
+
+    /**
+     * Check if there are blocks on the left side of every block,
+     * that is blocks which cross the block by y and stand before it
+     * (see {@link FrameworkRectangle#isAfterHorizontallyWithXInaccuracy}).
+     *
+     * Blocks standing before a block are a prefix of the blocks
+     * sorted by the end, they are swept in this order the same way
+     * as blocks on the right side.
+     *
+     * @param rectangles - rectangles of blocks
+     */
+    private boolean[] findBlocksOnTheLeft(List<FrameworkRectangle> rectangles) {
+        int blocksCount = rectangles.size();
+        int[] byMaxX = sortIndices(
+                rectangles.stream().mapToDouble(FrameworkRectangle::getMaxX).toArray()
         );
+        int[] prefixEnds = new int[blocksCount];
+        for (int i = 0; i < blocksCount; i++) {
+            FrameworkRectangle rectangle = rectangles.get(i);
+            prefixEnds[i] = countWhile(blocksCount, position -> rectangle.isAfterHorizontallyWithXInaccuracy(
+                    rectangles.get(byMaxX[position]), 0
+            ));
+        }
+
+        VerticalIntervalsTree tree = new VerticalIntervalsTree(rectangles);
+        boolean[] hasBlocksOnTheLeft = new boolean[blocksCount];
+        int added = 0;
+        for (int blockIndex : sortIndices(prefixEnds, false)) {
+            while (added < prefixEnds[blockIndex]) {
+                tree.add(byMaxX[added++]);
+            }
+            hasBlocksOnTheLeft[blockIndex] = tree.findFirstCrossing(blockIndex) >= 0;
+        }
+        return hasBlocksOnTheLeft;
+    }
+
+    /**
+     * @param predicate - predicate which is true for a prefix of positions
+     * @return length of the prefix
+     */
+    private static int countWhile(int positionsCount, IntPredicate predicate) {
+        int low = 0;
+        int high = positionsCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (predicate.test(middle)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 
     /**
-     * Combine all dividers
+     * @return indices of the values in the order of the values
+     */
+    private static int[] sortIndices(int[] values, boolean descending) {
+        // a value and its index packed to one key, keys
+        // of equal values are ordered by the index
+        long[] keys = new long[values.length];
+        for (int index = 0; index < values.length; index++) {
+            keys[index] = (long) (descending ? -values[index] : values[index]) << 32 | index;
+        }
+        Arrays.sort(keys);
+        int[] indices = new int[values.length];
+        for (int position = 0; position < keys.length; position++) {
+            indices[position] = (int) keys[position];
+        }
+        return indices;
+    }
+
+    /**
+     * Stable merge sort of indices by the values,
+     * indices of equal values keep their order
+     *
+     * @return indices of the values in the ascending order of the values
+     */
+    private static int[] sortIndices(double[] values) {
+        int[] indices = new int[values.length];
+        for (int index = 0; index < values.length; index++) {
+            indices[index] = index;
+        }
+        int[] buffer = new int[values.length];
+        for (int width = 1; width < indices.length; width *= 2) {
+            for (int low = 0; low < indices.length - width; low += 2 * width) {
+                int middle = low + width;
+                int high = Math.min(low + 2 * width, indices.length);
+                int left = low;
+                int right = middle;
+                for (int position = low; position < high; position++) {
+                    if (right >= high || left < middle && values[indices[left]] <= values[indices[right]]) {
+                        buffer[position] = indices[left++];
+                    } else {
+                        buffer[position] = indices[right++];
+                    }
+                }
+                System.arraycopy(buffer, low, indices, low, high - low);
+            }
+        }
+        return indices;
+    }
+
+    /**
+     * Combine all dividers.
+     *
+     * Every divider is merged with all the dividers in list order,
+     * which overlap it enough horizontally. A merged divider only becomes
+     * narrower, so dividers it may overlap are found by its bounds before
+     * merging, the other dividers are skipped. A divider of zero width
+     * overlaps any divider enough, such dividers are never skipped.
      */
     private void mergeDividers() {
-        this.dividersRectangles.forEach(divider -> {
-            for (FrameworkRectangle comparingDivider: this.dividersRectangles) {
-                float intersection = divider.intersectsHorizontally(comparingDivider);
-                if ((intersection >= (0.55 * divider.getWidth())
-                        || intersection >= (0.55 * comparingDivider.getWidth()))) {
-                    FrameworkRectangle resultDivider =
-                            uniteTwoRectanglesByXMinimally(divider, comparingDivider);
-                    divider.setRectangleCoordinates(
-                            resultDivider.getMinX(),
-                            resultDivider.getMinY(),
-                            resultDivider.getMaxX(),
-                            resultDivider.getMaxY()
-                    );
+        List<FrameworkRectangle> dividers = this.dividersRectangles;
+        SpatialIndex<FrameworkRectangle> dividersIndex = SpatialIndex.build(dividers, Function.identity());
+        BitSet zeroWidthDividers = new BitSet(dividers.size());
+        for (int dividerIndex = 0; dividerIndex < dividers.size(); dividerIndex++) {
+            if (dividers.get(dividerIndex).getWidth() == 0) {
+                zeroWidthDividers.set(dividerIndex);
+            }
+        }
+
+        for (int dividerIndex = 0; dividerIndex < dividers.size(); dividerIndex++) {
+            FrameworkRectangle divider = dividers.get(dividerIndex);
+            int comparingDividerIndex = 0;
+            if (divider.getWidth() > 0) {
+                BitSet overlapping = findOverlappingDividers(dividersIndex, divider, zeroWidthDividers);
+                for (int overlappingIndex = overlapping.nextSetBit(0);
+                     overlappingIndex >= 0;
+                     overlappingIndex = overlapping.nextSetBit(overlappingIndex + 1)) {
+                    mergeDivider(divider, dividers.get(overlappingIndex));
+                    comparingDividerIndex = overlappingIndex + 1;
+                    if (divider.getWidth() == 0) {
+                        break;
+                    }
                 }
             }
-        });
+            if (divider.getWidth() == 0) {
+                for (; comparingDividerIndex < dividers.size(); comparingDividerIndex++) {
+                    mergeDivider(divider, dividers.get(comparingDividerIndex));
+                }
+                zeroWidthDividers.set(dividerIndex);
+            }
+        }
     }
 
+    /**
+     * Indices of dividers which may overlap the divider horizontally
+     * and of dividers of zero width, set bits are visited in list order
+     * without sorting the found indices
+     */
+    private BitSet findOverlappingDividers(
+            SpatialIndex<FrameworkRectangle> dividersIndex,
+            FrameworkRectangle divider,
+            BitSet zeroWidthDividers
+    ) {
+        BitSet overlapping = (BitSet) zeroWidthDividers.clone();
+        // merged coordinates are rounded to float,
+        // the margin keeps rounded dividers found
+        dividersIndex.search(
+                divider.getMinX() - ROUNDING_MARGIN,
+                Double.NEGATIVE_INFINITY,
+                divider.getMaxX() + ROUNDING_MARGIN,
+                Double.POSITIVE_INFINITY,
+                index -> {
+                    overlapping.set(index);
+                    return true;
+                }
+        );
+        return overlapping;
+    }
+
+    private void mergeDivider(FrameworkRectangle divider, FrameworkRectangle comparingDivider) {
+        float intersection = divider.intersectsHorizontally(comparingDivider);
+        if ((intersection >= (0.55 * divider.getWidth())
+                || intersection >= (0.55 * comparingDivider.getWidth()))) {
+            FrameworkRectangle resultDivider =
+                    uniteTwoRectanglesByXMinimally(divider, comparingDivider);
+            divider.setRectangleCoordinates(
+                    resultDivider.getMinX(),
+                    resultDivider.getMinY(),
+                    resultDivider.getMaxX(),
+                    resultDivider.getMaxY()
+            );
+        }
+    }
+
+    /**
+     * Cut every divider by the blocks it intersects in list order.
+     * A cut divider only becomes smaller, so the blocks it may
+     * intersect are found by its bounds before cutting.
+     */
     private void cutDividers(List<Block> blocks) {
         List<FrameworkRectangle> cutResultDividers = new ArrayList<>();
+        SpatialIndex<Block> blocksIndex = SpatialIndex.build(blocks, Block::getRectangle);
+        FrameworkRectangle intersectionRectangle = new FrameworkRectangle();
         this.dividersRectangles.forEach(divider -> {
-            blocks.forEach(block -> {
-                if (divider.intersects(block.getRectangle())) {
-
-                    FrameworkRectangle intersectionRectangle =
-                            divider.getIntersection(block.getRectangle());
+            int[] intersectingBlocks = blocksIndex.findIndices(
+                    divider.getMinX() - ROUNDING_MARGIN,
+                    divider.getMinY() - ROUNDING_MARGIN,
+                    divider.getMaxX() + ROUNDING_MARGIN,
+                    divider.getMaxY() + ROUNDING_MARGIN
+            );
+            for (int blockIndex : intersectingBlocks) {
+                Block block = blocks.get(blockIndex);
+                intersectionRectangle.copyFrom(divider);
+                if (intersectionRectangle.intersect(block.getRectangle())) {
 
                     if (intersectionRectangle.getWidth() > 0 &&
                             intersectionRectangle.getHeight() > 0) {
@@ -223,7 +445,7 @@ public class PageObjectsDividersProcessor {
                         cutResultDividers.add(downPartDivider);
                     }
                 }
-            });
+            }
         });
         this.dividersRectangles.addAll(cutResultDividers);
     }
@@ -239,38 +461,104 @@ public class PageObjectsDividersProcessor {
      * Filter out dividers that do not contain
      * any data blocks on pne of their side.
      *
+     * A block is on the left side of a divider if it starts before
+     * the divider and ends before the divider start with inaccuracy
+     * (see {@link FrameworkRectangle#isBeforeHorizontallyWithXInaccuracy}).
+     * Blocks are sorted by the end once, then blocks ending before
+     * a divider are a prefix of them and the minimum start
+     * of every prefix tells if any of them starts before the divider.
+     * The right side is checked the same way with blocks sorted by the start.
+     *
      * @param blocks - blocks of page data
      */
     private void filterDividers(List<Block> blocks) {
+        int blocksCount = blocks.size();
+        double xInaccuracy = this.context.getXInaccuracy();
+
+        double[] maxXs = new double[blocksCount];
+        double[] prefixMinimumMinXs = new double[blocksCount];
+        List<FrameworkRectangle> byMaxX = blocks.stream()
+                .map(Block::getRectangle)
+                .sorted(Comparator.comparingDouble(FrameworkRectangle::getMaxX))
+                .collect(Collectors.toList());
+        for (int i = 0; i < blocksCount; i++) {
+            maxXs[i] = byMaxX.get(i).getMaxX();
+            prefixMinimumMinXs[i] = i == 0
+                    ? byMaxX.get(i).getMinX()
+                    : Math.min(prefixMinimumMinXs[i - 1], byMaxX.get(i).getMinX());
+        }
+
+        double[] minXs = new double[blocksCount];
+        double[] suffixMaximumMaxXs = new double[blocksCount];
+        List<FrameworkRectangle> byMinX = blocks.stream()
+                .map(Block::getRectangle)
+                .sorted(Comparator.comparingDouble(FrameworkRectangle::getMinX))
+                .collect(Collectors.toList());
+        for (int i = blocksCount - 1; i >= 0; i--) {
+            minXs[i] = byMinX.get(i).getMinX();
+            suffixMaximumMaxXs[i] = i == blocksCount - 1
+                    ? byMinX.get(i).getMaxX()
+                    : Math.max(suffixMaximumMaxXs[i + 1], byMinX.get(i).getMaxX());
+        }
+
         this.dividersRectangles = this.dividersRectangles.stream().filter(d -> {
-            boolean hasBlocksOnTheLeft = blocks.stream().anyMatch(b ->
-                    b.getRectangle()
-                            .isBeforeHorizontallyWithXInaccuracy(d, Properties.xInaccuracy)
-            );
-            boolean hasBlocksOnTheRight = blocks.stream().anyMatch(b ->
-                    b.getRectangle()
-                            .isAfterHorizontallyWithXInaccuracy(d, Properties.xInaccuracy)
-            );
+            double leftLimit = Math.max(d.getMinX() + xInaccuracy, d.getMinX() - xInaccuracy);
+            int endingBefore = countNotGreater(maxXs, leftLimit);
+            boolean hasBlocksOnTheLeft = endingBefore > 0
+                    && prefixMinimumMinXs[endingBefore - 1] < d.getMinX();
+
+            double rightLimit = Math.min(d.getMaxX() + xInaccuracy, d.getMaxX() - xInaccuracy);
+            int startingAfter = countLess(minXs, rightLimit);
+            boolean hasBlocksOnTheRight = startingAfter < blocksCount
+                    && suffixMaximumMaxXs[startingAfter] > d.getMaxX();
             return hasBlocksOnTheLeft && hasBlocksOnTheRight;
         }
         ).collect(Collectors.toList());
-        System.out.println();
+    }
+
+    /**
+     * @return number of sorted values which are not greater than the limit
+     */
+    private static int countNotGreater(double[] sortedValues, double limit) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] <= limit) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return number of sorted values which are less than the limit
+     */
+    private static int countLess(double[] sortedValues, double limit) {
+        int low = 0;
+        int high = sortedValues.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sortedValues[middle] < limit) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 
     private void drawSortedBlocksRectangles(
             int pageIndex,
             List<Block> sorted
     ) {
-        if (testSortedMode) {
+        DebugOverlay overlay = this.context.getDebugOverlay(DebugLayer.SORTED_BLOCKS);
+        if (overlay != null) {
             int counter = 0;
             for (Block b : sorted) {
-                drawRectangle(
-                        this.document,
-                        this.document.getPages().get(pageIndex - 1),
-                        b.getRectangle(),
-                        Color.red,
-                        String.valueOf(counter)
-                );
+                overlay.addRectangle(pageIndex, b.getRectangle(), Color.red, String.valueOf(counter));
                 counter++;
             }
         }
@@ -279,15 +567,10 @@ public class PageObjectsDividersProcessor {
     private void drawDividersForTest(
             int pageIndex
     ) {
-        if (testDividersMode) {
+        DebugOverlay overlay = this.context.getDebugOverlay(DebugLayer.DIVIDERS);
+        if (overlay != null) {
             this.dividersRectangles.forEach(divider -> {
-                drawRectangle(
-                        this.document,
-                        this.document.getPages().get(pageIndex - 1),
-                        divider,
-                        Color.red,
-                        null
-                );
+                overlay.addRectangle(pageIndex, divider, Color.red);
             });
         }
     }
@@ -0,0 +1,129 @@
+package pdftohtml.processors.pdf.objects.dividers;
+
+import pdftohtml.domain.common.FrameworkRectangle;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Segment tree over y coordinates of rectangles, which finds
+ * the first of the added rectangles crossing a rectangle by y.
+ *
+ * Rectangles cross by y like in {@link FrameworkRectangle#intersectsVertically},
+ * that is their y coordinates rounded to float overlap by more than zero.
+ * Every y coordinate of the rectangles splits the y axis into elementary
+ * gaps, a rectangle covers the gaps between its coordinates and two
+ * rectangles cross if they cover a common gap. Adding a rectangle and
+ * searching cost O(log n).
+ */
+class VerticalIntervalsTree {
+
+    private static final int NONE = Integer.MAX_VALUE;
+
+    /**
+     * First and last covered gap of every rectangle,
+     * the first is greater than the last if the rectangle
+     * has zero height
+     */
+    private final int[] firstGaps;
+    private final int[] lastGaps;
+
+    private final int gapsCount;
+
+    /**
+     * Minimum index of the rectangles covering the whole
+     * gaps range of the node and of the rectangles covering
+     * any part of the range
+     */
+    private final int[] covering;
+    private final int[] overlapping;
+
+    /**
+     * @param rectangles - rectangles which can be added and searched,
+     *                     they are referred by index in the list
+     */
+    VerticalIntervalsTree(List<FrameworkRectangle> rectangles) {
+        int size = rectangles.size();
+        double[] coordinates = new double[2 * size];
+        for (int i = 0; i < size; i++) {
+            coordinates[2 * i] = (float) rectangles.get(i).getMinY();
+            coordinates[2 * i + 1] = (float) rectangles.get(i).getMaxY();
+        }
+        Arrays.sort(coordinates);
+        int uniqueCount = 0;
+        for (double coordinate : coordinates) {
+            if (uniqueCount == 0 || coordinates[uniqueCount - 1] != coordinate) {
+                coordinates[uniqueCount++] = coordinate;
+            }
+        }
+
+        this.firstGaps = new int[size];
+        this.lastGaps = new int[size];
+        for (int i = 0; i < size; i++) {
+            this.firstGaps[i] = Arrays.binarySearch(
+                    coordinates, 0, uniqueCount, (float) rectangles.get(i).getMinY()
+            );
+            this.lastGaps[i] = Arrays.binarySearch(
+                    coordinates, 0, uniqueCount, (float) rectangles.get(i).getMaxY()
+            ) - 1;
+        }
+        this.gapsCount = Math.max(uniqueCount - 1, 1);
+        this.covering = new int[4 * this.gapsCount];
+        this.overlapping = new int[4 * this.gapsCount];
+        Arrays.fill(this.covering, NONE);
+        Arrays.fill(this.overlapping, NONE);
+    }
+
+    /**
+     * @param index - index of the rectangle to add
+     */
+    void add(int index) {
+        if (this.firstGaps[index] <= this.lastGaps[index]) {
+            add(1, 0, this.gapsCount - 1, this.firstGaps[index], this.lastGaps[index], index);
+        }
+    }
+
+    /**
+     * @param index - index of the rectangle to search crossing rectangles for
+     * @return minimum index of the added rectangles crossing
+     *         the rectangle by y or -1 if there are no such rectangles
+     */
+    int findFirstCrossing(int index) {
+        if (this.firstGaps[index] > this.lastGaps[index]) {
+            return -1;
+        }
+        int found = find(1, 0, this.gapsCount - 1, this.firstGaps[index], this.lastGaps[index]);
+        return found == NONE ? -1 : found;
+    }
+
+    private void add(int node, int start, int end, int firstGap, int lastGap, int index) {
+        if (lastGap < start || end < firstGap) {
+            return;
+        }
+        this.overlapping[node] = Math.min(this.overlapping[node], index);
+        if (firstGap <= start && end <= lastGap) {
+            this.covering[node] = Math.min(this.covering[node], index);
+            return;
+        }
+        int middle = (start + end) >>> 1;
+        add(2 * node, start, middle, firstGap, lastGap, index);
+        add(2 * node + 1, middle + 1, end, firstGap, lastGap, index);
+    }
+
+    private int find(int node, int start, int end, int firstGap, int lastGap) {
+        if (lastGap < start || end < firstGap) {
+            return NONE;
+        }
+        if (firstGap <= start && end <= lastGap) {
+            return this.overlapping[node];
+        }
+        int middle = (start + end) >>> 1;
+        return Math.min(
+                this.covering[node],
+                Math.min(
+                        find(2 * node, start, middle, firstGap, lastGap),
+                        find(2 * node + 1, middle + 1, end, firstGap, lastGap)
+                )
+        );
+    }
+}
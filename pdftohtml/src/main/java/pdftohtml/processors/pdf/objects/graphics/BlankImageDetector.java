@@ -0,0 +1,234 @@
+package pdftohtml.processors.pdf.objects.graphics;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.PixelInterleavedSampleModel;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Finds images which are transparent or have only one color.
+ *
+ * Images are checked by their stream metadata first, so such
+ * images are not decoded at all. Decoded images are checked
+ * on a sparse grid of pixels first, which finds most of the
+ * images with content at once, and then row by row on the data
+ * of the raster. Rows of the raster are compared as they are
+ * stored with a row of the first pixel, only the pixels stored
+ * differently are converted to RGB to compare them the same
+ * way as {@link BufferedImage#getRGB}.
+ */
+public class BlankImageDetector {
+
+  /**
+   * Maximum number of pixels checked in a row or
+   * a column of an image before it is checked fully
+   */
+  private static final int SAMPLES_PER_SIDE = 32;
+
+  /**
+   * @return true if all the pixels of the image have the same color
+   * whatever its data is, false if the image has to be decoded to know it
+   */
+  public boolean isBlankByMetadata(PDImageXObject image) throws IOException {
+    // masks change the transparency of the pixels
+    if (image.isStencil()
+            || image.getSoftMask() != null
+            || image.getMask() != null
+            || image.getColorKeyMask() != null) {
+      return false;
+    }
+    if (image.getWidth() == 1 && image.getHeight() == 1) {
+      return true;
+    }
+    return isSingleValueDecode(image.getDecode());
+  }
+
+  /**
+   * Every sample of an image with a decode array like [0.5 0.5]
+   * is decoded to the same value, whatever value it has
+   */
+  private boolean isSingleValueDecode(COSArray decode) {
+    if (decode == null || decode.size() == 0 || decode.size() % 2 != 0) {
+      return false;
+    }
+    for (int i = 0; i < decode.size(); i += 2) {
+      COSBase minimum = decode.getObject(i);
+      COSBase maximum = decode.getObject(i + 1);
+      if (!(minimum instanceof COSNumber) || !(maximum instanceof COSNumber)
+              || ((COSNumber) minimum).floatValue() != ((COSNumber) maximum).floatValue()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return true if all the pixels of the image have the same RGB and alpha values
+   */
+  public boolean isTransparentOrMonotoneColor(BufferedImage image) {
+    if (image.getWidth() == 0 || image.getHeight() == 0) {
+      return true;
+    }
+    int color = image.getRGB(0, 0);
+    if (!samplesHaveColor(image, color)) {
+      return false;
+    }
+    WritableRaster raster = image.getRaster();
+    if (raster.getSampleModelTranslateX() == 0 && raster.getSampleModelTranslateY() == 0) {
+      SampleModel sampleModel = raster.getSampleModel();
+      DataBuffer dataBuffer = raster.getDataBuffer();
+      if (sampleModel instanceof SinglePixelPackedSampleModel
+              && dataBuffer instanceof DataBufferInt
+              && dataBuffer.getNumBanks() == 1) {
+        return packedPixelsHaveColor(
+                image,
+                (SinglePixelPackedSampleModel) sampleModel,
+                (DataBufferInt) dataBuffer,
+                color
+        );
+      }
+      if (sampleModel instanceof PixelInterleavedSampleModel
+              && dataBuffer instanceof DataBufferByte
+              && dataBuffer.getNumBanks() == 1
+              && hasOnlyBandsInPixel((PixelInterleavedSampleModel) sampleModel)) {
+        return interleavedPixelsHaveColor(
+                image,
+                (PixelInterleavedSampleModel) sampleModel,
+                (DataBufferByte) dataBuffer,
+                color
+        );
+      }
+    }
+    return rowsHaveColor(image, color);
+  }
+
+  private boolean samplesHaveColor(BufferedImage image, int color) {
+    int xStep = Math.max(1, image.getWidth() / SAMPLES_PER_SIDE);
+    int yStep = Math.max(1, image.getHeight() / SAMPLES_PER_SIDE);
+    for (int y = yStep / 2; y < image.getHeight(); y += yStep) {
+      for (int x = xStep / 2; x < image.getWidth(); x += xStep) {
+        if (image.getRGB(x, y) != color) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Every pixel is one int, e.g. TYPE_INT_RGB and TYPE_INT_ARGB images
+   */
+  private boolean packedPixelsHaveColor(
+          BufferedImage image,
+          SinglePixelPackedSampleModel sampleModel,
+          DataBufferInt dataBuffer,
+          int color
+  ) {
+    int mask = 0;
+    for (int bandMask : sampleModel.getBitMasks()) {
+      mask |= bandMask;
+    }
+    int[] data = dataBuffer.getData();
+    int offset = dataBuffer.getOffset();
+    int scanlineStride = sampleModel.getScanlineStride();
+    int width = image.getWidth();
+    int[] firstPixelRow = new int[width];
+    Arrays.fill(firstPixelRow, data[offset]);
+    for (int y = 0; y < image.getHeight(); y++) {
+      int rowStart = offset + y * scanlineStride;
+      int x = 0;
+      while (x < width) {
+        int mismatch = Arrays.mismatch(data, rowStart + x, rowStart + width, firstPixelRow, x, width);
+        if (mismatch < 0) {
+          break;
+        }
+        x += mismatch;
+        if (((data[rowStart + x] ^ data[offset]) & mask) != 0 && image.getRGB(x, y) != color) {
+          return false;
+        }
+        x++;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Every pixel is a few adjacent bytes, e.g. TYPE_BYTE_GRAY,
+   * TYPE_3BYTE_BGR and TYPE_4BYTE_ABGR images
+   */
+  private boolean interleavedPixelsHaveColor(
+          BufferedImage image,
+          PixelInterleavedSampleModel sampleModel,
+          DataBufferByte dataBuffer,
+          int color
+  ) {
+    byte[] data = dataBuffer.getData();
+    int offset = dataBuffer.getOffset();
+    int pixelStride = sampleModel.getPixelStride();
+    int scanlineStride = sampleModel.getScanlineStride();
+    int rowLength = image.getWidth() * pixelStride;
+    byte[] firstPixelRow = new byte[rowLength];
+    for (int i = 0; i < rowLength; i++) {
+      firstPixelRow[i] = data[offset + i % pixelStride];
+    }
+    for (int y = 0; y < image.getHeight(); y++) {
+      int rowStart = offset + y * scanlineStride;
+      int i = 0;
+      while (i < rowLength) {
+        int mismatch = Arrays.mismatch(data, rowStart + i, rowStart + rowLength, firstPixelRow, i, rowLength);
+        if (mismatch < 0) {
+          break;
+        }
+        int x = (i + mismatch) / pixelStride;
+        if (image.getRGB(x, y) != color) {
+          return false;
+        }
+        i = (x + 1) * pixelStride;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * @return true if the pixel bytes contain only samples of the pixel
+   */
+  private boolean hasOnlyBandsInPixel(PixelInterleavedSampleModel sampleModel) {
+    if (sampleModel.getPixelStride() != sampleModel.getNumBands()) {
+      return false;
+    }
+    for (int bandOffset : sampleModel.getBandOffsets()) {
+      if (bandOffset < 0 || bandOffset >= sampleModel.getPixelStride()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Images of the other types are converted to RGB a row at a time
+   */
+  private boolean rowsHaveColor(BufferedImage image, int color) {
+    int width = image.getWidth();
+    int[] row = new int[width];
+    for (int y = 0; y < image.getHeight(); y++) {
+      image.getRGB(0, y, width, 1, row, 0, width);
+      for (int x = 0; x < width; x++) {
+        if (row[x] != color) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+}
@@ -2,30 +2,27 @@ package pdftohtml.processors.pdf.objects.graphics;
 
 import lombok.Getter;
 import lombok.Setter;
-import org.apache.pdfbox.contentstream.PDFStreamEngine;
-import org.apache.pdfbox.contentstream.operator.DrawObject;
-import org.apache.pdfbox.contentstream.operator.Operator;
-import org.apache.pdfbox.contentstream.operator.state.Concatenate;
-import org.apache.pdfbox.contentstream.operator.state.Restore;
-import org.apache.pdfbox.contentstream.operator.state.Save;
-import org.apache.pdfbox.contentstream.operator.state.SetGraphicsStateParameters;
-import org.apache.pdfbox.contentstream.operator.state.SetMatrix;
-import org.apache.pdfbox.cos.COSBase;
-import org.apache.pdfbox.cos.COSName;
+import lombok.extern.log4j.Log4j;
 import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.graphics.PDXObject;
-import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.apache.pdfbox.util.Matrix;
 import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.graphics.ExtractedImage;
 import pdftohtml.domain.pdf.object.graphics.GraphicsObject;
+import pdftohtml.processors.pdf.objects.stream.PageContentCollector;
+import pdftohtml.processors.pdf.objects.stream.PageContentStreamEngine;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * Gathers images drawn on a page with their positions,
+ * images are passed to it by {@link PageContentStreamEngine}
+ */
+@Log4j
 @Getter
-public class GraphicsProcessor extends PDFStreamEngine {
+public class GraphicsProcessor implements PageContentCollector {
 
   @Setter
   private int pageIndex;
@@ -35,54 +32,46 @@ public class GraphicsProcessor extends PDFStreamEngine {
 
   private List<GraphicsObject> graphicsObjects = new ArrayList<>();
 
-  public GraphicsProcessor() throws IOException {
-    addOperator(new Concatenate());
-    addOperator(new DrawObject());
-    addOperator(new SetGraphicsStateParameters());
-    addOperator(new Save());
-    addOperator(new Restore());
-    addOperator(new SetMatrix());
-  }
+  /**
+   * Images of all processed pages of the document
+   */
+  private final ImageExtractor imageExtractor = new ImageExtractor();
 
   @Override
-  public void processPage(PDPage page) throws IOException {
+  public void startPage(PDPage page) {
     this.pageWidth = page.getCropBox().getWidth();
     this.pageHeight = page.getCropBox().getHeight();
-    super.processPage(page);
+    this.graphicsObjects = new ArrayList<>();
   }
 
   @Override
-  protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
-    String operation = operator.getName();
-    if ("Do".equals(operation)) {
-      COSName objectName = (COSName) operands.get(0);
-      PDXObject xObject = getResources().getXObject(objectName);
-      if (xObject instanceof PDImageXObject) {
-        PDImageXObject imageXObject = (PDImageXObject) xObject;
-        Matrix ctmNew = getGraphicsState().getCurrentTransformationMatrix();
+  public void processImage(PDImageXObject imageXObject, Matrix ctmNew) {
+    // an image which can not be decoded is skipped,
+    // so that it does not break text extraction
+    // running in the same pass
+    ExtractedImage image;
+    try {
+      image = this.imageExtractor.extract(imageXObject);
+    } catch (IOException | RuntimeException e) {
+      log.warn("Image on page " + this.pageIndex + " is skipped, it can not be decoded", e);
+      return;
+    }
 
-        float imageXScale = ctmNew.getScalingFactorX();
-        float imageYScale = ctmNew.getScalingFactorY();
-        GraphicsObject graphicsObject = new GraphicsObject();
-        graphicsObject.setRectangle(
-                new FrameworkRectangle(
-                        ctmNew.getTranslateX(),
-                        this.pageHeight - ctmNew.getTranslateY() - imageYScale,
-                        imageXScale, imageYScale)
-        );
-        graphicsObject.setImage(imageXObject.getImage());
-        graphicsObjects.add(graphicsObject);
+    float imageXScale = ctmNew.getScalingFactorX();
+    float imageYScale = ctmNew.getScalingFactorY();
+    GraphicsObject graphicsObject = new GraphicsObject();
+    graphicsObject.setRectangle(
+            new FrameworkRectangle(
+                    ctmNew.getTranslateX(),
+                    this.pageHeight - ctmNew.getTranslateY() - imageYScale,
+                    imageXScale, imageYScale)
+    );
+    graphicsObject.setImage(image);
+    graphicsObjects.add(graphicsObject);
 
-        // position in user space units. 1 unit = 1/72 inch at 72 dpi
-        //System.out.println("position in PDF = " + ctmNew.getTranslateX() + ", " + ctmNew.getTranslateY() + " in user space units");
-        // displayed size in user space units
-        //System.out.println("displayed size  = " + imageXScale + ", " + imageYScale + " in user space units");
-      } else if (xObject instanceof PDFormXObject) {
-        PDFormXObject form = (PDFormXObject) xObject;
-        showForm(form);
-      }
-    } else {
-      super.processOperator(operator, operands);
-    }
+    // position in user space units. 1 unit = 1/72 inch at 72 dpi
+    //System.out.println("position in PDF = " + ctmNew.getTranslateX() + ", " + ctmNew.getTranslateY() + " in user space units");
+    // displayed size in user space units
+    //System.out.println("displayed size  = " + imageXScale + ", " + imageYScale + " in user space units");
   }
 }
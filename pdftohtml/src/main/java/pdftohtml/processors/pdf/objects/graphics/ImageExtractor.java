@@ -0,0 +1,267 @@
+package pdftohtml.processors.pdf.objects.graphics;
+
+import lombok.Getter;
+import org.apache.commons.io.IOUtils;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.color.PDICCBased;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import pdftohtml.domain.pdf.object.graphics.ExtractedImage;
+import pdftohtml.domain.pdf.object.graphics.ImageFormat;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts images of a document, every image is extracted
+ * once however many times and on however many pages it is drawn.
+ *
+ * An image drawn again is found by its stream object. Images with
+ * different stream objects but the same content, e.g. a logo embedded
+ * on every page separately, are found by the hash of the stream.
+ * JPEG and JPEG 2000 streams are copied without decoding when
+ * the browser shows them the same way as the PDF viewer does.
+ * Such images are checked for being blank on a small subsampled
+ * copy, and decoded at full size only when the copy looks blank.
+ *
+ * Bytes and pixels of an image are returned only when the image
+ * is found for the first time, to be written, then the extractor
+ * keeps only its key, format and size, so the memory it needs
+ * does not grow with the number of pages.
+ */
+public class ImageExtractor {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /**
+   * Nesting of stream dictionaries added to the hash,
+   * deeper objects are not a part of an image
+   */
+  private static final int MAX_HASHED_DEPTH = 8;
+
+  /**
+   * Size of the longer side of the subsampled copy
+   * of a copied image checked for being blank
+   */
+  private static final int BLANK_CHECK_SAMPLE_SIZE = 64;
+
+  /**
+   * Images without their data by stream and by hash
+   */
+  private final Map<COSStream, ExtractedImage> imagesByStream = new IdentityHashMap<>();
+  private final Map<String, ExtractedImage> imagesByHash = new HashMap<>();
+
+  private final BlankImageDetector blankImageDetector = new BlankImageDetector();
+
+  /**
+   * Number of images which were decoded at full size
+   */
+  @Getter
+  private int decodedImagesCount = 0;
+
+  /**
+   * @param imageXObject - image drawn on a page
+   * @return the image with its data if it is found for the first time,
+   * the image without data with the same key otherwise
+   */
+  public ExtractedImage extract(PDImageXObject imageXObject) throws IOException {
+    COSStream stream = imageXObject.getCOSObject();
+    ExtractedImage image = this.imagesByStream.get(stream);
+    if (image != null) {
+      return image;
+    }
+    byte[] rawData = readRawData(stream);
+    MessageDigest digest = createDigest();
+    digest.update(rawData);
+    addToDigest(digest, stream, 0);
+    String key = toHex(digest.digest());
+
+    image = this.imagesByHash.get(key);
+    if (image != null) {
+      this.imagesByStream.put(stream, image);
+      return image;
+    }
+    ExtractedImage extractedImage = createImage(key, imageXObject, rawData);
+    image = extractedImage.withoutData();
+    this.imagesByHash.put(key, image);
+    this.imagesByStream.put(stream, image);
+    return extractedImage;
+  }
+
+  private ExtractedImage createImage(String key, PDImageXObject imageXObject, byte[] rawData) throws IOException {
+    if (this.blankImageDetector.isBlankByMetadata(imageXObject)) {
+      return ExtractedImage.blank(key, imageXObject.getWidth(), imageXObject.getHeight());
+    }
+    List<COSName> filters = imageXObject.getStream().getFilters();
+    ImageFormat format = getPassthroughFormat(imageXObject, filters);
+    if (format == null) {
+      BufferedImage decodedImage = imageXObject.getImage();
+      this.decodedImagesCount++;
+      if (this.blankImageDetector.isTransparentOrMonotoneColor(decodedImage)) {
+        return ExtractedImage.blank(key, decodedImage.getWidth(), decodedImage.getHeight());
+      }
+      return ExtractedImage.decoded(key, decodedImage);
+    }
+    if (isBlankCopiedImage(imageXObject)) {
+      return ExtractedImage.blank(key, imageXObject.getWidth(), imageXObject.getHeight());
+    }
+    byte[] encodedData = rawData;
+    if (filters.size() > 1) {
+      // remove the filters applied over the JPEG data
+      COSName imageFilter = filters.get(filters.size() - 1);
+      try (InputStream input = imageXObject.getStream()
+              .createInputStream(Collections.singletonList(imageFilter.getName()))) {
+        encodedData = IOUtils.toByteArray(input);
+      }
+    }
+    return ExtractedImage.encoded(
+            key,
+            format,
+            imageXObject.getWidth(),
+            imageXObject.getHeight(),
+            encodedData
+    );
+  }
+
+  /**
+   * An image with details has them in its subsampled copy as well,
+   * which is much cheaper to decode, so only an image looking blank
+   * in the copy is decoded at full size to be sure it is blank
+   */
+  private boolean isBlankCopiedImage(PDImageXObject imageXObject) throws IOException {
+    int subsampling = Math.max(imageXObject.getWidth(), imageXObject.getHeight()) / BLANK_CHECK_SAMPLE_SIZE;
+    if (subsampling > 1
+            && !this.blankImageDetector.isTransparentOrMonotoneColor(imageXObject.getImage(null, subsampling))) {
+      return false;
+    }
+    BufferedImage decodedImage = imageXObject.getImage();
+    this.decodedImagesCount++;
+    return this.blankImageDetector.isTransparentOrMonotoneColor(decodedImage);
+  }
+
+  /**
+   * Masks, decode arrays and color spaces other than gray
+   * and RGB are applied only when an image is decoded,
+   * so such images are converted
+   *
+   * @return format the image stream is copied in,
+   * null if the image has to be converted
+   */
+  private ImageFormat getPassthroughFormat(PDImageXObject imageXObject, List<COSName> filters) throws IOException {
+    if (filters.isEmpty()) {
+      return null;
+    }
+    COSName imageFilter = filters.get(filters.size() - 1);
+    ImageFormat format;
+    if (COSName.DCT_DECODE.equals(imageFilter)) {
+      format = ImageFormat.JPEG;
+    } else if (COSName.JPX_DECODE.equals(imageFilter)) {
+      format = ImageFormat.JPEG2000;
+    } else {
+      return null;
+    }
+    if (imageXObject.isStencil()
+            || imageXObject.getSoftMask() != null
+            || imageXObject.getMask() != null
+            || imageXObject.getColorKeyMask() != null
+            || !isDefaultDecode(imageXObject.getDecode())) {
+      return null;
+    }
+    PDColorSpace colorSpace = imageXObject.getColorSpace();
+    boolean grayOrRgb = colorSpace instanceof PDDeviceGray
+            || colorSpace instanceof PDDeviceRGB
+            || colorSpace instanceof PDICCBased && colorSpace.getNumberOfComponents() != 4;
+    return grayOrRgb ? format : null;
+  }
+
+  private boolean isDefaultDecode(COSArray decode) {
+    if (decode == null) {
+      return true;
+    }
+    for (int i = 0; i < decode.size(); i++) {
+      COSBase value = decode.getObject(i);
+      if (!(value instanceof COSNumber) || ((COSNumber) value).floatValue() != i % 2) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private byte[] readRawData(COSStream stream) throws IOException {
+    try (InputStream input = stream.createRawInputStream()) {
+      return IOUtils.toByteArray(input);
+    }
+  }
+
+  /**
+   * Add the dictionary of an image with the objects it refers to, e.g.
+   * color space or soft mask, so images with the same data drawn
+   * in different ways have different hashes
+   */
+  private void addToDigest(MessageDigest digest, COSBase object, int depth) throws IOException {
+    if (depth > MAX_HASHED_DEPTH) {
+      return;
+    }
+    if (object instanceof COSObject) {
+      object = ((COSObject) object).getObject();
+    }
+    if (object instanceof COSStream && depth > 0) {
+      digest.update(readRawData((COSStream) object));
+    }
+    if (object instanceof COSDictionary) {
+      digest.update((byte) '<');
+      for (Map.Entry<COSName, COSBase> entry : ((COSDictionary) object).entrySet()) {
+        addToDigest(digest, entry.getKey(), depth + 1);
+        addToDigest(digest, entry.getValue(), depth + 1);
+      }
+      digest.update((byte) '>');
+    } else if (object instanceof COSArray) {
+      digest.update((byte) '[');
+      for (COSBase element : (COSArray) object) {
+        addToDigest(digest, element, depth + 1);
+      }
+      digest.update((byte) ']');
+    } else if (object instanceof COSString) {
+      digest.update(((COSString) object).getBytes());
+    } else if (object != null) {
+      digest.update(object.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+    digest.update((byte) ' ');
+  }
+
+  private static MessageDigest createDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform supports SHA-256
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String toHex(byte[] bytes) {
+    char[] hex = new char[bytes.length * 2];
+    for (int i = 0; i < bytes.length; i++) {
+      hex[2 * i] = HEX_DIGITS[(bytes[i] >> 4) & 0xF];
+      hex[2 * i + 1] = HEX_DIGITS[bytes[i] & 0xF];
+    }
+    return new String(hex);
+  }
+}
@@ -0,0 +1,100 @@
+package pdftohtml.processors.pdf.objects.paths;
+
+import lombok.Getter;
+import org.apache.pdfbox.pdmodel.PDPage;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.common.Point2D;
+import pdftohtml.processors.pdf.objects.stream.PageContentCollector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gathers painted path segments of a page as rectangles.
+ *
+ * Every line of a path gives a rectangle between the start
+ * point of its subpath and the end point of the line.
+ * Rectangles of a path are kept only if the path is painted
+ * (stroked or filled), paths ended with n operator are dropped.
+ */
+@Getter
+public class StrokePathCollector implements PageContentCollector {
+
+    private List<FrameworkRectangle> paths = new ArrayList<>();
+    private double pageWidth = 0;
+    private double pageHeight = 0;
+
+    /**
+     * Rectangles of the path under construction
+     */
+    private List<FrameworkRectangle> currentPath = new ArrayList<>();
+
+    /**
+     * Start point of the current subpath in page coordinates
+     */
+    private double rectX = 0;
+    private double rectY = 0;
+
+    @Override
+    public void startPage(PDPage page) {
+        this.pageWidth = page.getCropBox().getWidth();
+        this.pageHeight = page.getCropBox().getHeight();
+        this.paths = new ArrayList<>();
+        this.currentPath = new ArrayList<>();
+    }
+
+    @Override
+    public void moveTo(Point2D point) {
+        this.rectX = point.getX();
+        this.rectY = fixY(point.getY());
+    }
+
+    @Override
+    public void lineTo(Point2D point) {
+        this.currentPath.add(
+                new FrameworkRectangle(
+                        this.rectX,
+                        this.rectY,
+                        Math.abs(point.getX() - this.rectX),
+                        Math.abs(fixY(point.getY()) - this.rectY)
+                )
+        );
+    }
+
+    @Override
+    public void appendRectangle(Point2D p0, Point2D p1, Point2D p2, Point2D p3) {
+        moveTo(p0);
+        lineTo(p1);
+        lineTo(p2);
+        lineTo(p3);
+    }
+
+    @Override
+    public void strokePath() {
+        paintPath();
+    }
+
+    @Override
+    public void fillPath() {
+        paintPath();
+    }
+
+    @Override
+    public void fillAndStrokePath() {
+        paintPath();
+    }
+
+    @Override
+    public void endPath() {
+        this.currentPath.clear();
+    }
+
+    private void paintPath() {
+        this.paths.addAll(this.currentPath);
+        this.currentPath.clear();
+    }
+
+    double fixY(double y) {
+        return pageHeight - y;
+    }
+}
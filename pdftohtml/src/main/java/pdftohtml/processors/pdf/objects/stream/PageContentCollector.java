@@ -0,0 +1,85 @@
+package pdftohtml.processors.pdf.objects.stream;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.util.Matrix;
+import pdftohtml.domain.common.Point2D;
+
+import java.io.IOException;
+
+/**
+ * Receives page content found by {@link PageContentStreamEngine}
+ * while it interprets a page content stream.
+ *
+ * All path points are already transformed with the current
+ * transformation matrix, so they are in PDF user space
+ * with the origin in the bottom left corner of the page.
+ * Every method does nothing by default, so a collector
+ * overrides only the content it is interested in.
+ */
+public interface PageContentCollector {
+
+    /**
+     * Called before the page content stream is processed
+     *
+     * @param page - processed page
+     */
+    default void startPage(PDPage page) throws IOException {
+    }
+
+    /**
+     * @param text - character with its position and font
+     */
+    default void processTextPosition(TextPosition text) {
+    }
+
+    /**
+     * @param image - image drawn by Do operator
+     * @param ctm   - current transformation matrix the image is drawn with
+     */
+    default void processImage(PDImageXObject image, Matrix ctm) throws IOException {
+    }
+
+    default void moveTo(Point2D point) {
+    }
+
+    default void lineTo(Point2D point) {
+    }
+
+    default void curveTo(Point2D control1, Point2D control2, Point2D end) {
+    }
+
+    /**
+     * Rectangle appended to the path by re operator,
+     * points go counterclockwise starting with (x, y)
+     */
+    default void appendRectangle(Point2D p0, Point2D p1, Point2D p2, Point2D p3) {
+    }
+
+    default void closePath() {
+    }
+
+    default void strokePath() {
+    }
+
+    default void fillPath() {
+    }
+
+    default void fillAndStrokePath() {
+    }
+
+    /**
+     * Path is finished without painting (n operator)
+     */
+    default void endPath() {
+    }
+
+    /**
+     * Called after the page content stream is processed
+     *
+     * @param page - processed page
+     */
+    default void endPage(PDPage page) throws IOException {
+    }
+}
@@ -0,0 +1,300 @@
+package pdftohtml.processors.pdf.objects.stream;
+
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSNumber;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.util.Matrix;
+import pdftohtml.domain.common.Point2D;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Text stripper which also passes images and paths of the page
+ * to {@link PageContentCollector}s, so text, graphics and
+ * stroke paths of a page are extracted in a single
+ * interpretation of its content stream.
+ *
+ * Characters are passed to the collectors after the stripper
+ * itself has processed them. Path construction and painting
+ * operators are not interpreted by the stripper at all,
+ * so they are handled here against the current
+ * transformation matrix.
+ */
+public class PageContentStreamEngine extends PDFTextStripper {
+
+    private final List<PageContentCollector> collectors = new ArrayList<>();
+
+    /**
+     * Current point of the path under construction and
+     * the start point of its current subpath
+     */
+    private Point2D currentPoint;
+    private Point2D subpathStartPoint;
+
+    public PageContentStreamEngine() throws IOException {
+        super();
+    }
+
+    public void addCollector(PageContentCollector collector) {
+        this.collectors.add(collector);
+    }
+
+    /**
+     * Interpret content stream of one page without
+     * extracting text of the whole document.
+     * Text written by the stripper is discarded,
+     * so the page content is available only
+     * through the overridden callbacks and collectors.
+     *
+     * @param document - document of the page
+     * @param page     - page to process
+     */
+    public void processDocumentPage(PDDocument document, PDPage page) throws IOException {
+        this.document = document;
+        this.output = Writer.nullWriter();
+        // the stripper processes only pages in the range, and
+        // outside of getText its page counter does not change
+        setStartPage(getCurrentPageNo());
+        setEndPage(getCurrentPageNo());
+        processPage(page);
+    }
+
+    @Override
+    protected void startPage(PDPage page) throws IOException {
+        super.startPage(page);
+        this.currentPoint = null;
+        this.subpathStartPoint = null;
+        for (PageContentCollector collector : this.collectors) {
+            collector.startPage(page);
+        }
+    }
+
+    @Override
+    protected void endPage(PDPage page) throws IOException {
+        super.endPage(page);
+        for (PageContentCollector collector : this.collectors) {
+            collector.endPage(page);
+        }
+    }
+
+    @Override
+    protected void processTextPosition(TextPosition text) {
+        super.processTextPosition(text);
+        for (PageContentCollector collector : this.collectors) {
+            collector.processTextPosition(text);
+        }
+    }
+
+    @Override
+    protected void processOperator(Operator operator, List<COSBase> operands) throws IOException {
+        if (!this.collectors.isEmpty()) {
+            processGraphicsOperator(operator.getName(), operands);
+        }
+        super.processOperator(operator, operands);
+    }
+
+    private void processGraphicsOperator(String operation, List<COSBase> operands) throws IOException {
+        switch (operation) {
+            case "Do":
+                drawObject(operands);
+                break;
+            case "m":
+                if (hasNumbers(operands, 2)) {
+                    moveTo(point(operands, 0));
+                }
+                break;
+            case "l":
+                if (hasNumbers(operands, 2)) {
+                    lineTo(point(operands, 0));
+                }
+                break;
+            case "c":
+                if (hasNumbers(operands, 6)) {
+                    curveTo(point(operands, 0), point(operands, 2), point(operands, 4));
+                }
+                break;
+            case "v":
+                if (hasNumbers(operands, 4)) {
+                    Point2D end = point(operands, 2);
+                    curveTo(this.currentPoint != null ? this.currentPoint : end, point(operands, 0), end);
+                }
+                break;
+            case "y":
+                if (hasNumbers(operands, 4)) {
+                    Point2D end = point(operands, 2);
+                    curveTo(point(operands, 0), end, end);
+                }
+                break;
+            case "re":
+                if (hasNumbers(operands, 4)) {
+                    appendRectangle(operands);
+                }
+                break;
+            case "h":
+                closePath();
+                break;
+            case "S":
+                paintPath(true, false);
+                break;
+            case "s":
+                closePath();
+                paintPath(true, false);
+                break;
+            case "f":
+            case "F":
+            case "f*":
+                paintPath(false, true);
+                break;
+            case "B":
+            case "B*":
+                paintPath(true, true);
+                break;
+            case "b":
+            case "b*":
+                closePath();
+                paintPath(true, true);
+                break;
+            case "n":
+                for (PageContentCollector collector : this.collectors) {
+                    collector.endPath();
+                }
+                resetPath();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void drawObject(List<COSBase> operands) throws IOException {
+        PDResources resources = getResources();
+        if (operands.isEmpty() || !(operands.get(0) instanceof COSName) || resources == null) {
+            return;
+        }
+        COSName objectName = (COSName) operands.get(0);
+        // forms are shown by the stripper itself,
+        // so only images are processed here
+        if (!resources.isImageXObject(objectName)) {
+            return;
+        }
+        PDXObject xObject = resources.getXObject(objectName);
+        if (xObject instanceof PDImageXObject) {
+            Matrix ctm = getGraphicsState().getCurrentTransformationMatrix();
+            for (PageContentCollector collector : this.collectors) {
+                collector.processImage((PDImageXObject) xObject, ctm);
+            }
+        }
+    }
+
+    private void moveTo(Point2D point) {
+        for (PageContentCollector collector : this.collectors) {
+            collector.moveTo(point);
+        }
+        this.currentPoint = point;
+        this.subpathStartPoint = point;
+    }
+
+    private void lineTo(Point2D point) {
+        // a line without a start point starts a new subpath
+        if (this.currentPoint == null) {
+            moveTo(point);
+            return;
+        }
+        for (PageContentCollector collector : this.collectors) {
+            collector.lineTo(point);
+        }
+        this.currentPoint = point;
+    }
+
+    private void curveTo(Point2D control1, Point2D control2, Point2D end) {
+        if (this.currentPoint == null) {
+            moveTo(end);
+            return;
+        }
+        for (PageContentCollector collector : this.collectors) {
+            collector.curveTo(control1, control2, end);
+        }
+        this.currentPoint = end;
+    }
+
+    private void appendRectangle(List<COSBase> operands) {
+        float x = ((COSNumber) operands.get(0)).floatValue();
+        float y = ((COSNumber) operands.get(1)).floatValue();
+        float width = ((COSNumber) operands.get(2)).floatValue();
+        float height = ((COSNumber) operands.get(3)).floatValue();
+
+        Point2D p0 = pagePoint(x, y);
+        Point2D p1 = pagePoint(x + width, y);
+        Point2D p2 = pagePoint(x + width, y + height);
+        Point2D p3 = pagePoint(x, y + height);
+        for (PageContentCollector collector : this.collectors) {
+            collector.appendRectangle(p0, p1, p2, p3);
+        }
+        // rectangle is a closed subpath,
+        // so the current point returns to its start
+        this.currentPoint = p0;
+        this.subpathStartPoint = p0;
+    }
+
+    private void closePath() {
+        if (this.currentPoint == null) {
+            return;
+        }
+        for (PageContentCollector collector : this.collectors) {
+            collector.closePath();
+        }
+        this.currentPoint = this.subpathStartPoint;
+    }
+
+    private void paintPath(boolean stroke, boolean fill) {
+        for (PageContentCollector collector : this.collectors) {
+            if (stroke && fill) {
+                collector.fillAndStrokePath();
+            } else if (stroke) {
+                collector.strokePath();
+            } else {
+                collector.fillPath();
+            }
+        }
+        resetPath();
+    }
+
+    private void resetPath() {
+        this.currentPoint = null;
+        this.subpathStartPoint = null;
+    }
+
+    private Point2D point(List<COSBase> operands, int index) {
+        return pagePoint(
+                ((COSNumber) operands.get(index)).floatValue(),
+                ((COSNumber) operands.get(index + 1)).floatValue()
+        );
+    }
+
+    private Point2D pagePoint(float x, float y) {
+        java.awt.geom.Point2D position = transformedPoint(x, y);
+        return new Point2D(position.getX(), position.getY());
+    }
+
+    private static boolean hasNumbers(List<COSBase> operands, int count) {
+        if (operands.size() < count) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (!(operands.get(i) instanceof COSNumber)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,160 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.text.TextPosition;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.text.TextPositionStyleWrapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Characters of a page in the order they are shown
+ * by the page content stream.
+ *
+ * Coordinates and styles of the characters are kept in arrays
+ * addressed by the index of a character, so there is no object
+ * and no map entry per character, and the arrays are reused
+ * for the next page. Characters of the same style share
+ * one {@link TextPositionStyleWrapper}.
+ */
+class PageGlyphBuffer {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int size;
+
+    private TextPosition[] textPositions = new TextPosition[INITIAL_CAPACITY];
+
+    /**
+     * Rectangles of the characters, y is the top of a character
+     */
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] width = new float[INITIAL_CAPACITY];
+    private float[] height = new float[INITIAL_CAPACITY];
+
+    private int[] styleIds = new int[INITIAL_CAPACITY];
+
+    private final List<TextPositionStyleWrapper> styles = new ArrayList<>();
+
+    /**
+     * Index next to the last found character, the stripper
+     * writes characters in the order they are added
+     */
+    private int cursor;
+
+    /**
+     * Forget characters and styles of the previous page
+     */
+    void clear() {
+        Arrays.fill(this.textPositions, 0, this.size, null);
+        this.size = 0;
+        this.cursor = 0;
+        this.styles.clear();
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * @return index of the added character
+     */
+    int add(TextPosition textPosition, int styleId) {
+        if (this.size == this.textPositions.length) {
+            grow();
+        }
+        int index = this.size++;
+        this.textPositions[index] = textPosition;
+        this.x[index] = textPosition.getX();
+        this.y[index] = textPosition.getY() - textPosition.getHeight();
+        this.width[index] = textPosition.getWidth();
+        this.height[index] = textPosition.getHeight();
+        this.styleIds[index] = styleId;
+        return index;
+    }
+
+    /**
+     * @return id of the added style
+     */
+    int addStyle(TextPositionStyleWrapper style) {
+        this.styles.add(style);
+        return this.styles.size() - 1;
+    }
+
+    /**
+     * @return the most recently added style or null if there are no styles
+     */
+    TextPositionStyleWrapper getLastStyle() {
+        return this.styles.isEmpty() ? null : this.styles.get(this.styles.size() - 1);
+    }
+
+    int getLastStyleId() {
+        return this.styles.size() - 1;
+    }
+
+    /**
+     * Find index of a character. Characters are mostly
+     * looked up in the order they were added, so the search
+     * starts next to the previously found character.
+     *
+     * @return index of the character or -1 if it was not added
+     */
+    int indexOf(TextPosition textPosition) {
+        for (int i = this.cursor; i < this.size; i++) {
+            if (this.textPositions[i] == textPosition) {
+                this.cursor = i + 1;
+                return i;
+            }
+        }
+        for (int i = 0; i < this.cursor && i < this.size; i++) {
+            if (this.textPositions[i] == textPosition) {
+                this.cursor = i + 1;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    TextPosition getTextPosition(int index) {
+        return this.textPositions[index];
+    }
+
+    TextPositionStyleWrapper getStyle(int index) {
+        return this.styles.get(this.styleIds[index]);
+    }
+
+    double getMinX(int index) {
+        return this.x[index];
+    }
+
+    double getMinY(int index) {
+        return this.y[index];
+    }
+
+    /**
+     * Maximum coordinates are computed like in {@link FrameworkRectangle}
+     */
+    double getMaxX(int index) {
+        return (double) this.x[index] + this.width[index];
+    }
+
+    double getMaxY(int index) {
+        return (double) this.y[index] + this.height[index];
+    }
+
+    FrameworkRectangle createRectangle(int index) {
+        return new FrameworkRectangle(this.x[index], this.y[index], this.width[index], this.height[index]);
+    }
+
+    private void grow() {
+        int capacity = this.textPositions.length * 2;
+        this.textPositions = Arrays.copyOf(this.textPositions, capacity);
+        this.x = Arrays.copyOf(this.x, capacity);
+        this.y = Arrays.copyOf(this.y, capacity);
+        this.width = Arrays.copyOf(this.width, capacity);
+        this.height = Arrays.copyOf(this.height, capacity);
+        this.styleIds = Arrays.copyOf(this.styleIds, capacity);
+    }
+}
@@ -0,0 +1,134 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import pdftohtml.domain.common.FrameworkRectangle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Link annotations of a page for finding the link
+ * of a character {@link org.apache.pdfbox.text.TextPosition}.
+ *
+ * Rectangles of links are transformed to the coordinates of characters
+ * once, links are grouped by horizontal stripes of the page, so only
+ * links of the stripe of a character are checked.
+ */
+class PageLinksIndex {
+
+    /**
+     * Height of a stripe of the page
+     */
+    private static final double STRIPE_HEIGHT = 16;
+
+    private final List<PDAnnotation> links;
+    private final List<FrameworkRectangle> rectangles;
+
+    /**
+     * Indices of links which may contain characters
+     * starting in every stripe in the order of links on the page
+     */
+    private final int[][] stripes;
+
+    private final double xInaccuracy;
+    private final double yInaccuracy;
+
+    PageLinksIndex(PDPage page, double xInaccuracy, double yInaccuracy) throws IOException {
+        this.links = new ArrayList<>();
+        this.rectangles = new ArrayList<>();
+        this.xInaccuracy = xInaccuracy;
+        this.yInaccuracy = yInaccuracy;
+
+        float pageHeight = page.getCropBox().getHeight();
+        for (PDAnnotation annotation : page.getAnnotations()) {
+            if (annotation instanceof PDAnnotationLink) {
+                this.links.add(annotation);
+                this.rectangles.add(new FrameworkRectangle(
+                        annotation.getRectangle().getLowerLeftX(),
+                        pageHeight - annotation.getRectangle().getUpperRightY(),
+                        annotation.getRectangle().getWidth(),
+                        annotation.getRectangle().getHeight()
+                ));
+            }
+        }
+
+        this.stripes = new int[Math.max((int) Math.ceil(pageHeight / STRIPE_HEIGHT), 1)][];
+        int[] stripeSizes = new int[this.stripes.length];
+        for (FrameworkRectangle rectangle : this.rectangles) {
+            for (int stripe = firstStripe(rectangle); stripe <= lastStripe(rectangle); stripe++) {
+                stripeSizes[stripe]++;
+            }
+        }
+        for (int stripe = 0; stripe < this.stripes.length; stripe++) {
+            this.stripes[stripe] = new int[stripeSizes[stripe]];
+            stripeSizes[stripe] = 0;
+        }
+        for (int link = 0; link < this.rectangles.size(); link++) {
+            FrameworkRectangle rectangle = this.rectangles.get(link);
+            for (int stripe = firstStripe(rectangle); stripe <= lastStripe(rectangle); stripe++) {
+                this.stripes[stripe][stripeSizes[stripe]++] = link;
+            }
+        }
+    }
+
+    /**
+     * Find the first link on the page containing
+     * the character with the inaccuracies of the index
+     *
+     * @param characterRectangle - rectangle of the character
+     * @return link or null if the character is not a part of a link
+     */
+    PDAnnotation findLink(FrameworkRectangle characterRectangle) {
+        return findLink(
+                characterRectangle.getMinX(),
+                characterRectangle.getMinY(),
+                characterRectangle.getMaxX(),
+                characterRectangle.getMaxY()
+        );
+    }
+
+    /**
+     * Find the first link on the page containing the character
+     * given by the corners of its rectangle
+     *
+     * @return link or null if the character is not a part of a link
+     */
+    PDAnnotation findLink(double minX, double minY, double maxX, double maxY) {
+        if (this.links.isEmpty()) {
+            return null;
+        }
+        for (int link : this.stripes[stripeOf(minY)]) {
+            if (this.rectangles.get(link).containsWithXYInaccuracies(
+                    minX, minY, maxX, maxY, this.xInaccuracy, this.yInaccuracy
+            )) {
+                return this.links.get(link);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Characters contained by a link start in the stripes
+     * of the link enlarged by the inaccuracy
+     */
+    private int firstStripe(FrameworkRectangle rectangle) {
+        return stripeOf(rectangle.getMinY() - Math.max(this.yInaccuracy, 0));
+    }
+
+    private int lastStripe(FrameworkRectangle rectangle) {
+        return stripeOf(rectangle.getMaxY() + Math.max(this.yInaccuracy, 0));
+    }
+
+    /**
+     * Coordinates out of the page belong to the first or the last stripe
+     */
+    private int stripeOf(double y) {
+        if (!(y > 0)) {
+            return 0;
+        }
+        return (int) Math.min(y / STRIPE_HEIGHT, this.stripes.length - 1);
+    }
+}
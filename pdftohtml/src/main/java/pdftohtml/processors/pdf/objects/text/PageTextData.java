@@ -0,0 +1,61 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import lombok.Getter;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.container.PageLine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Text data extracted from one page
+ * by {@link PageTextObjectsProcessor}
+ */
+@Getter
+public final class PageTextData {
+
+    /**
+     * Index of the page, starting with 1
+     */
+    private final int pageIndex;
+
+    /**
+     * Text blocks of the page
+     */
+    private final List<Block> blocks;
+
+    /**
+     * All text lines of the page in the order of extraction
+     */
+    private final List<PageLine> lines;
+
+    /**
+     * Number of characters of the page
+     */
+    private final int glyphsCount;
+
+    /**
+     * Minimum and maximum positive distances
+     * between two consecutive lines of a block,
+     * 0 if there are no such lines on the page
+     */
+    private final float minimumDistanceBetweenLines;
+    private final float maximumDistanceBetweenLines;
+
+    public PageTextData(
+            int pageIndex,
+            List<Block> blocks,
+            List<PageLine> lines,
+            int glyphsCount,
+            float minimumDistanceBetweenLines,
+            float maximumDistanceBetweenLines
+    ) {
+        this.pageIndex = pageIndex;
+        this.blocks = Collections.unmodifiableList(new ArrayList<>(blocks));
+        this.lines = Collections.unmodifiableList(new ArrayList<>(lines));
+        this.glyphsCount = glyphsCount;
+        this.minimumDistanceBetweenLines = minimumDistanceBetweenLines;
+        this.maximumDistanceBetweenLines = maximumDistanceBetweenLines;
+    }
+}
@@ -1,8 +1,8 @@
 package pdftohtml.processors.pdf.objects.text;
 
 import lombok.Getter;
-import lombok.Setter;
 import lombok.extern.log4j.Log4j;
+import org.apache.pdfbox.contentstream.operator.MissingOperandException;
 import org.apache.pdfbox.contentstream.operator.Operator;
 import org.apache.pdfbox.contentstream.operator.OperatorProcessor;
 import org.apache.pdfbox.contentstream.operator.color.*;
@@ -10,10 +10,10 @@ import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSNumber;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.graphics.color.PDColor;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
 import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
-import org.apache.pdfbox.text.PDFTextStripper;
 import org.apache.pdfbox.text.TextPosition;
 import org.apache.pdfbox.util.Matrix;
 import pdftohtml.domain.common.DocumentMetadata;
@@ -26,16 +26,14 @@ import pdftohtml.domain.pdf.object.container.PageLine;
 import pdftohtml.domain.pdf.object.text.LinkObject;
 import pdftohtml.domain.pdf.object.text.TextObject;
 import pdftohtml.domain.pdf.object.text.TextPositionStyleWrapper;
-import pdftohtml.common.helpers.testing.PdfPageDrawer;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.processors.pdf.objects.stream.PageContentStreamEngine;
 
-import java.awt.*;
 import java.io.IOException;
 import java.util.*;
 import java.util.List;
 
 import static pdftohtml.common.Globals.*;
-import static pdftohtml.common.Stats.maximumDistanceBetweenLines;
-import static pdftohtml.common.Stats.minimumDistanceBetweenLines;
 import static pdftohtml.common.helpers.RectangleHelper.*;
 
 /**
@@ -48,9 +46,7 @@ import static pdftohtml.common.helpers.RectangleHelper.*;
  * @author Daria Pleshchankova
  */
 @Log4j
-public class PageTextObjectsProcessor extends PDFTextStripper {
-
-    private final boolean testMode = false;
+public class PageTextObjectsProcessor extends PageContentStreamEngine {
 
     /**
      * Current PDF document page to extract text data from
@@ -58,7 +54,6 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
     private PDPage page;
 
     @Getter
-    @Setter
     private int pageIndex;
 
     private Block currentLinesBlock;
@@ -72,22 +67,101 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
     @Getter
     private List<PageLine> pageLines;
 
-    private List<PDAnnotation> allPageLinks;
+    /**
+     * All lines of the page
+     */
+    private List<PageLine> extractedLines;
+
+    /**
+     * Number of characters of the page
+     */
+    private int glyphsCount;
+
+    /**
+     * Distances between lines of the page
+     */
+    private float minimumDistanceBetweenLines;
+    private float maximumDistanceBetweenLines;
 
-    private Map<TextPosition, TextPositionStyleWrapper> lineCharacters;
-    private List<TransformedRectangle> rectangles;
+    /**
+     * Link annotations of the page
+     */
+    private PageLinksIndex pageLinks;
+
+    /**
+     * Characters of the page with their styles
+     */
+    private final PageGlyphBuffer glyphs = new PageGlyphBuffer();
+
+    /**
+     * Font of the previous character and its style by name
+     */
+    private PDFont lastFont;
+    private boolean lastFontBold;
+    private boolean lastFontItalic;
+
+    /**
+     * Rectangles appended to paths of the page
+     */
+    private TransformedRectanglesIndex rectangles;
 
     private PdfTextObjectsCreationFactory pdfTextObjectsCreationFactory;
 
+    /**
+     * Styles of characters of the current document
+     */
+    private TextStyleResolver textStyleResolver;
+    private PDDocument textStylesDocument;
+
+    /**
+     * Tolerances and statistics of the conversion
+     */
+    private final ConversionContext context;
+
     public PageTextObjectsProcessor() throws IOException {
+        this(new ConversionContext());
+    }
+
+    public PageTextObjectsProcessor(ConversionContext context) throws IOException {
         super();
+        this.context = context;
         addOperators();
         init();
     }
 
-    public void setPage(PDPage page) throws IOException {
+    /**
+     * Extract text data of a page in a single pass
+     * over the page content stream
+     *
+     * @param document  - document of the page
+     * @param page      - page to extract text data from
+     * @param pageIndex - index of the page, starting with 1
+     * @return text data of the page
+     */
+    public PageTextData extractPage(PDDocument document, PDPage page, int pageIndex) throws IOException {
+        init();
         this.page = page;
-        this.allPageLinks = page.getAnnotations();
+        this.pageIndex = pageIndex;
+        this.pageLinks = new PageLinksIndex(page, this.context.getXInaccuracy(), this.context.getYInaccuracy());
+        if (this.textStylesDocument != document) {
+            this.textStyleResolver = new TextStyleResolver();
+            this.textStylesDocument = document;
+        }
+        this.pdfTextObjectsCreationFactory =
+                new PdfTextObjectsCreationFactory(this.textStyleResolver);
+
+        processDocumentPage(document, page);
+        processBlock();
+
+        this.context.addDistancesBetweenLines(this.minimumDistanceBetweenLines, this.maximumDistanceBetweenLines);
+        return new PageTextData(
+                pageIndex,
+                this.blocks,
+                this.extractedLines,
+                this.glyphsCount,
+                this.minimumDistanceBetweenLines,
+                this.maximumDistanceBetweenLines
+        );
     }
 
     private void addOperators() {
@@ -106,19 +180,6 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
         addOperator(new AppendRectangleToPath());
     }
 
-    @Override
-    public void processPage(PDPage page) throws IOException {
-        super.processPage(page);
-    }
-
-    @Override
-    public String getText(PDDocument doc) throws IOException {
-        init();
-        String text = super.getText(doc);
-        processBlock();
-        return text;
-    }
-
     /**
      * Page one line processing
      *
@@ -127,7 +188,6 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
      */
     @Override
     protected void writeString(String text, List<TextPosition> textPositions) {
-        this.pdfTextObjectsCreationFactory = new PdfTextObjectsCreationFactory(page);
         gatherTextObjectsToLine(textPositions);
     }
 
@@ -135,13 +195,19 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
         this.blocks = new ArrayList<>();
         this.existingBlocks = new HashSet<>();
         this.currentLinesBlock = new Block();
+        this.previousLineRectangle = null;
 
-        this.lineCharacters = new HashMap<>();
+        this.glyphs.clear();
+        this.lastFont = null;
         this.pageLines = new ArrayList<>();
+        this.extractedLines = new ArrayList<>();
+        this.glyphsCount = 0;
+        this.minimumDistanceBetweenLines = 0f;
+        this.maximumDistanceBetweenLines = 0f;
 
-        this.allPageLinks = new ArrayList<>();
+        this.pageLinks = null;
 
-        this.rectangles = new ArrayList<>();
+        this.rectangles = new TransformedRectanglesIndex();
     }
 
     /**
@@ -161,10 +227,13 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
 
         PdfDocumentObject currentObject = null;
         PdfDocumentObject previousObject = null;
-        FrameworkRectangle currentObjectRectangle = null;
         FrameworkRectangle previousObjectRectangle = null;
         boolean belongToDifferentObjects = false;
         for (TextPosition textPosition : textPositions) {
+            int glyph = this.glyphs.indexOf(textPosition);
+            if (glyph < 0) {
+                glyph = this.glyphs.add(textPosition, determineStyle(textPosition));
+            }
 
             // if currentObject is not null
             // at the very start of the cycle
@@ -173,13 +242,16 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
             if (Objects.nonNull(currentObject)) {
                 previousObjectRectangle = currentObject.getRectangle();
             }
-            currentObjectRectangle = createTextPositionRectangle(textPosition);
 
             // set flag that two neighbour objects (ex. letters)
             // belong to different text objects (ex. words, links or sentences)
             // if the space between them is too big
             if (checkXSpaceBetweenTwoRectangles(
-                    previousObjectRectangle, currentObjectRectangle, MINIMUM_DIVIDER_WIDTH
+                    previousObjectRectangle,
+                    this.glyphs.getMinX(glyph),
+                    this.glyphs.getMaxX(glyph),
+                    MINIMUM_DIVIDER_WIDTH,
+                    this.context.getXInaccuracy()
             )) {
                 belongToDifferentObjects = true;
                 previousObject = currentObject;
@@ -187,12 +259,7 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
             }
 
             // create a text object from current text position object
-            currentObject = createObject(
-                    lineObjects,
-                    textPosition,
-                    currentObjectRectangle,
-                    currentObject
-            );
+            currentObject = createObject(lineObjects, glyph, currentObject);
 
             // if two neighbour objects belong
             // to different text objects
@@ -236,11 +303,15 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
         currentLine.addAllObjects(lineObjects);
 
         if (previousLineRectangle != null &&
-                (!haveTheSameXMinCoordinates(previousLineRectangle, currentLine.getRectangle()) ||
+                (!haveTheSameXMinCoordinates(
+                        previousLineRectangle,
+                        currentLine.getRectangle(),
+                        this.context.getXInaccuracy()) ||
                         spaceByYBetweenTwoRectanglesIsMore(
                                 previousLineRectangle,
                                 currentLine.getRectangle(),
-                                (float) (2 * currentLine.getRectangle().getHeight()))
+                                (float) (2 * currentLine.getRectangle().getHeight()),
+                                this.context.getYInaccuracy())
                 )
         ) {
             processBlock();
@@ -249,6 +320,7 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
         previousLineRectangle = currentLine.getRectangle();
 
         this.pageLines.add(currentLine);
+        this.extractedLines.add(currentLine);
         addLineParameterStatistics();
     }
 
@@ -295,30 +367,35 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
      * Create pdf object (text, link)
      *
      * @param lineObjects   - previously processed ans already added pdf objects
-     * @param textPosition  - text position of current character
+     * @param glyph         - index of current character in the page characters
      * @param currentObject - current processed pdf object
      * @return created object
      */
     private PdfDocumentObject createObject(
             List<PdfDocumentObject> lineObjects,
-            TextPosition textPosition,
-            FrameworkRectangle textPositionRectangle,
+            int glyph,
             PdfDocumentObject currentObject
     ) {
-        TextPositionStyleWrapper wrapper = this.lineCharacters.get(textPosition);
-        currentObject = createLink(
+        TextPosition textPosition = this.glyphs.getTextPosition(glyph);
+        TextPositionStyleWrapper wrapper = this.glyphs.getStyle(glyph);
+        PdfDocumentObject linkObject = createLink(
                 lineObjects,
                 textPosition,
                 wrapper,
                 currentObject,
-                textPositionRectangle
+                glyph
         );
+        // a character of a link must not be
+        // added to a text object once again
+        if (linkObject != null) {
+            return linkObject;
+        }
         currentObject = createTextObject(
                 lineObjects,
                 textPosition,
                 wrapper,
                 currentObject,
-                textPositionRectangle
+                glyph
         );
         return currentObject;
     }
@@ -330,7 +407,7 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
      * @param textPosition     - text position of current character
      * @param wrapper          - style wrapper for text position
      * @param currentObject    - current processed pdf object
-     * @param currentRectangle - current processed text position rectangle
+     * @param glyph            - index of current character in the page characters
      * @return created object
      */
     private PdfDocumentObject createTextObject(
@@ -338,7 +415,7 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
             TextPosition textPosition,
             TextPositionStyleWrapper wrapper,
             PdfDocumentObject currentObject,
-            FrameworkRectangle currentRectangle
+            int glyph
     ) {
         // if current object is first one
         // to process, then create
@@ -347,7 +424,7 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
         // previous object
         if (currentObject == null) {
             currentObject = this.pdfTextObjectsCreationFactory.create(textPosition, wrapper, null);
-            currentObject.setRectangle(currentRectangle);
+            currentObject.setRectangle(this.glyphs.createRectangle(glyph));
         } else {
             // if previously processed object
             // also a text and has the same styling
@@ -360,11 +437,16 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
                             (TextObject) currentObject, textPosition, wrapper)
             ) {
                 ((TextObject) currentObject).addToTextContent(textPosition.getUnicode());
-                currentObject.addToRectangle(currentRectangle);
+                currentObject.addToRectangle(
+                        this.glyphs.getMinX(glyph),
+                        this.glyphs.getMinY(glyph),
+                        this.glyphs.getMaxX(glyph),
+                        this.glyphs.getMaxY(glyph)
+                );
             } else {
                 lineObjects.add(currentObject);
                 currentObject = this.pdfTextObjectsCreationFactory.create(textPosition, wrapper, null);
-                currentObject.setRectangle(currentRectangle);
+                currentObject.setRectangle(this.glyphs.createRectangle(glyph));
             }
         }
         return currentObject;
@@ -377,83 +459,117 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
      * @param textPosition     - text position of current character
      * @param wrapper          - style wrapper for text position
      * @param currentObject    - current processed pdf object
-     * @param currentRectangle - current processed text position rectangle
-     * @return created object
+     * @param glyph            - index of current character in the page characters
+     * @return created object or null if the character is not a part of a link
      */
     private PdfDocumentObject createLink(
             List<PdfDocumentObject> lineObjects,
             TextPosition textPosition,
             TextPositionStyleWrapper wrapper,
             PdfDocumentObject currentObject,
-            FrameworkRectangle currentRectangle) {
-        for (PDAnnotation link : this.allPageLinks) {
-            if (this.pdfTextObjectsCreationFactory.isLink(link, textPosition)) { // TODO refactor
-                // if current object is first one
-                // to process, then create
-                // from it a new link,
-                // otherwise compare it with
-                // previous object
-                if (currentObject == null) {
-                    currentObject = this.pdfTextObjectsCreationFactory.create(textPosition, wrapper, link);
-                    currentObject.setRectangle(currentRectangle);
-                } else {
-                    // if previously processed object
-                    // also a link then combine current
-                    // link with the previous one, otherwise
-                    // put previous object to current line
-                    // and create new link from current object
-                    if (currentObject.getObjectType().equals(PdfDocumentObjectType.LINK)) { // TODO test fo two different link standing together
-                        ((LinkObject) currentObject).addToTextContent(textPosition.getUnicode());
-                        currentObject.addToRectangle(currentRectangle);
-                    } else {
-                        lineObjects.add(currentObject);
-                        currentObject = this.pdfTextObjectsCreationFactory.create(textPosition, wrapper, link);
-                        currentObject.setRectangle(currentRectangle);
-                    }
-                }
-                break;
+            int glyph) {
+        PDAnnotation link = this.pageLinks.findLink(
+                this.glyphs.getMinX(glyph),
+                this.glyphs.getMinY(glyph),
+                this.glyphs.getMaxX(glyph),
+                this.glyphs.getMaxY(glyph)
+        );
+        if (link == null) {
+            return null;
+        }
+        // if current object is first one
+        // to process, then create
+        // from it a new link,
+        // otherwise compare it with
+        // previous object
+        if (currentObject == null) {
+            currentObject = this.pdfTextObjectsCreationFactory.create(textPosition, wrapper, link);
+            currentObject.setRectangle(this.glyphs.createRectangle(glyph));
+        } else {
+            // if previously processed object
+            // also a link then combine current
+            // link with the previous one, otherwise
+            // put previous object to current line
+            // and create new link from current object
+            if (currentObject.getObjectType().equals(PdfDocumentObjectType.LINK)) { // TODO test fo two different link standing together
+                ((LinkObject) currentObject).addToTextContent(textPosition.getUnicode());
+                currentObject.addToRectangle(
+                        this.glyphs.getMinX(glyph),
+                        this.glyphs.getMinY(glyph),
+                        this.glyphs.getMaxX(glyph),
+                        this.glyphs.getMaxY(glyph)
+                );
+            } else {
+                lineObjects.add(currentObject);
+                currentObject = this.pdfTextObjectsCreationFactory.create(textPosition, wrapper, link);
+                currentObject.setRectangle(this.glyphs.createRectangle(glyph));
             }
         }
         return currentObject;
     }
 
-    private TextPositionStyleWrapper determineStyle(TextPosition textPosition) {
-        TextPositionStyleWrapper character = new TextPositionStyleWrapper();
-
-        if (textPosition.getFont() != null && textPosition.getFont().getName() != null) {
-            if (textPosition.getFont().getName().toLowerCase().contains("bold"))
-                character.setBoldText(true);
-
-            if (textPosition.getFont().getName().toLowerCase().contains("italic"))
-                character.setItalicText(true);
+    /**
+     * Determine style of a character by the current graphics state,
+     * a character of the same style as the previous one gets its style
+     *
+     * @param textPosition - text position of the character
+     * @return id of the style in the page characters
+     */
+    private int determineStyle(TextPosition textPosition) {
+        PDFont font = textPosition.getFont();
+        if (font != this.lastFont) {
+            String fontName = font != null && font.getName() != null ? font.getName().toLowerCase() : "";
+            this.lastFontBold = fontName.contains("bold");
+            this.lastFontItalic = fontName.contains("italic");
+            this.lastFont = font;
         }
+        boolean underlinedText = this.rectangles.anyUnderlines(textPosition);
+        boolean strikeThroughText = this.rectangles.anyStrikesThrough(textPosition);
+        PDColor strokingColor = getGraphicsState().getStrokingColor();
+        PDColor nonStrokingColor = getGraphicsState().getNonStrokingColor();
+        RenderingMode renderingMode = getGraphicsState().getTextState().getRenderingMode();
 
-        if (this.rectangles.stream().anyMatch(r -> r.underlines(textPosition)))
-            character.setUnderlinedText(true);
-
-        if (this.rectangles.stream().anyMatch(r -> r.strikesThrough(textPosition)))
-            character.setStrikeThroughText(true);
+        TextPositionStyleWrapper lastStyle = this.glyphs.getLastStyle();
+        if (lastStyle != null
+                && lastStyle.isBoldText() == this.lastFontBold
+                && lastStyle.isItalicText() == this.lastFontItalic
+                && lastStyle.isUnderlinedText() == underlinedText
+                && lastStyle.isStrikeThroughText() == strikeThroughText
+                && lastStyle.getStrokingColor() == strokingColor
+                && lastStyle.getNonStrokingColor() == nonStrokingColor
+                && lastStyle.getRenderingMode() == renderingMode) {
+            return this.glyphs.getLastStyleId();
+        }
 
-        return character;
+        TextPositionStyleWrapper character = new TextPositionStyleWrapper();
+        character.setBoldText(this.lastFontBold);
+        character.setItalicText(this.lastFontItalic);
+        character.setUnderlinedText(underlinedText);
+        character.setStrikeThroughText(strikeThroughText);
+        character.setStrokingColor(strokingColor);
+        character.setNonStrokingColor(nonStrokingColor);
+        character.setRenderingMode(renderingMode);
+        return this.glyphs.addStyle(character);
     }
 
     @Override
     protected void processTextPosition(TextPosition text) {
         super.processTextPosition(text);
-
-        PDColor strokingColor = getGraphicsState().getStrokingColor();
-        PDColor nonStrokingColor = getGraphicsState().getNonStrokingColor();
-        RenderingMode renderingMode = getGraphicsState().getTextState().getRenderingMode();
-        TextPositionStyleWrapper character = determineStyle(text);
-        character.setStrokingColor(strokingColor);
-        character.setNonStrokingColor(nonStrokingColor);
-        character.setRenderingMode(renderingMode);
-        this.lineCharacters.put(text, character);
+        this.glyphsCount++;
+        this.glyphs.add(text, determineStyle(text));
     }
 
     class AppendRectangleToPath extends OperatorProcessor {
 
-        public void process(Operator operator, List<COSBase> arguments) {
+        public void process(Operator operator, List<COSBase> arguments) throws IOException {
+            // a malformed rectangle is reported and skipped
+            // by the engine as PDFBox does for its own operator
+            if (arguments.size() < 4) {
+                throw new MissingOperandException(operator, arguments);
+            }
+            if (!checkArrayTypesClass(arguments.subList(0, 4), COSNumber.class)) {
+                return;
+            }
             COSNumber x = (COSNumber) arguments.get(0);
             COSNumber y = (COSNumber) arguments.get(1);
             COSNumber w = (COSNumber) arguments.get(2);
@@ -475,7 +591,7 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
 
         @Override
         public String getName() {
-            return "AppendRectangleToPath";
+            return "re";
         }
 
         Point2D transformedPoint(double x, double y) {
@@ -534,16 +650,4 @@ public class PageTextObjectsProcessor extends PDFTextStripper {
             return Math.abs(p2.getY() - p0.getY()) < 2;
         }
     }
-
-    private void drawForTest(FrameworkRectangle rectangle) {
-        if (this.testMode) {
-            PdfPageDrawer.drawRectangle(
-                    this.document,
-                    this.page,
-                    rectangle,
-                    Color.BLUE,
-                    null
-            );
-        }
-    }
 }
@@ -7,6 +7,19 @@ import pdftohtml.domain.pdf.object.text.TextPositionStyleWrapper;
 
 public class TextObjectCreator implements PdfTextObjectCreator {
 
+    /**
+     * Styles of characters of the document
+     */
+    private final TextStyleResolver textStyleResolver;
+
+    public TextObjectCreator() {
+        this(new TextStyleResolver());
+    }
+
+    TextObjectCreator(TextStyleResolver textStyleResolver) {
+        this.textStyleResolver = textStyleResolver;
+    }
+
     @Override
     public TextObject create(TextPosition textPosition, TextPositionStyleWrapper wrapper) {
         return createSimpleText(textPosition, wrapper);
@@ -14,16 +27,7 @@ public class TextObjectCreator implements PdfTextObjectCreator {
 
     public TextObject createSimpleText(TextPosition textPosition, TextPositionStyleWrapper wrapper) {
         TextObject object = new TextObject();
-        object.setColor(wrapper.getStrokingColor().getComponents());
-        object.setFontFamily(textPosition.getFont().getFontDescriptor().getFontFamily());
-        object.setFontName(textPosition.getFont().getFontDescriptor().getFontName());
-        object.setFontWeight(textPosition.getFont().getFontDescriptor().getFontWeight());
-        object.setFontSize(textPosition.getFontSize());
-        object.setFontSizePt((int) textPosition.getFontSizeInPt());
-        object.setItalicText(textPosition.getFont().getFontDescriptor().isItalic());
-        object.setBoldText(wrapper.isBoldText());
-        object.setUnderlinedText(wrapper.isUnderlinedText());
-        object.setStrikeThroughText(wrapper.isStrikeThroughText());
+        object.setStyle(this.textStyleResolver.resolve(textPosition, wrapper));
 
         object.addToTextContent(textPosition.getUnicode());
         object.setObjectType(PdfDocumentObjectType.TEXT);
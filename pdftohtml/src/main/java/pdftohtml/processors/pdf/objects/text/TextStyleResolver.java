@@ -0,0 +1,84 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColor;
+import org.apache.pdfbox.text.TextPosition;
+import pdftohtml.domain.pdf.object.text.TextPositionStyleWrapper;
+import pdftohtml.domain.pdf.object.text.TextStyle;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves styles {@link TextStyle} of characters of a document.
+ *
+ * Equal styles are resolved to the same instance. Consecutive
+ * characters mostly have the same font and the same color object
+ * of the graphics state, so the style of the previous character
+ * is reused without reading the font descriptor and the color.
+ */
+class TextStyleResolver {
+
+    private final Map<TextStyle, TextStyle> styles = new HashMap<>();
+
+    /**
+     * Style of the previous character and what it is resolved from
+     */
+    private TextStyle lastStyle;
+    private PDFont lastFont;
+    private float lastFontSize;
+    private float lastFontSizeInPt;
+    private PDColor lastColor;
+    private boolean lastBold;
+    private boolean lastUnderlined;
+    private boolean lastStrikeThrough;
+
+    TextStyle resolve(TextPosition textPosition, TextPositionStyleWrapper wrapper) {
+        if (this.lastStyle != null
+                && textPosition.getFont() == this.lastFont
+                && Float.compare(textPosition.getFontSize(), this.lastFontSize) == 0
+                && Float.compare(textPosition.getFontSizeInPt(), this.lastFontSizeInPt) == 0
+                && wrapper.getStrokingColor() == this.lastColor
+                && wrapper.isBoldText() == this.lastBold
+                && wrapper.isUnderlinedText() == this.lastUnderlined
+                && wrapper.isStrikeThroughText() == this.lastStrikeThrough) {
+            return this.lastStyle;
+        }
+
+        PDFontDescriptor fontDescriptor = textPosition.getFont().getFontDescriptor();
+        TextStyle style = TextStyle.builder()
+                .fontFamily(fontDescriptor.getFontFamily())
+                .fontName(fontDescriptor.getFontName())
+                .fontWeight(fontDescriptor.getFontWeight())
+                .fontSize(textPosition.getFontSize())
+                .fontSizePt((int) textPosition.getFontSizeInPt())
+                .color(convertColor(wrapper.getStrokingColor().getComponents()))
+                .italicText(fontDescriptor.isItalic())
+                .boldText(wrapper.isBoldText())
+                .underlinedText(wrapper.isUnderlinedText())
+                .strikeThroughText(wrapper.isStrikeThroughText())
+                .build();
+        style = this.styles.computeIfAbsent(style, s -> s);
+
+        this.lastStyle = style;
+        this.lastFont = textPosition.getFont();
+        this.lastFontSize = textPosition.getFontSize();
+        this.lastFontSizeInPt = textPosition.getFontSizeInPt();
+        this.lastColor = wrapper.getStrokingColor();
+        this.lastBold = wrapper.isBoldText();
+        this.lastUnderlined = wrapper.isUnderlinedText();
+        this.lastStrikeThrough = wrapper.isStrikeThroughText();
+        return style;
+    }
+
+    private static int[] convertColor(float[] colorF) {
+        int[] color = new int[3];
+        if (colorF.length == 3) {
+            color[0] = Math.round(colorF[0] * 255.0F);
+            color[1] = Math.round(colorF[1] * 255.0F);
+            color[2] = Math.round(colorF[2] * 255.0F);
+        }
+        return color;
+    }
+}
@@ -0,0 +1,173 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.pdmodel.font.PDFontDescriptor;
+import org.apache.pdfbox.text.TextPosition;
+import pdftohtml.processors.pdf.objects.text.PageTextObjectsProcessor.TransformedRectangle;
+
+/**
+ * Rectangles of a page content stream sorted by y coordinate
+ * of their first point for finding rectangles which underline
+ * or strike through a character.
+ *
+ * A rectangle can underline or strike through a character
+ * only if its first point is near the base line of the character,
+ * so only rectangles with y coordinates in the range of the font
+ * descent and ascent from the base line are checked.
+ * Rectangles are added while the content stream is processed,
+ * every added rectangle is inserted into the sorted arrays.
+ * The arrays have free space at both ends and an inserted
+ * rectangle moves the shorter part of them, so rectangles drawn
+ * in the order of y, top down as well as bottom up, are added
+ * without moving the others.
+ */
+class TransformedRectanglesIndex {
+
+    /**
+     * Margin of the searched y range keeping rectangles
+     * whose distance to the base line is rounded
+     */
+    private static final double ROUNDING_MARGIN = 1;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private TransformedRectangle[] rectangles = new TransformedRectangle[INITIAL_CAPACITY];
+
+    /**
+     * Rectangles are kept between the start inclusive
+     * and the end exclusive positions of the arrays
+     */
+    private int start = INITIAL_CAPACITY / 2;
+    private int end = INITIAL_CAPACITY / 2;
+
+    void add(TransformedRectangle rectangle) {
+        double y = rectangle.p0.getY();
+        // a rectangle without y coordinate
+        // does not underline any character
+        if (Double.isNaN(y)) {
+            return;
+        }
+        // rectangles with the same y stay in the order they are added
+        int position = firstGreater(y);
+        if (position - this.start < this.end - position) {
+            if (this.start == 0) {
+                position += grow();
+            }
+            System.arraycopy(this.ys, this.start, this.ys, this.start - 1, position - this.start);
+            System.arraycopy(this.rectangles, this.start, this.rectangles, this.start - 1, position - this.start);
+            this.start--;
+            position--;
+        } else {
+            if (this.end == this.ys.length) {
+                position += grow();
+            }
+            System.arraycopy(this.ys, position, this.ys, position + 1, this.end - position);
+            System.arraycopy(this.rectangles, position, this.rectangles, position + 1, this.end - position);
+            this.end++;
+        }
+        this.ys[position] = y;
+        this.rectangles[position] = rectangle;
+    }
+
+    /**
+     * Move rectangles to the middle of arrays of twice their size
+     *
+     * @return shift of positions of the rectangles
+     */
+    private int grow() {
+        int size = this.end - this.start;
+        int capacity = 2 * size + INITIAL_CAPACITY;
+        int newStart = (capacity - size) / 2;
+        double[] newYs = new double[capacity];
+        TransformedRectangle[] newRectangles = new TransformedRectangle[capacity];
+        System.arraycopy(this.ys, this.start, newYs, newStart, size);
+        System.arraycopy(this.rectangles, this.start, newRectangles, newStart, size);
+        int shift = newStart - this.start;
+        this.ys = newYs;
+        this.rectangles = newRectangles;
+        this.start = newStart;
+        this.end = newStart + size;
+        return shift;
+    }
+
+    boolean anyUnderlines(TextPosition textPosition) {
+        return anyMatches(textPosition, true);
+    }
+
+    boolean anyStrikesThrough(TextPosition textPosition) {
+        return anyMatches(textPosition, false);
+    }
+
+    private boolean anyMatches(TextPosition textPosition, boolean underline) {
+        // rectangles are compared with the font ascent and descent,
+        // so without font metrics nothing can be underlined
+        PDFontDescriptor fontDescriptor = textPosition.getFont() != null
+                ? textPosition.getFont().getFontDescriptor()
+                : null;
+        if (fontDescriptor == null) {
+            return false;
+        }
+        int first = this.start;
+        double maximumY = Double.POSITIVE_INFINITY;
+        if (this.end > this.start) {
+            double baseLine = textPosition.getTextMatrix().getTranslateY();
+            double minimumY;
+            if (underline) {
+                double descent = fontDescriptor.getDescent() * textPosition.getFontSizeInPt() / 500.0;
+                minimumY = baseLine + Math.min(descent, 0);
+                maximumY = baseLine;
+            } else {
+                double ascent = fontDescriptor.getAscent() * textPosition.getFontSizeInPt() / 1000.0;
+                minimumY = baseLine;
+                maximumY = baseLine + Math.max(ascent, 0);
+            }
+            if (Double.isNaN(minimumY) || Double.isNaN(maximumY)) {
+                maximumY = Double.POSITIVE_INFINITY;
+            } else {
+                first = firstNotLess(minimumY - ROUNDING_MARGIN);
+                maximumY += ROUNDING_MARGIN;
+            }
+        }
+        for (int i = first; i < this.end && this.ys[i] <= maximumY; i++) {
+            TransformedRectangle rectangle = this.rectangles[i];
+            if (underline ? rectangle.underlines(textPosition) : rectangle.strikesThrough(textPosition)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return position of the first rectangle with y not less than the value
+     */
+    private int firstNotLess(double y) {
+        int low = this.start;
+        int high = this.end;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.ys[middle] < y) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return position of the first rectangle with y greater than the value
+     */
+    private int firstGreater(double y) {
+        int low = this.start;
+        int high = this.end;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.ys[middle] <= y) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,47 @@
+package pdftohtml.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConversionContextTest {
+
+    @Test
+    void whenDistancesAddedThenMinimumAndMaximumOfKnownDistancesKept() {
+        ConversionContext context = new ConversionContext();
+
+        context.addDistancesBetweenLines(0f, 0f);
+        context.addDistancesBetweenLines(4f, 12f);
+        context.addDistancesBetweenLines(2f, 8f);
+        context.addDistancesBetweenLines(0f, 20f);
+
+        assertEquals(2f, context.getMinimumDistanceBetweenLines());
+        assertEquals(20f, context.getMaximumDistanceBetweenLines());
+    }
+
+    @Test
+    void whenDistancesAddedConcurrentlyThenNoneLost() throws InterruptedException {
+        ConversionContext context = new ConversionContext();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int page = 1; page <= 1000; page++) {
+            float distance = page;
+            executor.submit(() -> context.addDistancesBetweenLines(distance, distance));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1f, context.getMinimumDistanceBetweenLines());
+        assertEquals(1000f, context.getMaximumDistanceBetweenLines());
+    }
+
+    @Test
+    void whenNegativeInaccuracyThenIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> new ConversionContext(-1, 2.5));
+    }
+}
@@ -0,0 +1,45 @@
+package pdftohtml.common.collections;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DisjointSetsTest {
+
+    @Test
+    void whenElementsUnitedThenSetsAreTransitive() {
+        DisjointSets sets = new DisjointSets(6);
+
+        assertTrue(sets.union(0, 1));
+        assertTrue(sets.union(2, 1));
+        assertTrue(sets.union(4, 5));
+        assertFalse(sets.union(0, 2));
+
+        assertEquals(6, sets.size());
+        assertEquals(sets.find(0), sets.find(2));
+        assertEquals(sets.find(4), sets.find(5));
+        assertNotEquals(sets.find(0), sets.find(4));
+        assertEquals(3, sets.find(3));
+    }
+
+    @Test
+    void whenManyElementsUnitedInChainThenOneSet() {
+        DisjointSets sets = new DisjointSets(100000);
+        for (int element = 1; element < sets.size(); element++) {
+            sets.union(element - 1, element);
+        }
+        int root = sets.find(0);
+        for (int element = 0; element < sets.size(); element++) {
+            assertEquals(root, sets.find(element));
+        }
+    }
+
+    @Test
+    void whenCountIsNegativeThenException() {
+        assertThrows(IllegalArgumentException.class, () -> new DisjointSets(-1));
+    }
+}
@@ -0,0 +1,53 @@
+package pdftohtml.common.helpers;
+
+import org.junit.jupiter.api.Test;
+import pdftohtml.domain.pdf.object.text.TextObject;
+import pdftohtml.domain.pdf.object.text.TextObjectType;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextObjectTypeResolverTest {
+
+    private static final String ALPHABET = "0123456789).a \t\uF0B7";
+
+    @Test
+    void whenResolveTypeThenListBulletsFound() {
+        TextObjectTypeResolver resolver = new TextObjectTypeResolver();
+
+        assertEquals(TextObjectType.LIST_BULLET, resolver.resolveType("12)"));
+        assertEquals(TextObjectType.LIST_BULLET, resolver.resolveType("  3. "));
+        assertEquals(TextObjectType.LIST_BULLET, resolver.resolveType("\uF0B7"));
+        assertEquals(TextObjectType.TEXT, resolver.resolveType("12"));
+        assertEquals(TextObjectType.TEXT, resolver.resolveType("1 )"));
+        assertEquals(TextObjectType.TEXT, resolver.resolveType("1.)"));
+        assertEquals(TextObjectType.TEXT, resolver.resolveType(""));
+        assertEquals(TextObjectType.TEXT, resolver.resolveType("a1."));
+    }
+
+    @Test
+    void whenTextAppendedByCharacterThenTypeIsTheSameAsByPattern() {
+        Random random = new Random(13);
+        for (int i = 0; i < 5000; i++) {
+            TextObject textObject = new TextObject();
+            StringBuilder text = new StringBuilder();
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                String character = String.valueOf(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                textObject.addToTextContent(character);
+                text.append(character);
+
+                assertEquals(resolveByPattern(text.toString()), textObject.getTextObjectType(), text.toString());
+            }
+        }
+    }
+
+    private static TextObjectType resolveByPattern(String text) {
+        String trimmed = text.trim();
+        if (trimmed.matches("[0-9]+\\)") || trimmed.matches("[0-9]+\\.") || trimmed.matches("\\uF0B7")) {
+            return TextObjectType.LIST_BULLET;
+        }
+        return TextObjectType.TEXT;
+    }
+}
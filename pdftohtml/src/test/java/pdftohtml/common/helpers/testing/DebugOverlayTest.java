@@ -0,0 +1,104 @@
+package pdftohtml.common.helpers.testing;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.processors.MainProcessor;
+
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DebugOverlayTest {
+
+    @Test
+    void whenLayerIsNotEnabledThenNoOverlay() {
+        ConversionContext context = new ConversionContext();
+        assertNull(context.getDebugOverlay(DebugLayer.TABLES));
+
+        DebugOverlay overlay = new DebugOverlay(EnumSet.of(DebugLayer.DIVIDERS));
+        context.setDebugOverlay(overlay);
+
+        assertNull(context.getDebugOverlay(DebugLayer.TABLES));
+        assertSame(overlay, context.getDebugOverlay(DebugLayer.DIVIDERS));
+    }
+
+    @Test
+    void whenRectanglesAddedThenDrawnOnTheirPagesWithOneSave(@TempDir Path directory) throws IOException {
+        DebugOverlay overlay = new DebugOverlay(EnumSet.allOf(DebugLayer.class));
+        FrameworkRectangle rectangle = new FrameworkRectangle(10, 10, 100, 20);
+        overlay.addRectangle(1, rectangle, Color.RED);
+        overlay.addRectangle(3, rectangle, Color.BLUE, "0");
+        overlay.addRectangle(3, null, Color.BLUE);
+        // later changes of the rectangle do not change the overlay
+        rectangle.unite(0, 0, 500, 500);
+        assertEquals(2, overlay.getRectanglesCount());
+
+        File file = directory.resolve("debug.pdf").toFile();
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < 3; i++) {
+                document.addPage(new PDPage());
+            }
+            overlay.save(document, file);
+        }
+
+        try (PDDocument debugDocument = PDDocument.load(file)) {
+            assertEquals(3, debugDocument.getNumberOfPages());
+            assertTrue(debugDocument.getPage(0).hasContents());
+            assertFalse(debugDocument.getPage(1).hasContents());
+            assertTrue(debugDocument.getPage(2).hasContents());
+        }
+    }
+
+    @Test
+    void whenLayersParsedThenNamesOrAllAccepted() {
+        assertEquals(EnumSet.noneOf(DebugLayer.class), DebugLayer.parse(""));
+        assertEquals(EnumSet.of(DebugLayer.TABLES, DebugLayer.STROKE_PATHS), DebugLayer.parse("tables, stroke_paths"));
+        assertEquals(EnumSet.allOf(DebugLayer.class), DebugLayer.parse("all"));
+        assertEquals(EnumSet.of(DebugLayer.TABLES), DebugLayer.parse("cells, tables"));
+    }
+
+    @Test
+    void whenLayersPropertyHasUnknownNameThenProcessorCreatedWithKnownLayers() {
+        String previous = System.getProperty(DebugLayer.LAYERS_PROPERTY);
+        System.setProperty(DebugLayer.LAYERS_PROPERTY, "tabels,dividers");
+        try {
+            assertEquals(EnumSet.of(DebugLayer.DIVIDERS), new MainProcessor().getDebugLayers());
+        } finally {
+            if (previous == null) {
+                System.clearProperty(DebugLayer.LAYERS_PROPERTY);
+            } else {
+                System.setProperty(DebugLayer.LAYERS_PROPERTY, previous);
+            }
+        }
+    }
+
+    @Test
+    void whenDocumentConvertedWithLayersThenDebugDocumentSaved(@TempDir Path directory)
+            throws IOException, URISyntaxException {
+        File file = new File(getClass().getResource("/table_with_borders_test.pdf").toURI());
+        MainProcessor mainProcessor = new MainProcessor();
+        mainProcessor.setDebugLayers(EnumSet.of(DebugLayer.DIVIDERS, DebugLayer.TABLES));
+        mainProcessor.setDebugDirectory(directory.toFile());
+
+        mainProcessor.processPages(file);
+
+        File debugFile = directory.resolve("table_with_borders_test.pdf.debug.pdf").toFile();
+        try (PDDocument document = PDDocument.load(file);
+             PDDocument debugDocument = PDDocument.load(debugFile)) {
+            assertEquals(document.getNumberOfPages(), debugDocument.getNumberOfPages());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package pdftohtml.common.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsRegistryTest {
+
+    @Test
+    void whenCountersUpdatedFromManyThreadsThenSnapshotHasAllUpdates() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("pages");
+        assertSame(counter, registry.counter("pages"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int task = 0; task < 4; task++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    counter.increment();
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertEquals(4000, snapshot.getCounter("pages"));
+        assertEquals(0, snapshot.getCounter("unknown"));
+    }
+
+    @Test
+    void whenTimerRecordedThenCountTotalAndMaximumKept() {
+        MetricsRegistry registry = new MetricsRegistry();
+        StageTimer timer = registry.timer("stage.contentStream");
+        timer.record(10);
+        timer.record(30);
+        timer.record(20);
+
+        MetricsSnapshot.TimerValue value = registry.snapshot().getTimer("stage.contentStream");
+        assertEquals(3, value.getCount());
+        assertEquals(60, value.getTotalNanos());
+        assertEquals(30, value.getMaxNanos());
+        assertEquals(20, value.getAverageNanos());
+        assertNull(registry.snapshot().getTimer("unknown"));
+    }
+
+    @Test
+    void whenResetThenValuesAreZeroAndMetricsStayRegistered() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("pages");
+        counter.add(5);
+        registry.timer("stage.contentStream").record(10);
+
+        registry.reset();
+        counter.increment();
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        assertEquals(1, snapshot.getCounter("pages"));
+        assertEquals(0, snapshot.getTimer("stage.contentStream").getCount());
+        assertEquals(0, snapshot.getTimer("stage.contentStream").getMaxNanos());
+    }
+}
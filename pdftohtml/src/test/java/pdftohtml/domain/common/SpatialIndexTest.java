@@ -0,0 +1,102 @@
+package pdftohtml.domain.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialIndexTest {
+
+    @Test
+    void whenSearchAreaThenSameObjectsFoundAsByScanInListOrder() {
+        Random random = new Random(7);
+        for (int size : new int[]{0, 1, 15, 16, 17, 300, 5000}) {
+            List<FrameworkRectangle> rectangles = createRectangles(random, size);
+            SpatialIndex<FrameworkRectangle> index = SpatialIndex.build(rectangles, Function.identity());
+            assertEquals(size, index.size());
+
+            for (int query = 0; query < 50; query++) {
+                double minX = random.nextInt(600);
+                double minY = random.nextInt(800);
+                double maxX = minX + random.nextInt(100);
+                double maxY = minY + random.nextInt(100);
+
+                assertArrayEquals(
+                        scan(rectangles, minX, minY, maxX, maxY),
+                        index.findIndices(minX, minY, maxX, maxY)
+                );
+                assertArrayEquals(
+                        scan(rectangles, Double.NEGATIVE_INFINITY, minY, Double.POSITIVE_INFINITY, maxY),
+                        toIndices(rectangles, index.findInHorizontalBand(minY, maxY))
+                );
+                assertArrayEquals(
+                        scan(rectangles, minX, Double.NEGATIVE_INFINITY, maxX, Double.POSITIVE_INFINITY),
+                        toIndices(rectangles, index.findInVerticalBand(minX, maxX))
+                );
+            }
+        }
+    }
+
+    @Test
+    void whenRectanglesTouchThenTheyAreFound() {
+        FrameworkRectangle rectangle = new FrameworkRectangle(10, 10, 10, 10);
+        SpatialIndex<FrameworkRectangle> index =
+                SpatialIndex.build(Collections.singletonList(rectangle), Function.identity());
+
+        assertEquals(1, index.findOverlapping(new FrameworkRectangle(20, 20, 5, 5)).size());
+        assertEquals(1, index.findInHorizontalBand(0, 10).size());
+        assertEquals(0, index.findInHorizontalBand(0, 9.9).size());
+    }
+
+    @Test
+    void whenMatchFoundThenSearchStops() {
+        List<FrameworkRectangle> rectangles = createRectangles(new Random(3), 1000);
+        SpatialIndex<FrameworkRectangle> index = SpatialIndex.build(rectangles, Function.identity());
+        int[] visited = {0};
+
+        assertTrue(index.anyMatch(0, 0, 1000, 1000, rectangle -> ++visited[0] == 3));
+        assertEquals(3, visited[0]);
+        assertFalse(index.anyMatch(0, 0, 1000, 1000, rectangle -> false));
+    }
+
+    private List<FrameworkRectangle> createRectangles(Random random, int size) {
+        List<FrameworkRectangle> rectangles = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            rectangles.add(new FrameworkRectangle(
+                    random.nextInt(600), random.nextInt(800), random.nextInt(50), random.nextInt(20)
+            ));
+        }
+        return rectangles;
+    }
+
+    private int[] scan(List<FrameworkRectangle> rectangles, double minX, double minY, double maxX, double maxY) {
+        return IntStream.range(0, rectangles.size()).filter(i -> {
+            FrameworkRectangle rectangle = rectangles.get(i);
+            return rectangle.getMinX() <= maxX && rectangle.getMaxX() >= minX
+                    && rectangle.getMinY() <= maxY && rectangle.getMaxY() >= minY;
+        }).toArray();
+    }
+
+    private int[] toIndices(List<FrameworkRectangle> rectangles, List<FrameworkRectangle> found) {
+        // rectangles are found in list order, so identity
+        // search from the previous position is enough
+        int[] indices = new int[found.size()];
+        int position = 0;
+        for (int i = 0; i < found.size(); i++) {
+            while (rectangles.get(position) != found.get(i)) {
+                position++;
+            }
+            indices[i] = position++;
+        }
+        return indices;
+    }
+}
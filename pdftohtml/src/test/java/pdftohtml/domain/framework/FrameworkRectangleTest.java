@@ -1,8 +1,11 @@
 package pdftohtml.domain.framework;
 
 import org.junit.jupiter.api.Test;
+import pdftohtml.common.helpers.RectangleHelper;
 import pdftohtml.domain.common.FrameworkRectangle;
 
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class FrameworkRectangleTest {
@@ -168,4 +171,56 @@ class FrameworkRectangleTest {
         rectangle.setRectangleCoordinates(5, 0, 15, 5);
         assertFalse(rectangle.intersects(15, 4, 10, 5));
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenUniteInPlaceThenTheSameAsCombinedRectangle() {
+        Random random = new Random(17);
+        for (int i = 0; i < 1000; i++) {
+            FrameworkRectangle rectangle = randomRectangle(random);
+            FrameworkRectangle other = randomRectangle(random);
+            FrameworkRectangle combined = RectangleHelper.combineTwoRectangles(rectangle, other);
+
+            rectangle.unite(other);
+
+            assertEquals(combined, rectangle);
+            assertEquals(combined.getMaxX(), rectangle.getMaxX());
+            assertEquals(combined.getMaxY(), rectangle.getMaxY());
+        }
+    }
+
+    @Test
+    void whenIntersectInPlaceThenTheSameAsIntersectionRectangle() {
+        Random random = new Random(19);
+        for (int i = 0; i < 1000; i++) {
+            FrameworkRectangle rectangle = randomRectangle(random);
+            FrameworkRectangle other = randomRectangle(random);
+            FrameworkRectangle intersection = rectangle.getIntersection(other);
+            float intersectionArea = rectangle.getIntersectionArea(other);
+            FrameworkRectangle copy = rectangle.copy();
+
+            boolean intersects = copy.intersect(other);
+
+            assertEquals(intersection != null, intersects);
+            assertEquals(intersects ? intersection : rectangle, copy);
+            assertEquals(intersects ? (float) intersection.getArea() : 0f, intersectionArea);
+        }
+    }
+
+    @Test
+    void whenContainsAreaWithInaccuraciesThenTheSameAsForRectangle() {
+        FrameworkRectangle rectangle = new FrameworkRectangle(5, 0, 10, 5);
+        FrameworkRectangle inner = new FrameworkRectangle(4, 1, 10, 5);
+        assertTrue(rectangle.containsWithXYInaccuracies(inner, 1, 1));
+        assertTrue(rectangle.containsWithXYInaccuracies(4, 1, 14, 6, 1, 1));
+        assertFalse(rectangle.containsWithXYInaccuracies(4, 1, 14, 6, 0.5, 1));
+    }
+
+    private static FrameworkRectangle randomRectangle(Random random) {
+        return new FrameworkRectangle(
+                random.nextInt(1000) / 7.0,
+                random.nextInt(1000) / 3.0,
+                random.nextInt(300) / 7.0,
+                random.nextInt(300) / 11.0
+        );
+    }
+}
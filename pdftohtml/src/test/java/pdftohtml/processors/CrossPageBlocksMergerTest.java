@@ -0,0 +1,115 @@
+package pdftohtml.processors;
+
+import org.junit.jupiter.api.Test;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.container.PageLine;
+import pdftohtml.domain.pdf.object.text.TextObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrossPageBlocksMergerTest {
+
+    private final List<Integer> pagesIndices = new ArrayList<>();
+
+    private final List<List<Block>> pagesBlocks = new ArrayList<>();
+
+    @Test
+    void whenParagraphContinuedOnNextPageThenMovedToNextPage() throws IOException {
+        CrossPageBlocksMerger merger = new CrossPageBlocksMerger(this::consume);
+        Block title = createBlock(100, 12, "Title");
+        Block continued = createBlock(700, 10, "the paragraph is", "not finished and");
+
+        merger.accept(1, List.of(title, continued));
+        assertTrue(this.pagesBlocks.isEmpty());
+
+        Block continuation = createBlock(50, 10, "goes on here.");
+        Block next = createBlock(80, 10, "Next paragraph.");
+        merger.accept(2, List.of(next, continuation));
+        merger.finish();
+
+        assertEquals(List.of(1, 2), this.pagesIndices);
+        assertEquals(List.of(List.of("Title")), getTexts(this.pagesBlocks.get(0)));
+        assertEquals(
+                List.of(List.of("Next paragraph."), List.of("the paragraph is", "not finished and", "goes on here.")),
+                getTexts(this.pagesBlocks.get(1))
+        );
+        assertEquals(1, merger.getMergedBlocksCount());
+    }
+
+    @Test
+    void whenParagraphContinuedOnSeveralPagesThenPassedWithItsLastPage() throws IOException {
+        CrossPageBlocksMerger merger = new CrossPageBlocksMerger(this::consume);
+
+        merger.accept(1, List.of(createBlock(700, 10, "first and")));
+        merger.accept(2, List.of(createBlock(50, 10, "second and")));
+        merger.accept(3, List.of(createBlock(50, 10, "third.")));
+        merger.finish();
+
+        assertEquals(List.of(1, 2, 3), this.pagesIndices);
+        assertTrue(this.pagesBlocks.get(0).isEmpty());
+        assertTrue(this.pagesBlocks.get(1).isEmpty());
+        assertEquals(List.of(List.of("first and", "second and", "third.")), getTexts(this.pagesBlocks.get(2)));
+        assertEquals(2, merger.getMergedBlocksCount());
+    }
+
+    @Test
+    void whenParagraphFinishedOrNextTextDiffersThenNotMerged() throws IOException {
+        CrossPageBlocksMerger merger = new CrossPageBlocksMerger(this::consume);
+
+        merger.accept(1, List.of(createBlock(700, 10, "finished.")));
+        merger.accept(2, List.of(createBlock(50, 10, "lowercase"), createBlock(700, 10, "not finished")));
+        merger.accept(3, List.of(createBlock(50, 10, "New paragraph"), createBlock(700, 10, "footnote")));
+        merger.accept(4, List.of(createBlock(50, 14, "larger text")));
+        merger.finish();
+
+        assertEquals(List.of(1, 2, 3, 4), this.pagesIndices);
+        assertEquals(List.of(1, 2, 2, 1), this.pagesBlocks.stream().map(List::size).collect(Collectors.toList()));
+        assertEquals(0, merger.getMergedBlocksCount());
+    }
+
+    @Test
+    void whenLinesConsistOfControlCharactersThenCheckedWithoutFailure() throws IOException {
+        CrossPageBlocksMerger merger = new CrossPageBlocksMerger(this::consume);
+
+        merger.accept(1, List.of(createBlock(700, 10, "not finished", "\u0001\u0002")));
+        merger.accept(2, List.of(createBlock(50, 10, "\u0003", "goes on")));
+        merger.finish();
+
+        assertEquals(List.of(1, 2), this.pagesIndices);
+        assertEquals(0, merger.getMergedBlocksCount());
+    }
+
+    private void consume(int pageIndex, List<Block> blocks) {
+        this.pagesIndices.add(pageIndex);
+        this.pagesBlocks.add(blocks);
+    }
+
+    private static List<List<String>> getTexts(List<Block> blocks) {
+        return blocks.stream()
+                .map(block -> block.getLines().stream().map(PageLine::getText).collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    private static Block createBlock(double y, float fontSize, String... linesText) {
+        List<PageLine> lines = new ArrayList<>();
+        for (int lineIndex = 0; lineIndex < linesText.length; lineIndex++) {
+            TextObject textObject = new TextObject();
+            textObject.setRectangle(new FrameworkRectangle(50, y + lineIndex * 12, 200, 10));
+            textObject.setFontSize(fontSize);
+            textObject.addToTextContent(linesText[lineIndex]);
+            PageLine line = new PageLine();
+            line.addObject(textObject);
+            lines.add(line);
+        }
+        Block block = new Block();
+        block.setLines(lines);
+        return block;
+    }
+}
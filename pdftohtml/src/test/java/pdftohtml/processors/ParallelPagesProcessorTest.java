@@ -0,0 +1,87 @@
+package pdftohtml.processors;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+import pdftohtml.processors.html.HtmlPageWriter;
+import pdftohtml.processors.pdf.document.DocumentLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URISyntaxException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class ParallelPagesProcessorTest {
+
+    private static final String MULTIPAGE_DOCUMENT = "/doc_test1.pdf";
+
+    @Test
+    void whenPagesProcessedInParallelThenTheyArriveInOrderAndMatchSequentialOutput()
+            throws URISyntaxException, IOException {
+        File file = new File(getClass().getResource(MULTIPAGE_DOCUMENT).toURI());
+        List<Integer> sequentialPages = new ArrayList<>();
+        String sequentialHtml = convert(new MainProcessor(1), file, sequentialPages);
+        List<Integer> parallelPages = new ArrayList<>();
+        String parallelHtml = convert(new MainProcessor(3), file, parallelPages);
+
+        int pagesCount;
+        try (PDDocument document = PDDocument.load(file)) {
+            pagesCount = document.getNumberOfPages();
+        }
+        List<Integer> expectedPages = IntStream.rangeClosed(1, pagesCount).boxed().collect(Collectors.toList());
+        assertEquals(expectedPages, sequentialPages);
+        assertEquals(expectedPages, parallelPages);
+        assertEquals(sequentialHtml, parallelHtml);
+    }
+
+    @Test
+    void whenWorkerFailsWithErrorThenConsumerGetsErrorInsteadOfWaiting() throws URISyntaxException {
+        File file = new File(getClass().getResource(MULTIPAGE_DOCUMENT).toURI());
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        // the first document is loaded to count pages and is
+        // processed by the first worker, the others fail
+        DocumentLoader documentLoader = new DocumentLoader() {
+            @Override
+            public PDDocument load(File file) throws IOException {
+                if (loads.getAndIncrement() == 0) {
+                    return super.load(file);
+                }
+                failed.countDown();
+                throw new StackOverflowError("page is too deep");
+            }
+        };
+        ParallelPagesProcessor processor = new ParallelPagesProcessor(file, 2, documentLoader);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            assertThrows(StackOverflowError.class, () -> processor.process((pageIndex, blocks) -> {
+                try {
+                    failed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        });
+    }
+
+    private String convert(MainProcessor processor, File file, List<Integer> pages) throws IOException {
+        StringWriter html = new StringWriter();
+        try (HtmlPageWriter htmlPageWriter = new HtmlPageWriter(html)) {
+            processor.processPages(file, (pageIndex, blocks) -> {
+                pages.add(pageIndex);
+                htmlPageWriter.writePage(pageIndex, blocks);
+            });
+        }
+        return html.toString();
+    }
+}
@@ -0,0 +1,192 @@
+package pdftohtml.processors.batch;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pdftohtml.processors.pdf.document.DocumentLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchProcessorTest {
+
+    private static final String DOCUMENT = "/page.pdf";
+
+    @Test
+    void whenReadManifestThenRelativePathsResolvedAndCommentsSkipped(@TempDir Path directory) throws IOException {
+        Path manifest = directory.resolve("manifest.txt");
+        Files.write(
+                manifest,
+                Arrays.asList("# documents", "first.pdf", "", "  nested/second.pdf  "),
+                StandardCharsets.UTF_8
+        );
+
+        List<File> documents = BatchProcessor.findDocuments(manifest.toFile());
+
+        assertEquals(
+                Arrays.asList(
+                        directory.resolve("first.pdf").toFile(),
+                        directory.resolve("nested/second.pdf").toFile()
+                ),
+                documents
+        );
+    }
+
+    @Test
+    void whenSearchDirectoryThenPdfFilesOfSubdirectoriesFound(@TempDir Path directory) throws IOException {
+        Files.createDirectories(directory.resolve("nested"));
+        Files.createFile(directory.resolve("b.pdf"));
+        Files.createFile(directory.resolve("nested/a.PDF"));
+        Files.createFile(directory.resolve("notes.txt"));
+
+        List<File> documents = BatchProcessor.findDocuments(directory.toFile());
+
+        assertEquals(
+                Arrays.asList(
+                        directory.resolve("b.pdf").toFile(),
+                        directory.resolve("nested/a.PDF").toFile()
+                ),
+                documents
+        );
+    }
+
+    @Test
+    void whenDocumentIsBrokenThenItFailsAndOutputIsDeleted(@TempDir Path directory) throws IOException {
+        Path document = directory.resolve("broken.pdf");
+        Files.write(document, "not a pdf".getBytes(StandardCharsets.US_ASCII));
+        File outputDirectory = directory.resolve("html").toFile();
+
+        BatchSummary summary = new BatchProcessor(2).process(
+                Collections.singletonList(document.toFile()), outputDirectory
+        );
+
+        assertEquals(1, summary.getDocumentsCount());
+        assertEquals(1, summary.getFailedCount());
+        assertEquals(0, summary.getConvertedCount());
+        BatchDocumentResult result = summary.getResults().get(0);
+        assertEquals(BatchDocumentResult.Status.FAILED, result.getStatus());
+        assertNotNull(result.getError());
+        assertEquals(new File(outputDirectory, "broken.html"), result.getOutputFile());
+        assertFalse(result.getOutputFile().exists());
+        assertTrue(outputDirectory.isDirectory());
+    }
+
+    @Test
+    void whenDocumentIsStuckWhileLoadingThenItTimesOutAndOthersAreConverted(@TempDir Path directory) throws IOException {
+        File stuck = copyDocument(directory, "stuck.pdf");
+        File other = copyDocument(directory, "other.pdf");
+        BatchProcessor processor = new BatchProcessor(1);
+        processor.setDocumentTimeoutMillis(500);
+        processor.setDocumentLoader(new DocumentLoader() {
+            @Override
+            public PDDocument load(File file) throws IOException {
+                if (file.equals(stuck)) {
+                    try {
+                        Thread.sleep(Duration.ofMinutes(10).toMillis());
+                    } catch (InterruptedException e) {
+                        throw new InterruptedIOException();
+                    }
+                }
+                return super.load(file);
+            }
+        });
+
+        BatchSummary summary = assertTimeoutPreemptively(
+                Duration.ofSeconds(60),
+                () -> processor.process(Arrays.asList(stuck, other), directory.resolve("html").toFile())
+        );
+
+        assertEquals(BatchDocumentResult.Status.TIMED_OUT, summary.getResults().get(0).getStatus());
+        assertFalse(summary.getResults().get(0).getOutputFile().exists());
+        assertEquals(BatchDocumentResult.Status.CONVERTED, summary.getResults().get(1).getStatus());
+        assertTrue(summary.getResults().get(1).getOutputFile().exists());
+    }
+
+    @Test
+    void whenTimedOutDocumentIgnoresInterruptionThenItIsStoppedBeforeBatchEnds(@TempDir Path directory)
+            throws IOException {
+        File stuck = copyDocument(directory, "stuck.pdf");
+        AtomicBoolean loaded = new AtomicBoolean();
+        BatchProcessor processor = new BatchProcessor(1);
+        processor.setDocumentTimeoutMillis(200);
+        processor.setDocumentLoader(new DocumentLoader() {
+            @Override
+            public PDDocument load(File file) throws IOException {
+                // loading is not interruptible, the interruption
+                // is noticed by the conversion afterwards
+                boolean interrupted = false;
+                long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+                while (System.nanoTime() < end) {
+                    try {
+                        Thread.sleep(10);
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                PDDocument document = super.load(file);
+                loaded.set(true);
+                return document;
+            }
+        });
+
+        BatchSummary summary = processor.process(Collections.singletonList(stuck), directory.resolve("html").toFile());
+
+        assertTrue(loaded.get());
+        BatchDocumentResult result = summary.getResults().get(0);
+        assertEquals(BatchDocumentResult.Status.TIMED_OUT, result.getStatus());
+        assertEquals(0, result.getPagesCount());
+        assertFalse(result.getOutputFile().exists());
+    }
+
+    @Test
+    void whenDocumentFailsWithErrorThenOnlyThisDocumentFails(@TempDir Path directory) throws IOException {
+        File broken = copyDocument(directory, "broken.pdf");
+        File other = copyDocument(directory, "other.pdf");
+        BatchProcessor processor = new BatchProcessor(2);
+        processor.setDocumentLoader(new DocumentLoader() {
+            @Override
+            public PDDocument load(File file) throws IOException {
+                if (file.equals(broken)) {
+                    throw new StackOverflowError();
+                }
+                return super.load(file);
+            }
+        });
+
+        BatchSummary summary = processor.process(Arrays.asList(broken, other), directory.resolve("html").toFile());
+
+        BatchDocumentResult result = summary.getResults().get(0);
+        assertEquals(BatchDocumentResult.Status.FAILED, result.getStatus());
+        assertTrue(result.getError() instanceof StackOverflowError);
+        assertFalse(result.getOutputFile().exists());
+        assertEquals(BatchDocumentResult.Status.CONVERTED, summary.getResults().get(1).getStatus());
+    }
+
+    private File copyDocument(Path directory, String name) throws IOException {
+        Path document = directory.resolve(name);
+        try (InputStream input = getClass().getResourceAsStream(DOCUMENT)) {
+            Files.copy(input, document);
+        }
+        return document.toFile();
+    }
+}
@@ -0,0 +1,119 @@
+package pdftohtml.processors.html;
+
+import org.junit.jupiter.api.Test;
+import pdftohtml.TestUtils;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.PdfDocumentObjectType;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.container.PageLine;
+import pdftohtml.domain.pdf.object.graphics.GraphicsObject;
+import pdftohtml.domain.pdf.object.text.TextObject;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HtmlPageWriterTest {
+
+    @Test
+    void whenWritePagesThenEveryPageWrittenImmediately() throws IOException {
+        StringWriter output = new StringWriter();
+        HtmlPageWriter writer = new HtmlPageWriter(output);
+
+        writer.writePage(1, Collections.singletonList(createBlock("first", "line")));
+        assertEquals(
+                "<!DOCTYPE html><html><head><meta charset=\"utf-8\"></head><body>\n" +
+                        "<div class=\"page\"><p>first<br>line</p></div>\n",
+                output.toString()
+        );
+
+        writer.writePage(2, Collections.emptyList());
+        writer.close();
+        assertEquals(
+                "<!DOCTYPE html><html><head><meta charset=\"utf-8\"></head><body>\n" +
+                        "<div class=\"page\"><p>first<br>line</p></div>\n" +
+                        "<div class=\"page\"></div>\n" +
+                        "</body></html>",
+                output.toString()
+        );
+    }
+
+    @Test
+    void whenTextIsStyledAndHasMarkupThenTagsAddedAndTextEscaped() throws IOException {
+        TextObject textObject = (TextObject) TestUtils.createMockPdfTextObject(
+                PdfDocumentObjectType.TEXT, new FrameworkRectangle(0, 0, 10, 5)
+        );
+        textObject.addToTextContent("a < b & c");
+        textObject.setBoldText(true);
+        textObject.setItalicText(true);
+        PageLine line = new PageLine();
+        line.addObject(textObject);
+        Block block = new Block();
+        block.setLines(Collections.singletonList(line));
+
+        StringWriter output = new StringWriter();
+        try (HtmlPageWriter writer = new HtmlPageWriter(output)) {
+            writer.writePage(1, Collections.singletonList(block));
+        }
+
+        assertEquals(
+                "<!DOCTYPE html><html><head><meta charset=\"utf-8\"></head><body>\n" +
+                        "<div class=\"page\"><p><i><b>a &lt; b &amp; c</b></i></p></div>\n" +
+                        "</body></html>",
+                output.toString()
+        );
+    }
+
+    @Test
+    void whenGraphicHasWrittenImageThenImageTagWritten() throws IOException {
+        StringWriter output = new StringWriter();
+        try (HtmlPageWriter writer = new HtmlPageWriter(output)) {
+            writer.writePage(1, List.of(
+                    createGraphicBlock("images/0af1.jpg"),
+                    createGraphicBlock(null)
+            ));
+        }
+
+        assertEquals(
+                "<!DOCTYPE html><html><head><meta charset=\"utf-8\"></head><body>\n" +
+                        "<div class=\"page\">" +
+                        "<img class=\"graphic\" src=\"images/0af1.jpg\" style=\"width:120px;height:80px\">" +
+                        "<div class=\"graphic\" style=\"width:120px;height:80px\"></div>" +
+                        "</div>\n" +
+                        "</body></html>",
+                output.toString()
+        );
+    }
+
+    private Block createGraphicBlock(String imageReference) {
+        GraphicsObject graphicsObject = new GraphicsObject();
+        graphicsObject.setRectangle(new FrameworkRectangle(10, 20, 120, 80));
+        graphicsObject.setImageReference(imageReference);
+        PageLine line = new PageLine();
+        line.addObject(graphicsObject);
+        Block block = new Block();
+        block.setObjectType(PdfDocumentObjectType.GRAPHIC);
+        block.addLine(line);
+        return block;
+    }
+
+    private Block createBlock(String... linesText) {
+        List<PageLine> lines = new ArrayList<>();
+        for (int lineIndex = 0; lineIndex < linesText.length; lineIndex++) {
+            TextObject textObject = (TextObject) TestUtils.createMockPdfTextObject(
+                    PdfDocumentObjectType.TEXT, new FrameworkRectangle(0, lineIndex * 10, 10, 5)
+            );
+            textObject.addToTextContent(linesText[lineIndex]);
+            PageLine line = new PageLine();
+            line.addObject(textObject);
+            lines.add(line);
+        }
+        Block block = new Block();
+        block.setLines(lines);
+        return block;
+    }
+}
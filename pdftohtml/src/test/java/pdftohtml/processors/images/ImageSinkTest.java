@@ -0,0 +1,83 @@
+package pdftohtml.processors.images;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pdftohtml.domain.pdf.object.graphics.ExtractedImage;
+import pdftohtml.domain.pdf.object.graphics.ImageFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageSinkTest {
+
+    @Test
+    void whenImageStoredAgainThenSameReferenceAndWrittenOnce(@TempDir Path directory) throws IOException {
+        File imagesDirectory = directory.resolve("images").toFile();
+        ExtractedImage logo = createImage("logo");
+        String firstReference;
+        String secondReference;
+        ImageSink imageSink = new ImageSink(imagesDirectory, "images/");
+        try {
+            firstReference = imageSink.store(logo);
+            secondReference = imageSink.store(createImage("logo"));
+        } finally {
+            imageSink.close();
+        }
+
+        assertEquals("images/" + logo.getKey() + ".jpg", firstReference);
+        assertEquals(firstReference, secondReference);
+        assertEquals(1, imageSink.getWrittenImagesCount());
+        assertArrayEquals(
+                "logo".getBytes(StandardCharsets.US_ASCII),
+                Files.readAllBytes(directory.resolve(firstReference))
+        );
+    }
+
+    @Test
+    void whenQueueIsFullThenAllImagesWritten(@TempDir Path directory) throws IOException {
+        Set<String> references = new HashSet<>();
+        try (ImageSink imageSink = new ImageSink(directory.toFile(), "", 2, 1)) {
+            for (int i = 0; i < 100; i++) {
+                references.add(imageSink.store(createImage("image " + i)));
+            }
+        }
+
+        assertEquals(100, references.size());
+        for (String reference : references) {
+            assertTrue(Files.isRegularFile(directory.resolve(reference)), reference);
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(100, files.count());
+        }
+    }
+
+    @Test
+    void whenImageIsNotWrittenThenErrorThrownOnClose(@TempDir Path directory) throws IOException {
+        ImageSink imageSink = new ImageSink(directory.toFile(), "");
+        imageSink.store(ExtractedImage.blank("blank", 10, 10));
+
+        assertThrows(IOException.class, imageSink::close);
+        assertThrows(IllegalStateException.class, () -> imageSink.store(createImage("late")));
+    }
+
+    private static ExtractedImage createImage(String content) {
+        return ExtractedImage.encoded(
+                Integer.toHexString(content.hashCode()),
+                ImageFormat.JPEG,
+                10,
+                10,
+                content.getBytes(StandardCharsets.US_ASCII)
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package pdftohtml.processors.pdf.document;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DocumentLoaderTest {
+
+    private static final String DOCUMENT = "/table_with_borders_test.pdf";
+
+    @Test
+    void whenLoadMemoryMappedOrMemoryBoundedThenDocumentIsTheSame() throws Exception {
+        File file = getDocumentFile();
+        String expectedText = extractText(new DocumentLoader(), file);
+
+        DocumentLoader mappedLoader = new DocumentLoader();
+        mappedLoader.setMemoryMapped(true);
+        assertEquals(expectedText, extractText(mappedLoader, file));
+
+        DocumentLoader boundedLoader = new DocumentLoader();
+        boundedLoader.setMaxMainMemoryBytes(1024);
+        assertEquals(expectedText, extractText(boundedLoader, file));
+    }
+
+    @Test
+    void whenReadMappedFileByChunksThenBytesAreTheSameAsInFile() throws Exception {
+        File file = getDocumentFile();
+        byte[] expected = Files.readAllBytes(file.toPath());
+
+        // chunk size which is not a divisor of the read
+        // size makes reads go over chunk boundaries
+        try (MappedRandomAccessRead source = new MappedRandomAccessRead(file, 1000)) {
+            assertEquals(expected.length, source.length());
+            byte[] actual = new byte[expected.length];
+            int position = 0;
+            while (position < actual.length) {
+                position += source.read(actual, position, Math.min(4096, actual.length - position));
+            }
+            assertArrayEquals(expected, actual);
+            assertEquals(-1, source.read());
+
+            source.seek(999);
+            assertEquals(expected[999] & 0xff, source.peek());
+            assertEquals(expected[999] & 0xff, source.read());
+            assertEquals(expected[1000] & 0xff, source.read());
+            source.rewind(2);
+            assertArrayEquals(new byte[]{expected[999], expected[1000]}, source.readFully(2));
+        }
+    }
+
+    @Test
+    void whenMemoryLimitIsNegativeThenExceptionThrown() {
+        assertThrows(IllegalArgumentException.class, () -> new DocumentLoader().setMaxMainMemoryBytes(-2));
+    }
+
+    private File getDocumentFile() throws URISyntaxException {
+        return new File(getClass().getResource(DOCUMENT).toURI());
+    }
+
+    private String extractText(DocumentLoader loader, File file) throws IOException {
+        try (PDDocument document = loader.load(file)) {
+            return new PDFTextStripper().getText(document);
+        }
+    }
+}
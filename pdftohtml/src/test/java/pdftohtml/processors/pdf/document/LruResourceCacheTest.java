@@ -0,0 +1,91 @@
+package pdftohtml.processors.pdf.document;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LruResourceCacheTest {
+
+    @Test
+    void whenCacheIsFullThenLeastRecentlyUsedResourceEvicted() throws IOException {
+        LruResourceCache cache = new LruResourceCache(2);
+        COSObject helveticaObject = new COSObject(new COSDictionary());
+        COSObject courierObject = new COSObject(new COSDictionary());
+        COSObject timesObject = new COSObject(new COSDictionary());
+
+        cache.put(helveticaObject, PDType1Font.HELVETICA);
+        cache.put(courierObject, PDType1Font.COURIER);
+        // helvetica becomes the most recently used one
+        assertSame(PDType1Font.HELVETICA, cache.getFont(helveticaObject));
+        cache.put(timesObject, PDType1Font.TIMES_ROMAN);
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        assertNull(cache.getFont(courierObject));
+        assertSame(PDType1Font.HELVETICA, cache.getFont(helveticaObject));
+        assertSame(PDType1Font.TIMES_ROMAN, cache.getFont(timesObject));
+        assertEquals(3, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void whenResourceOfAnotherTypeRequestedThenMiss() throws IOException {
+        LruResourceCache cache = new LruResourceCache(10);
+        COSObject colorSpaceObject = new COSObject(new COSDictionary());
+        cache.put(colorSpaceObject, PDDeviceRGB.INSTANCE);
+
+        assertNull(cache.getFont(colorSpaceObject));
+        assertSame(PDDeviceRGB.INSTANCE, cache.getColorSpace(colorSpaceObject));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void whenImageXObjectPutThenNotCached() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject image = LosslessFactory.createFromImage(
+                    document, new BufferedImage(2, 2, BufferedImage.TYPE_INT_RGB)
+            );
+            LruResourceCache cache = new LruResourceCache(10);
+            COSObject imageObject = new COSObject(image.getCOSObject());
+
+            cache.put(imageObject, image);
+
+            assertEquals(0, cache.size());
+            assertNull(cache.getXObject(imageObject));
+        }
+    }
+
+    @Test
+    void whenDocumentLoadedThenFontsOfAllPagesParsedOnce() throws IOException, URISyntaxException {
+        LruResourceCache cache = new LruResourceCache(LruResourceCache.DEFAULT_MAX_ENTRIES);
+        DocumentLoader loader = new DocumentLoader();
+        loader.setResourceCacheFactory(() -> cache);
+
+        try (PDDocument document = loader.load(new File(getClass().getResource("/list_test.pdf").toURI()))) {
+            assertSame(cache, document.getResourceCache());
+            new PDFTextStripper().getText(document);
+            new PDFTextStripper().getText(document);
+        }
+
+        assertTrue(cache.getHits() > 0);
+        assertEquals(0, cache.getEvictions());
+    }
+}
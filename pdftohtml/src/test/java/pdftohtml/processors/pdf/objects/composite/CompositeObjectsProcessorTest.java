@@ -0,0 +1,56 @@
+package pdftohtml.processors.pdf.objects.composite;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.Test;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.common.helpers.testing.DebugLayer;
+import pdftohtml.common.helpers.testing.DebugOverlay;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.template.Divider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CompositeObjectsProcessorTest {
+
+    @Test
+    void whenDividersHaveSameYCoordinatesThenOneSkeletonForThem() throws IOException {
+        ConversionContext context = new ConversionContext();
+        DebugOverlay overlay = new DebugOverlay(EnumSet.of(DebugLayer.SKELETONS));
+        context.setDebugOverlay(overlay);
+        List<Divider> dividers = List.of(
+                createDivider(new FrameworkRectangle(300, 14, 1, 100)),
+                createDivider(new FrameworkRectangle(100, 10, 1, 100)),
+                // the same y coordinates as both other dividers of the table
+                createDivider(new FrameworkRectangle(200, 12, 1, 100)),
+                createDivider(new FrameworkRectangle(100, 300, 1, 50))
+        );
+        List<Block> blocks = List.of(
+                createBlock(new FrameworkRectangle(10, 20, 50, 10)),
+                createBlock(new FrameworkRectangle(10, 310, 50, 10)),
+                createBlock(new FrameworkRectangle(10, 100, 50, 30))
+        );
+
+        try (PDDocument document = new PDDocument()) {
+            document.addPage(new PDPage());
+            new CompositeObjectsProcessor(document, context)
+                    .processCompositeObjects(1, blocks, dividers, new ArrayList<>());
+        }
+
+        assertEquals(2, overlay.getRectanglesCount());
+    }
+
+    private static Divider createDivider(FrameworkRectangle rectangle) {
+        return new Divider(rectangle, false, false, false);
+    }
+
+    private static Block createBlock(FrameworkRectangle rectangle) {
+        return new Block(new ArrayList<>(), rectangle, null);
+    }
+}
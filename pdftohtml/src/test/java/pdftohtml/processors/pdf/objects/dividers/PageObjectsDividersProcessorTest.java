@@ -0,0 +1,215 @@
+package pdftohtml.processors.pdf.objects.dividers;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.Test;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.common.Globals;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.template.Divider;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static pdftohtml.common.helpers.RectangleHelper.checkXSpaceBetweenTwoRectangles;
+import static pdftohtml.common.helpers.RectangleHelper.createRectangleBetweenTwoRectangles;
+import static pdftohtml.common.helpers.RectangleHelper.uniteTwoRectanglesByXMinimally;
+
+class PageObjectsDividersProcessorTest {
+
+    @Test
+    void whenRandomLayoutsProcessedThenSameDividersAsByPairwiseSearch() throws IOException {
+        ConversionContext context = new ConversionContext();
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            for (int seed = 0; seed < 30; seed++) {
+                for (int size : new int[]{1, 2, 5, 20, 60, 200}) {
+                    List<Block> blocks = createLayout(new Random(seed * 1000L + size), size);
+                    PageObjectsDividersProcessor processor = new PageObjectsDividersProcessor(document, context);
+                    processor.findDividersOnPage(1, blocks);
+
+                    List<Divider> expected = new PairwiseDividersSearch(page, context.getXInaccuracy())
+                            .findDividers(blocks);
+                    assertEquals(expected, processor.getDividers(), "seed " + seed + ", " + size + " blocks");
+                }
+            }
+        }
+    }
+
+    /**
+     * Rows of blocks, neighbours in a row and rows themselves
+     * are apart, touching or overlapping
+     */
+    private static List<Block> createLayout(Random random, int size) {
+        List<Block> blocks = new ArrayList<>();
+        double y = 20;
+        while (blocks.size() < size) {
+            double height = 6 + random.nextInt(10) * 0.5;
+            double x = 20 + random.nextInt(20);
+            int columns = 1 + random.nextInt(8);
+            for (int column = 0; column < columns && blocks.size() < size; column++) {
+                double width = 10 + random.nextInt(80) * 0.5;
+                double yShift = random.nextInt(4) == 0 ? random.nextInt(6) * 0.5 : 0;
+                double heightChange = random.nextInt(4) == 0 ? random.nextInt(6) * 0.5 : 0;
+                blocks.add(new Block(
+                        new ArrayList<>(),
+                        new FrameworkRectangle(x, y + yShift, width, height + heightChange),
+                        null
+                ));
+                x += width + createGap(random);
+            }
+            y += height + createGap(random) / 4;
+        }
+        return blocks;
+    }
+
+    private static double createGap(Random random) {
+        switch (random.nextInt(5)) {
+            case 0:
+                return 0;
+            case 1:
+                return -(1 + random.nextInt(10)) * 0.5;
+            case 2:
+                return (1 + random.nextInt(6)) * 0.5;
+            default:
+                return 4 + random.nextInt(36);
+        }
+    }
+
+    /**
+     * Divider search comparing every block with every other
+     * block and every divider with every other divider
+     * and every block, the sweeps must give the same dividers
+     */
+    private static class PairwiseDividersSearch {
+
+        private final PDRectangle cropBox;
+        private final double xInaccuracy;
+        private List<FrameworkRectangle> dividersRectangles = new ArrayList<>();
+
+        PairwiseDividersSearch(PDPage page, double xInaccuracy) {
+            this.cropBox = page.getCropBox();
+            this.xInaccuracy = xInaccuracy;
+        }
+
+        List<Divider> findDividers(List<Block> blocks) {
+            List<Block> sorted = blocks.stream()
+                    .filter(block -> blocks.stream().anyMatch(listBlock -> !listBlock.equals(block)
+                            && listBlock.getRectangle().intersectsVertically(block.getRectangle()) > 0))
+                    .sorted(Comparator.comparingDouble(block -> block.getRectangle().getMinX()))
+                    .collect(Collectors.toList());
+            findDividersBetweenBlocks(sorted);
+            mergeDividers();
+            cutDividers(blocks);
+            this.dividersRectangles = new ArrayList<>(new HashSet<>(this.dividersRectangles));
+            filterDividers(blocks);
+            return this.dividersRectangles.stream()
+                    .map(rectangle -> new Divider(rectangle, false, false, false))
+                    .collect(Collectors.toList());
+        }
+
+        private void findDividersBetweenBlocks(List<Block> sortedBlocksByX) {
+            for (Block block : sortedBlocksByX) {
+                FrameworkRectangle rectangle = block.getRectangle();
+                boolean hasBlocksOnTheLeft = false;
+                boolean hasBlocksOnTheRight = false;
+                for (Block comparingBlock : sortedBlocksByX) {
+                    FrameworkRectangle comparingRectangle = comparingBlock.getRectangle();
+                    boolean crossing = rectangle.intersectsVertically(comparingRectangle) > 0;
+                    if (!hasBlocksOnTheRight && crossing
+                            && rectangle.isBeforeHorizontallyWithXInaccuracy(comparingRectangle, 0)) {
+                        if (checkXSpaceBetweenTwoRectangles(
+                                rectangle, comparingRectangle, Globals.MINIMUM_DIVIDER_WIDTH, this.xInaccuracy
+                        )) {
+                            FrameworkRectangle divider = createRectangleBetweenTwoRectangles(
+                                    rectangle, comparingRectangle, this.xInaccuracy
+                            );
+                            if (divider != null) {
+                                this.dividersRectangles.add(divider);
+                            }
+                        }
+                        hasBlocksOnTheRight = true;
+                    }
+                    if (crossing && rectangle.isAfterHorizontallyWithXInaccuracy(comparingRectangle, 0)) {
+                        hasBlocksOnTheLeft = true;
+                    }
+                }
+                if (!hasBlocksOnTheLeft) {
+                    this.dividersRectangles.add(new FrameworkRectangle(
+                            this.cropBox.getLowerLeftX(),
+                            rectangle.getMinY(),
+                            rectangle.getMinX() - this.cropBox.getLowerLeftX(),
+                            rectangle.getHeight()
+                    ));
+                }
+                if (!hasBlocksOnTheRight) {
+                    this.dividersRectangles.add(new FrameworkRectangle(
+                            rectangle.getMaxX(),
+                            rectangle.getMinY(),
+                            this.cropBox.getUpperRightX(),
+                            rectangle.getHeight()
+                    ));
+                }
+            }
+        }
+
+        private void mergeDividers() {
+            for (FrameworkRectangle divider : this.dividersRectangles) {
+                for (FrameworkRectangle comparingDivider : this.dividersRectangles) {
+                    float intersection = divider.intersectsHorizontally(comparingDivider);
+                    if (intersection >= 0.55 * divider.getWidth()
+                            || intersection >= 0.55 * comparingDivider.getWidth()) {
+                        FrameworkRectangle united = uniteTwoRectanglesByXMinimally(divider, comparingDivider);
+                        divider.setRectangleCoordinates(
+                                united.getMinX(), united.getMinY(), united.getMaxX(), united.getMaxY()
+                        );
+                    }
+                }
+            }
+        }
+
+        private void cutDividers(List<Block> blocks) {
+            List<FrameworkRectangle> cutDividers = new ArrayList<>();
+            for (FrameworkRectangle divider : this.dividersRectangles) {
+                for (Block block : blocks) {
+                    if (divider.intersects(block.getRectangle())) {
+                        FrameworkRectangle intersection = divider.getIntersection(block.getRectangle());
+                        if (intersection.getWidth() > 0 && intersection.getHeight() > 0) {
+                            cutDividers.add(new FrameworkRectangle(
+                                    intersection.getMinX(),
+                                    intersection.getMaxY(),
+                                    intersection.getWidth(),
+                                    divider.getMaxY() - intersection.getMaxY()
+                            ));
+                            divider.setRectangleCoordinates(
+                                    divider.getMinX(),
+                                    divider.getMinY(),
+                                    intersection.getMaxX(),
+                                    intersection.getMinY()
+                            );
+                        }
+                    }
+                }
+            }
+            this.dividersRectangles.addAll(cutDividers);
+        }
+
+        private void filterDividers(List<Block> blocks) {
+            this.dividersRectangles = this.dividersRectangles.stream()
+                    .filter(divider -> blocks.stream().anyMatch(block -> block.getRectangle()
+                            .isBeforeHorizontallyWithXInaccuracy(divider, this.xInaccuracy)))
+                    .filter(divider -> blocks.stream().anyMatch(block -> block.getRectangle()
+                            .isAfterHorizontallyWithXInaccuracy(divider, this.xInaccuracy)))
+                    .collect(Collectors.toList());
+        }
+    }
+}
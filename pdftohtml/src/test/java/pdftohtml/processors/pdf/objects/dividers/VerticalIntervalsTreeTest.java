@@ -0,0 +1,63 @@
+package pdftohtml.processors.pdf.objects.dividers;
+
+import org.junit.jupiter.api.Test;
+import pdftohtml.domain.common.FrameworkRectangle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VerticalIntervalsTreeTest {
+
+    @Test
+    void whenFindCrossingThenSameRectangleFoundAsByScan() {
+        Random random = new Random(11);
+        for (int size : new int[]{1, 2, 40, 1000}) {
+            List<FrameworkRectangle> rectangles = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                rectangles.add(new FrameworkRectangle(
+                        0, random.nextInt(200) * 0.5, 10, random.nextInt(20) * 0.5
+                ));
+            }
+            VerticalIntervalsTree tree = new VerticalIntervalsTree(rectangles);
+            boolean[] added = new boolean[size];
+            for (int step = 0; step < size; step++) {
+                int addedIndex = random.nextInt(size);
+                tree.add(addedIndex);
+                added[addedIndex] = true;
+
+                int index = random.nextInt(size);
+                assertEquals(scan(rectangles, added, index), tree.findFirstCrossing(index));
+            }
+        }
+    }
+
+    @Test
+    void whenRectanglesOnlyTouchOrHaveZeroHeightThenTheyDoNotCross() {
+        List<FrameworkRectangle> rectangles = Arrays.asList(
+                new FrameworkRectangle(0, 0, 10, 10),
+                new FrameworkRectangle(0, 10, 10, 10),
+                new FrameworkRectangle(0, 5, 10, 0),
+                new FrameworkRectangle(0, 9, 10, 2)
+        );
+        VerticalIntervalsTree tree = new VerticalIntervalsTree(rectangles);
+        tree.add(1);
+        tree.add(2);
+
+        assertEquals(-1, tree.findFirstCrossing(0));
+        assertEquals(-1, tree.findFirstCrossing(2));
+        assertEquals(1, tree.findFirstCrossing(3));
+    }
+
+    private static int scan(List<FrameworkRectangle> rectangles, boolean[] added, int index) {
+        for (int i = 0; i < rectangles.size(); i++) {
+            if (added[i] && rectangles.get(i).intersectsVertically(rectangles.get(index)) > 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,131 @@
+package pdftohtml.processors.pdf.objects.graphics;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlankImageDetectorTest {
+
+    private static final int[] IMAGE_TYPES = {
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_BYTE_GRAY,
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_USHORT_GRAY,
+            BufferedImage.TYPE_BYTE_BINARY
+    };
+
+    private final BlankImageDetector detector = new BlankImageDetector();
+
+    @Test
+    void whenAllPixelsHaveOneColorThenBlank() {
+        for (int type : IMAGE_TYPES) {
+            BufferedImage image = createImage(type, Color.WHITE);
+            assertTrue(detector.isTransparentOrMonotoneColor(image), "type " + type);
+            assertTrue(detector.isTransparentOrMonotoneColor(new BufferedImage(300, 200, type)), "type " + type);
+        }
+    }
+
+    @Test
+    void whenOnePixelBetweenSamplesDiffersThenNotBlank() {
+        for (int type : IMAGE_TYPES) {
+            BufferedImage lastPixelImage = createImage(type, Color.WHITE);
+            lastPixelImage.setRGB(299, 199, Color.BLACK.getRGB());
+            assertFalse(detector.isTransparentOrMonotoneColor(lastPixelImage), "type " + type);
+
+            BufferedImage firstPixelImage = createImage(type, Color.WHITE);
+            firstPixelImage.setRGB(0, 0, Color.BLACK.getRGB());
+            assertFalse(detector.isTransparentOrMonotoneColor(firstPixelImage), "type " + type);
+        }
+    }
+
+    @Test
+    void whenOnlyTransparencyDiffersThenNotBlank() {
+        BufferedImage image = createImage(BufferedImage.TYPE_INT_ARGB, Color.WHITE);
+        image.setRGB(151, 101, 0x00FFFFFF);
+
+        assertFalse(detector.isTransparentOrMonotoneColor(image));
+    }
+
+    @Test
+    void whenImageIsPartOfAnotherImageThenOnlyItsPixelsChecked() {
+        BufferedImage image = createImage(BufferedImage.TYPE_INT_RGB, Color.WHITE);
+        image.setRGB(0, 0, Color.BLACK.getRGB());
+
+        assertTrue(detector.isTransparentOrMonotoneColor(image.getSubimage(10, 10, 100, 100)));
+        assertFalse(detector.isTransparentOrMonotoneColor(image.getSubimage(0, 0, 100, 100)));
+    }
+
+    @Test
+    void whenDetectedOnRasterThenTheSameAsByRgbOfEveryPixel() {
+        Random random = new Random(7);
+        for (int type : IMAGE_TYPES) {
+            for (int i = 0; i < 20; i++) {
+                BufferedImage image = createImage(type, new Color(random.nextInt()));
+                if (i % 2 == 0) {
+                    image.setRGB(random.nextInt(300), random.nextInt(200), random.nextInt());
+                }
+                assertEquals(
+                        isMonotoneByRgbOfEveryPixel(image),
+                        detector.isTransparentOrMonotoneColor(image),
+                        "type " + type
+                );
+            }
+        }
+    }
+
+    @Test
+    void whenSinglePixelOrSingleValueDecodeThenBlankByMetadata() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject onePixel = LosslessFactory.createFromImage(
+                    document, new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB)
+            );
+            PDImageXObject image = LosslessFactory.createFromImage(
+                    document, createImage(BufferedImage.TYPE_INT_RGB, Color.WHITE)
+            );
+
+            assertTrue(detector.isBlankByMetadata(onePixel));
+            assertFalse(detector.isBlankByMetadata(image));
+
+            COSArray decode = new COSArray();
+            for (int i = 0; i < 6; i++) {
+                decode.add(new COSFloat(0.5f));
+            }
+            image.setDecode(decode);
+            assertTrue(detector.isBlankByMetadata(image));
+        }
+    }
+
+    private static BufferedImage createImage(int type, Color color) {
+        BufferedImage image = new BufferedImage(300, 200, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, 300, 200);
+        graphics.dispose();
+        return image;
+    }
+
+    private static boolean isMonotoneByRgbOfEveryPixel(BufferedImage image) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                if (image.getRGB(x, y) != image.getRGB(0, 0)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
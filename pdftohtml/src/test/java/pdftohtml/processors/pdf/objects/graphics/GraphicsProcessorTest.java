@@ -0,0 +1,47 @@
+package pdftohtml.processors.pdf.objects.graphics;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.util.Matrix;
+import org.junit.jupiter.api.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GraphicsProcessorTest {
+
+    @Test
+    void whenImageFailsToDecodeThenItIsSkippedAndOtherImagesKept() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject image = LosslessFactory.createFromImage(document, createImage());
+            // decoding it fails with IllegalArgumentException
+            PDImageXObject brokenImage = LosslessFactory.createFromImage(document, createImage());
+            brokenImage.getCOSObject().setInt(COSName.BITS_PER_COMPONENT, -1);
+            GraphicsProcessor processor = new GraphicsProcessor();
+            processor.startPage(new PDPage());
+
+            processor.processImage(brokenImage, new Matrix(40, 0, 0, 40, 10, 10));
+            processor.processImage(image, new Matrix(40, 0, 0, 40, 100, 10));
+
+            assertEquals(1, processor.getGraphicsObjects().size());
+            assertEquals(100, processor.getGraphicsObjects().get(0).getRectangle().getMinX(), 0.001);
+        }
+    }
+
+    private static BufferedImage createImage() {
+        BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, 16, 32);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(16, 0, 16, 32);
+        graphics.dispose();
+        return image;
+    }
+}
@@ -0,0 +1,165 @@
+package pdftohtml.processors.pdf.objects.graphics;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.junit.jupiter.api.Test;
+import pdftohtml.domain.pdf.object.graphics.ExtractedImage;
+import pdftohtml.domain.pdf.object.graphics.ImageFormat;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImageExtractorTest {
+
+    @Test
+    void whenJpegImageExtractedThenStreamCopiedWithoutReencoding() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject jpeg = JPEGFactory.createFromImage(document, createImage(BufferedImage.TYPE_INT_RGB));
+            ImageExtractor extractor = new ImageExtractor();
+
+            ExtractedImage image = extractor.extract(jpeg);
+
+            assertEquals(ImageFormat.JPEG, image.getFormat());
+            assertFalse(image.isBlank());
+            assertEquals(40, image.getWidth());
+            assertEquals(30, image.getHeight());
+            assertArrayEquals(readRawData(jpeg), write(image));
+        }
+    }
+
+    @Test
+    void whenLargeJpegImageHasDetailsThenNotDecodedAtFullSize() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            BufferedImage sourceImage = createImage(BufferedImage.TYPE_INT_RGB, 1200, 900);
+            BufferedImage blankSourceImage = new BufferedImage(1200, 900, BufferedImage.TYPE_INT_RGB);
+            ImageExtractor extractor = new ImageExtractor();
+
+            ExtractedImage image = extractor.extract(JPEGFactory.createFromImage(document, sourceImage));
+
+            assertFalse(image.isBlank());
+            assertEquals(ImageFormat.JPEG, image.getFormat());
+            assertEquals(0, extractor.getDecodedImagesCount());
+
+            ExtractedImage blankImage = extractor.extract(JPEGFactory.createFromImage(document, blankSourceImage));
+
+            assertTrue(blankImage.isBlank());
+            assertEquals(1, extractor.getDecodedImagesCount());
+        }
+    }
+
+    @Test
+    void whenImageDrawnAgainOrEmbeddedAgainThenExtractedOnce() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            BufferedImage logo = createImage(BufferedImage.TYPE_INT_RGB);
+            PDImageXObject firstCopy = JPEGFactory.createFromImage(document, logo);
+            PDImageXObject secondCopy = JPEGFactory.createFromImage(document, logo);
+            PDImageXObject otherImage = LosslessFactory.createFromImage(document, logo);
+            ImageExtractor extractor = new ImageExtractor();
+
+            ExtractedImage image = extractor.extract(firstCopy);
+            ExtractedImage imageDrawnAgain = extractor.extract(firstCopy);
+
+            assertNotSame(firstCopy.getCOSObject(), secondCopy.getCOSObject());
+            assertEquals(image.getKey(), imageDrawnAgain.getKey());
+            assertSame(imageDrawnAgain, extractor.extract(secondCopy));
+            assertNotEquals(image.getKey(), extractor.extract(otherImage).getKey());
+            assertEquals(2, extractor.getDecodedImagesCount());
+        }
+    }
+
+    @Test
+    void whenImageFoundAgainThenItsDataIsNotKept() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            PDImageXObject lossless = LosslessFactory.createFromImage(
+                    document, createImage(BufferedImage.TYPE_INT_RGB)
+            );
+            ImageExtractor extractor = new ImageExtractor();
+
+            ExtractedImage image = extractor.extract(lossless);
+            ExtractedImage imageDrawnAgain = extractor.extract(lossless);
+
+            assertNotNull(image.getDecodedImage());
+            assertNull(imageDrawnAgain.getDecodedImage());
+            assertNull(imageDrawnAgain.getEncodedData());
+            assertEquals(image.getKey(), imageDrawnAgain.getKey());
+            assertEquals(image.getFormat(), imageDrawnAgain.getFormat());
+            assertEquals(image.getWidth(), imageDrawnAgain.getWidth());
+            assertThrows(IllegalStateException.class, () -> write(imageDrawnAgain));
+        }
+    }
+
+    @Test
+    void whenImageIsNotJpegThenConvertedToPng() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            BufferedImage sourceImage = createImage(BufferedImage.TYPE_INT_ARGB);
+            PDImageXObject lossless = LosslessFactory.createFromImage(document, sourceImage);
+
+            ExtractedImage image = new ImageExtractor().extract(lossless);
+
+            assertEquals(ImageFormat.PNG, image.getFormat());
+            BufferedImage writtenImage = ImageIO.read(new ByteArrayInputStream(write(image)));
+            assertEquals(sourceImage.getWidth(), writtenImage.getWidth());
+            assertEquals(sourceImage.getRGB(5, 5), writtenImage.getRGB(5, 5));
+        }
+    }
+
+    @Test
+    void whenImageHasOneColorThenBlank() throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            BufferedImage sourceImage = new BufferedImage(20, 10, BufferedImage.TYPE_INT_RGB);
+            PDImageXObject lossless = LosslessFactory.createFromImage(document, sourceImage);
+
+            ExtractedImage image = new ImageExtractor().extract(lossless);
+
+            assertTrue(image.isBlank());
+            assertEquals(20, image.getWidth());
+            assertEquals(10, image.getHeight());
+        }
+    }
+
+    private static BufferedImage createImage(int type) {
+        return createImage(type, 40, 30);
+    }
+
+    private static BufferedImage createImage(int type, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.BLUE);
+        graphics.fillRect(0, 0, width / 2, height / 2);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] readRawData(PDImageXObject image) throws IOException {
+        try (InputStream input = image.getCOSObject().createRawInputStream()) {
+            return IOUtils.toByteArray(input);
+        }
+    }
+
+    private static byte[] write(ExtractedImage image) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        image.writeTo(output);
+        return output.toByteArray();
+    }
+}
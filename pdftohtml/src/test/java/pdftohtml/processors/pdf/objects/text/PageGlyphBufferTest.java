@@ -0,0 +1,80 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.util.Matrix;
+import org.junit.jupiter.api.Test;
+import pdftohtml.domain.common.FrameworkRectangle;
+import pdftohtml.domain.pdf.object.text.TextPositionStyleWrapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static pdftohtml.common.helpers.RectangleHelper.createTextPositionRectangle;
+
+class PageGlyphBufferTest {
+
+    @Test
+    void whenCharactersAddedThenFoundByIndexInAnyOrder() {
+        PageGlyphBuffer glyphs = new PageGlyphBuffer();
+        TextPositionStyleWrapper regular = new TextPositionStyleWrapper();
+        TextPositionStyleWrapper bold = new TextPositionStyleWrapper();
+        bold.setBoldText(true);
+        int regularId = glyphs.addStyle(regular);
+        int boldId = glyphs.addStyle(bold);
+
+        List<TextPosition> characters = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            TextPosition character = createCharacter(i % 500, i / 500 * 12);
+            characters.add(character);
+            assertEquals(i, glyphs.add(character, i % 7 == 0 ? boldId : regularId));
+        }
+
+        assertEquals(3000, glyphs.size());
+        assertSame(bold, glyphs.getLastStyle());
+        for (int i = 0; i < characters.size(); i++) {
+            assertEquals(i, glyphs.indexOf(characters.get(i)));
+        }
+        // characters of another article written after the first one
+        assertEquals(10, glyphs.indexOf(characters.get(10)));
+        assertEquals(2999, glyphs.indexOf(characters.get(2999)));
+        assertEquals(-1, glyphs.indexOf(createCharacter(1, 1)));
+
+        int index = glyphs.indexOf(characters.get(1400));
+        assertSame(characters.get(1400), glyphs.getTextPosition(index));
+        assertSame(bold, glyphs.getStyle(index));
+        assertSame(regular, glyphs.getStyle(index + 1));
+        assertEquals(createTextPositionRectangle(characters.get(1400)), glyphs.createRectangle(index));
+    }
+
+    @Test
+    void whenClearedThenBufferIsReusedForNextPage() {
+        PageGlyphBuffer glyphs = new PageGlyphBuffer();
+        TextPosition character = createCharacter(10, 10);
+        glyphs.add(character, glyphs.addStyle(new TextPositionStyleWrapper()));
+
+        glyphs.clear();
+
+        assertEquals(0, glyphs.size());
+        assertNull(glyphs.getLastStyle());
+        assertEquals(-1, glyphs.indexOf(character));
+
+        TextPosition nextPageCharacter = createCharacter(20, 30);
+        assertEquals(0, glyphs.add(nextPageCharacter, glyphs.addStyle(new TextPositionStyleWrapper())));
+        FrameworkRectangle rectangle = glyphs.createRectangle(0);
+        assertTrue(rectangle.getMinX() > 0);
+        assertEquals(createTextPositionRectangle(nextPageCharacter), rectangle);
+    }
+
+    private static TextPosition createCharacter(float x, float y) {
+        return new TextPosition(
+                0, 612, 792, new Matrix(10, 0, 0, 10, x, y),
+                x + 6, y, 7, 6, 3, "a", new int[]{'a'},
+                PDType1Font.HELVETICA, 1, 10
+        );
+    }
+}
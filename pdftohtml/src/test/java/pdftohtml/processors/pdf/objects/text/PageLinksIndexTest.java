@@ -0,0 +1,74 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationLink;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotationText;
+import org.junit.jupiter.api.Test;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.domain.common.FrameworkRectangle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PageLinksIndexTest {
+
+    private static final double X_INACCURACY = ConversionContext.DEFAULT_X_INACCURACY;
+    private static final double Y_INACCURACY = ConversionContext.DEFAULT_Y_INACCURACY;
+
+    @Test
+    void whenFindLinkThenFirstLinkContainingCharacterFound() throws IOException {
+        Random random = new Random(3);
+        PDPage page = new PDPage(PDRectangle.LETTER);
+        List<PDAnnotation> annotations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            PDAnnotation annotation = i % 10 == 0 ? new PDAnnotationText() : new PDAnnotationLink();
+            annotation.setRectangle(new PDRectangle(
+                    random.nextInt(600), random.nextInt(800) - 10, 5 + random.nextInt(100), 5 + random.nextInt(30)
+            ));
+            annotations.add(annotation);
+        }
+        page.setAnnotations(annotations);
+        PageLinksIndex index = new PageLinksIndex(page, X_INACCURACY, Y_INACCURACY);
+
+        for (int i = 0; i < 2000; i++) {
+            FrameworkRectangle character = new FrameworkRectangle(
+                    random.nextInt(600), random.nextInt(820) - 10, 1 + random.nextInt(8), 1 + random.nextInt(12)
+            );
+            assertEquals(scan(page, annotations, character), index.findLink(character));
+        }
+    }
+
+    @Test
+    void whenPageHasNoLinksThenNothingFound() throws IOException {
+        PDPage page = new PDPage(PDRectangle.LETTER);
+
+        PageLinksIndex index = new PageLinksIndex(page, X_INACCURACY, Y_INACCURACY);
+
+        assertNull(index.findLink(new FrameworkRectangle(10, 10, 5, 5)));
+    }
+
+    private static PDAnnotation scan(PDPage page, List<PDAnnotation> annotations, FrameworkRectangle character) {
+        for (PDAnnotation annotation : annotations) {
+            if (!(annotation instanceof PDAnnotationLink)) {
+                continue;
+            }
+            FrameworkRectangle link = new FrameworkRectangle(
+                    annotation.getRectangle().getLowerLeftX(),
+                    page.getCropBox().getHeight() - annotation.getRectangle().getUpperRightY(),
+                    annotation.getRectangle().getWidth(),
+                    annotation.getRectangle().getHeight()
+            );
+            if (link.containsWithXYInaccuracies(character, X_INACCURACY, Y_INACCURACY)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+}
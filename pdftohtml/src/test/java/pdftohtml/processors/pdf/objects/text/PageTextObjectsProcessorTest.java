@@ -0,0 +1,158 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.pdfbox.text.TextPosition;
+import org.junit.jupiter.api.Test;
+import pdftohtml.common.ConversionContext;
+import pdftohtml.domain.pdf.object.container.Block;
+import pdftohtml.domain.pdf.object.container.PageLine;
+import pdftohtml.processors.pdf.objects.stream.PageContentCollector;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageTextObjectsProcessorTest {
+
+    private static final String DOCUMENT = "/table_with_borders_test.pdf";
+
+    @Test
+    void whenExtractPageThenEveryTextPositionIsProcessedOnce() throws IOException {
+        try (PDDocument document = loadDocument()) {
+            Map<TextPosition, Integer> processed = new IdentityHashMap<>();
+            PageTextObjectsProcessor processor = new PageTextObjectsProcessor();
+            processor.addCollector(new PageContentCollector() {
+                @Override
+                public void processTextPosition(TextPosition text) {
+                    processed.merge(text, 1, Integer::sum);
+                }
+            });
+
+            PageTextData pageText = processor.extractPage(document, document.getPage(0), 1);
+
+            assertFalse(processed.isEmpty());
+            assertTrue(processed.values().stream().allMatch(count -> count == 1));
+            assertEquals(countTextPositions(document, 1), processed.size());
+            assertFalse(pageText.getLines().isEmpty());
+        }
+    }
+
+    @Test
+    void whenExtractPageAgainThenPageTextDataIsTheSame() throws IOException {
+        try (PDDocument document = loadDocument()) {
+            PageTextObjectsProcessor processor = new PageTextObjectsProcessor();
+
+            PageTextData firstPageText = processor.extractPage(document, document.getPage(0), 1);
+            PageTextData secondPageText = processor.extractPage(document, document.getPage(1), 2);
+            PageTextData firstPageTextAgain = processor.extractPage(document, document.getPage(0), 1);
+
+            assertEquals(1, firstPageText.getPageIndex());
+            assertEquals(2, secondPageText.getPageIndex());
+            assertEquals(linesText(firstPageText), linesText(firstPageTextAgain));
+            assertEquals(firstPageText.getBlocks().size(), firstPageTextAgain.getBlocks().size());
+            assertEquals(
+                    firstPageText.getMaximumDistanceBetweenLines(),
+                    firstPageTextAgain.getMaximumDistanceBetweenLines()
+            );
+        }
+    }
+
+    @Test
+    void whenExtractPageThenPageTextDataIsImmutable() throws IOException {
+        try (PDDocument document = loadDocument()) {
+            PageTextData pageText = new PageTextObjectsProcessor()
+                    .extractPage(document, document.getPage(0), 1);
+
+            assertThrows(UnsupportedOperationException.class, () -> pageText.getBlocks().add(new Block()));
+            assertThrows(UnsupportedOperationException.class, () -> pageText.getLines().add(new PageLine()));
+        }
+    }
+
+    @Test
+    void whenPagesExtractedInDifferentContextsThenStatisticsAreNotShared() throws IOException {
+        try (PDDocument document = loadDocument()) {
+            ConversionContext firstContext = new ConversionContext();
+            ConversionContext secondContext = new ConversionContext();
+
+            PageTextData pageText = new PageTextObjectsProcessor(firstContext)
+                    .extractPage(document, document.getPage(0), 1);
+
+            assertTrue(pageText.getMaximumDistanceBetweenLines() > 0);
+            assertEquals(pageText.getMaximumDistanceBetweenLines(), firstContext.getMaximumDistanceBetweenLines());
+            assertEquals(pageText.getMinimumDistanceBetweenLines(), firstContext.getMinimumDistanceBetweenLines());
+            assertEquals(0f, secondContext.getMaximumDistanceBetweenLines());
+            assertEquals(0f, secondContext.getMinimumDistanceBetweenLines());
+
+            new PageTextObjectsProcessor(secondContext).extractPage(document, document.getPage(0), 1);
+
+            assertEquals(firstContext.getMaximumDistanceBetweenLines(), secondContext.getMaximumDistanceBetweenLines());
+            assertEquals(firstContext.getMinimumDistanceBetweenLines(), secondContext.getMinimumDistanceBetweenLines());
+        }
+    }
+
+    @Test
+    void whenRectangleOperandsAreMalformedThenRectangleSkipped() throws IOException {
+        String content = "10 10 re f\n" +
+                "10 10 20 (a) re f\n" +
+                "20 20 30 5 re f\n" +
+                "BT /F1 12 Tf 20 26 Td (Hello) Tj ET\n";
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            PDResources resources = new PDResources();
+            resources.put(COSName.getPDFName("F1"), PDType1Font.HELVETICA);
+            page.setResources(resources);
+            page.setContents(new PDStream(
+                    document, new ByteArrayInputStream(content.getBytes(StandardCharsets.US_ASCII))
+            ));
+            document.addPage(page);
+
+            PageTextData pageText = new PageTextObjectsProcessor().extractPage(document, page, 1);
+
+            assertEquals(List.of("Hello"), linesText(pageText));
+        }
+    }
+
+    private PDDocument loadDocument() throws IOException {
+        try (InputStream stream = getClass().getResourceAsStream(DOCUMENT)) {
+            return PDDocument.load(stream);
+        }
+    }
+
+    private List<String> linesText(PageTextData pageText) {
+        return pageText.getLines().stream().map(PageLine::getText).collect(Collectors.toList());
+    }
+
+    /**
+     * Number of characters of a page found by a plain text stripper
+     */
+    private int countTextPositions(PDDocument document, int pageIndex) throws IOException {
+        int[] count = {0};
+        PDFTextStripper stripper = new PDFTextStripper() {
+            @Override
+            protected void processTextPosition(TextPosition text) {
+                super.processTextPosition(text);
+                count[0]++;
+            }
+        };
+        stripper.setStartPage(pageIndex);
+        stripper.setEndPage(pageIndex);
+        stripper.getText(document);
+        return count[0];
+    }
+}
@@ -0,0 +1,67 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColor;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.util.Matrix;
+import org.junit.jupiter.api.Test;
+import pdftohtml.domain.pdf.object.text.TextObject;
+import pdftohtml.domain.pdf.object.text.TextPositionStyleWrapper;
+import pdftohtml.domain.pdf.object.text.TextStyle;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextStyleResolverTest {
+
+    @Test
+    void whenCharactersHaveEqualStylesThenTheyShareStyleInstance() {
+        TextStyleResolver resolver = new TextStyleResolver();
+
+        TextStyle first = resolver.resolve(createCharacter(PDType1Font.HELVETICA, 10), createWrapper(1, 0, 0));
+        TextStyle differentColor = resolver.resolve(createCharacter(PDType1Font.HELVETICA, 10), createWrapper(0, 0, 1));
+        TextStyle differentSize = resolver.resolve(createCharacter(PDType1Font.HELVETICA, 12), createWrapper(1, 0, 0));
+        TextStyle differentFont = resolver.resolve(createCharacter(PDType1Font.TIMES_ITALIC, 10), createWrapper(1, 0, 0));
+        TextStyle again = resolver.resolve(createCharacter(PDType1Font.HELVETICA, 10), createWrapper(1, 0, 0));
+
+        assertSame(first, again);
+        assertNotSame(first, differentColor);
+        assertNotSame(first, differentSize);
+        assertNotSame(first, differentFont);
+        assertArrayEquals(new int[]{255, 0, 0}, first.getColor());
+        assertEquals(10, first.getFontSizePt());
+        assertEquals("Helvetica", first.getFontName());
+        assertEquals("Times-Italic", differentFont.getFontName());
+    }
+
+    @Test
+    void whenTextObjectsCreatedThenEqualByStyleIsReferenceComparison() {
+        PdfTextObjectsCreationFactory factory = new PdfTextObjectsCreationFactory();
+        TextObject textObject = (TextObject) factory.create(
+                createCharacter(PDType1Font.HELVETICA, 10), createWrapper(0, 0, 0), null
+        );
+
+        assertTrue(factory.equalsByStyle(textObject, createCharacter(PDType1Font.HELVETICA, 10), createWrapper(0, 0, 0)));
+        assertFalse(factory.equalsByStyle(textObject, createCharacter(PDType1Font.HELVETICA_BOLD, 10), createWrapper(0, 0, 0)));
+    }
+
+    private static TextPosition createCharacter(PDFont font, int fontSizeInPt) {
+        return new TextPosition(
+                0, 612, 792, new Matrix(fontSizeInPt, 0, 0, fontSizeInPt, 10, 10),
+                16, 10, 7, 6, 3, "a", new int[]{'a'},
+                font, 1, fontSizeInPt
+        );
+    }
+
+    private static TextPositionStyleWrapper createWrapper(float red, float green, float blue) {
+        TextPositionStyleWrapper wrapper = new TextPositionStyleWrapper();
+        wrapper.setStrokingColor(new PDColor(new float[]{red, green, blue}, PDDeviceRGB.INSTANCE));
+        return wrapper;
+    }
+}
@@ -0,0 +1,101 @@
+package pdftohtml.processors.pdf.objects.text;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.PDType3Font;
+import org.apache.pdfbox.text.TextPosition;
+import org.apache.pdfbox.util.Matrix;
+import org.junit.jupiter.api.Test;
+import pdftohtml.domain.common.Point2D;
+import pdftohtml.processors.pdf.objects.text.PageTextObjectsProcessor.TransformedRectangle;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransformedRectanglesIndexTest {
+
+    @Test
+    void whenRectanglesAddedWhileCheckingThenSameResultsAsByScan() {
+        Random random = new Random(5);
+        TransformedRectanglesIndex index = new TransformedRectanglesIndex();
+        List<TransformedRectangle> rectangles = new ArrayList<>();
+        int underlined = 0;
+        for (int step = 0; step < 3000; step++) {
+            if (random.nextInt(3) == 0) {
+                TransformedRectangle rectangle = createRectangle(
+                        random.nextInt(500), random.nextInt(700), 5 + random.nextInt(100), random.nextDouble() * 3
+                );
+                index.add(rectangle);
+                rectangles.add(rectangle);
+            }
+            TextPosition character = createCharacter(random.nextInt(500), random.nextInt(700));
+
+            boolean underlines = rectangles.stream().anyMatch(r -> r.underlines(character));
+            boolean strikesThrough = rectangles.stream().anyMatch(r -> r.strikesThrough(character));
+            assertEquals(underlines, index.anyUnderlines(character));
+            assertEquals(strikesThrough, index.anyStrikesThrough(character));
+            underlined += underlines ? 1 : 0;
+        }
+        assertTrue(underlined > 0);
+    }
+
+    @Test
+    void whenRectanglesAddedTopDownOrBottomUpThenSameResultsAsByScan() {
+        for (boolean topDown : new boolean[]{true, false}) {
+            TransformedRectanglesIndex index = new TransformedRectanglesIndex();
+            List<TransformedRectangle> rectangles = new ArrayList<>();
+            for (int row = 0; row < 2000; row++) {
+                double y = topDown ? 700 - row * 0.35 : row * 0.35;
+                TransformedRectangle rectangle = createRectangle(100, y, 50, 0.5);
+                index.add(rectangle);
+                rectangles.add(rectangle);
+            }
+            for (int y = 0; y < 700; y += 7) {
+                TextPosition character = createCharacter(110, y);
+                assertEquals(rectangles.stream().anyMatch(r -> r.underlines(character)), index.anyUnderlines(character));
+                assertEquals(
+                        rectangles.stream().anyMatch(r -> r.strikesThrough(character)),
+                        index.anyStrikesThrough(character)
+                );
+            }
+        }
+    }
+
+    @Test
+    void whenFontHasNoDescriptorThenNothingUnderlined() throws IOException {
+        TransformedRectanglesIndex index = new TransformedRectanglesIndex();
+        index.add(createRectangle(100, 99, 50, 0.5));
+        index.add(createRectangle(100, 103, 50, 0.5));
+        TextPosition character = new TextPosition(
+                0, 612, 792, new Matrix(10, 0, 0, 10, 110, 100),
+                116, 100, 7, 6, 3, "a", new int[]{'a'},
+                new PDType3Font(new COSDictionary()), 1, 10
+        );
+
+        assertFalse(index.anyUnderlines(character));
+        assertFalse(index.anyStrikesThrough(character));
+    }
+
+    private static TransformedRectangle createRectangle(double x, double y, double width, double height) {
+        return new TransformedRectangle(
+                new Point2D(x, y),
+                new Point2D(x + width, y),
+                new Point2D(x + width, y + height),
+                new Point2D(x, y + height)
+        );
+    }
+
+    private static TextPosition createCharacter(float x, float y) {
+        return new TextPosition(
+                0, 612, 792, new Matrix(10, 0, 0, 10, x, y),
+                x + 6, y, 7, 6, 3, "a", new int[]{'a'},
+                PDType1Font.HELVETICA, 1, 10
+        );
+    }
+}